@@ -1,6 +1,7 @@
 package com.rgbradford.backend.config;
 
 import com.rgbradford.backend.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -52,10 +53,16 @@ public class SecurityConfig {
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> {
 
+                //streamed downloads are written on an ASYNC dispatch, which the JWT filter skips; the original
+                //request was already authorized. ERROR dispatches only render the error of an authorized request
+                auth.dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll();
+
                 //public endpoints
                 auth.requestMatchers(
                     "/api/auth/**",
                     "/api/plate-analysis/analyze",
+                    "/api/plate-analysis/analyze/stream",
+                    "/api/plate-analysis/analyze-multiple",
                     "/api/plate-analysis/*/reanalyze",
                     "/api/plate-layouts/*/group-wells",
                     "/api/test/**"
@@ -1,16 +1,28 @@
 package com.rgbradford.backend.controller;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.rgbradford.backend.dto.StandardCurveDto;
-import com.rgbradford.backend.dto.StandardCurvePointDto;
+import com.rgbradford.backend.dto.projection.WellAnalysisRow;
 import com.rgbradford.backend.dto.request.PlateAnalysisParams;
-import com.rgbradford.backend.dto.response.WellAnalysisCsvWriter;
+import com.rgbradford.backend.dto.request.PlateAnalysisTarget;
+import com.rgbradford.backend.dto.response.ImageQualityReport;
+import com.rgbradford.backend.dto.response.PlateAnalysisSummary;
+import com.rgbradford.backend.dto.response.PlatePreview;
+import com.rgbradford.backend.dto.response.ReplicateGroupStatistics;
 import com.rgbradford.backend.dto.response.WellAnalysisResult;
+import com.rgbradford.backend.dto.response.WellHistogramStats;
 import com.rgbradford.backend.entity.WellAnalysis;
-import com.rgbradford.backend.entity.WellType;
-import com.rgbradford.backend.repository.WellAnalysisRepository;
 import com.rgbradford.backend.service.impl.PlateAnalysisServiceImpl;
+import com.rgbradford.backend.service.interfaces.AnalysisSummaryService;
+import com.rgbradford.backend.service.interfaces.ImageQualityService;
+import com.rgbradford.backend.service.interfaces.PlatePreviewService;
+import com.rgbradford.backend.service.interfaces.PlateResultExportService;
+import com.rgbradford.backend.service.interfaces.PlateResultSnapshotService;
+import com.rgbradford.backend.service.interfaces.ReplicateStatisticsService;
 import com.rgbradford.backend.service.interfaces.StandardCurveService;
+import com.rgbradford.backend.service.interfaces.WellHistogramService;
+import com.rgbradford.backend.util.PlateGrid;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -21,24 +33,28 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
-
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.awt.Rectangle;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.io.ByteArrayOutputStream;
-import java.util.DoubleSummaryStatistics;
 import java.util.stream.Collectors;
 
-// Apache POI imports for XLSX generation
-import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFSheet;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
-
 @RestController
 @RequestMapping("/api/plate-analysis")
 @Tag(
@@ -55,10 +71,31 @@ public class PlateAnalysisController {
     private PlateAnalysisServiceImpl plateAnalysisService;
 
     @Autowired
-    private WellAnalysisRepository wellAnalysisRepository;
+    private StandardCurveService standardCurveService;
 
     @Autowired
-    private StandardCurveService standardCurveService;
+    private ImageQualityService imageQualityService;
+
+    @Autowired
+    private PlatePreviewService platePreviewService;
+
+    @Autowired
+    private WellHistogramService wellHistogramService;
+
+    @Autowired
+    private AnalysisSummaryService analysisSummaryService;
+
+    @Autowired
+    private PlateResultSnapshotService plateResultSnapshotService;
+
+    @Autowired
+    private ReplicateStatisticsService replicateStatisticsService;
+
+    @Autowired
+    private PlateResultExportService plateResultExportService;
+
+    @Value("${image-quality.enabled:true}")
+    private boolean imageQualityGateEnabled;
 
     @Operation(
         summary = "Analyze plate image",
@@ -94,6 +131,11 @@ public class PlateAnalysisController {
 
                 The parameters define the plate grid coordinates and well dimensions for accurate well detection.
                 Results are persisted to the database and include RGB values, blue/green ratios, and calculated concentrations.
+
+                Before analysis the image goes through a fast quality gate (sharpness, exposure, clipping) computed on a
+                subsampled decode of the plate region. Findings are returned as warnings with the scores in
+                `imageQuality`; only when rejection is enabled (`image-quality.reject-enabled`) are badly blurred or
+                exposed photos rejected with 422.
                 """
     )
     @ApiResponses({
@@ -101,21 +143,40 @@ public class PlateAnalysisController {
             responseCode = "200",
             description = "Analysis completed successfully",
             content = @Content(
-                mediaType = "text/plain",
-                examples = @ExampleObject(value = "Analysis complete and results saved.")
+                mediaType = "application/json",
+                examples = @ExampleObject(value = """
+                        {
+                          "message": "Analysis complete and results saved.",
+                          "imageQuality": {
+                            "status": "WARN",
+                            "sharpness": 48.7,
+                            "meanBrightness": 141.2,
+                            "clippedHighFraction": 0.012,
+                            "clippedLowFraction": 0.0,
+                            "sampledWidth": 256,
+                            "sampledHeight": 192,
+                            "elapsedMillis": 14,
+                            "messages": ["Image may be out of focus (sharpness 48.7 < 60.0)"]
+                          }
+                        }
+                        """)
             )
         ),
         @ApiResponse(
             responseCode = "400",
             description = "Invalid parameters or image format"
         ),
+        @ApiResponse(
+            responseCode = "422",
+            description = "Image rejected by the quality gate (blurry, badly exposed or clipped; only with rejection enabled); scores are returned in the body"
+        ),
         @ApiResponse(
             responseCode = "404",
             description = "Plate layout not found"
         )
     })
     @PostMapping(value = "/analyze", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-    public ResponseEntity<String> analyzePlate(
+    public ResponseEntity<Map<String, Object>> analyzePlate(
             @Parameter(
                 description = "ID of the plate layout to analyze",
                 required = true,
@@ -136,8 +197,226 @@ public class PlateAnalysisController {
             )
             @RequestPart("image") MultipartFile imageFile) throws Exception {
         PlateAnalysisParams params = objectMapper.readValue(paramsJson, PlateAnalysisParams.class);
-        plateAnalysisService.analyzeAndPersistPlate(plateLayoutId, imageFile.getInputStream(), params);
-        return ResponseEntity.ok("Analysis complete and results saved.");
+        byte[] imageBytes = imageFile.getBytes();
+
+        ImageQualityReport quality = checkImageQuality(imageBytes, new PlateGrid(params).plateBounds());
+        if (isRejected(quality)) {
+            return rejectedImageResponse(quality);
+        }
+
+        plateAnalysisService.analyzeAndPersistPlate(plateLayoutId, new ByteArrayInputStream(imageBytes), params);
+        return ResponseEntity.ok(analysisResponse("Analysis complete and results saved.", quality));
+    }
+
+    @Operation(
+        summary = "Analyze plate image with streamed results",
+        description = """
+                Same request as `/analyze`, but the response is streamed as newline-delimited JSON
+                (`application/x-ndjson`) so large plates (384/1536 wells) show results while the analysis runs.
+
+                - One `WellAnalysisResult` per line, emitted as soon as its row of wells has been measured.
+                  These lines carry grid position and measurements only: no database IDs, and EMPTY wells are included
+                  (null fields are omitted from the example below).
+                - A final line `{"summary": {...}}` once the results have been committed, with the number of persisted
+                  wells and the elapsed time. If the analysis fails after streaming started, the summary has
+                  `"status": "FAILED"` and the error message.
+
+                If the image is rejected by the quality gate, the stream contains a single line with the message
+                and `imageQuality` scores, and the status is 422.
+                """
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Stream of per-well results followed by a summary record",
+            content = @Content(
+                mediaType = "application/x-ndjson",
+                examples = @ExampleObject(value = """
+                        {"row":0,"column":0,"greenValue":145,"blueValue":89,"blueToGreenRatio":0.6138,"greenAbsorbance":0.2451,"blueAbsorbance":0.4571,"absorbanceRatio":0.5362,"pixelCount":2124}
+                        {"row":0,"column":1,"greenValue":122,"blueValue":156,"blueToGreenRatio":1.2787,"greenAbsorbance":0.3202,"blueAbsorbance":0.2134,"absorbanceRatio":1.5004,"pixelCount":2124}
+                        {"summary":{"status":"COMPLETED","plateLayoutId":1,"measuredWells":96,"persistedWells":88,"elapsedMillis":1840}}
+                        """)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "422",
+            description = "Image rejected by the quality gate"
+        )
+    })
+    @PostMapping(value = "/analyze/stream", consumes = MediaType.MULTIPART_FORM_DATA_VALUE, produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> analyzePlateStreaming(
+            @Parameter(
+                description = "ID of the plate layout to analyze",
+                required = true,
+                example = "1"
+            )
+            @RequestParam("plateLayoutId") Long plateLayoutId,
+
+            @Parameter(
+                description = "Analysis parameters as JSON string",
+                required = true,
+                example = "{\"columns\":12,\"rows\":8,\"xOrigin\":100,\"yOrigin\":80,\"xEnd\":1200,\"yEnd\":900,\"wellDiameter\":85}"
+            )
+            @RequestPart("params") String paramsJson,
+
+            @Parameter(
+                description = "Plate image file (JPG, PNG, or TIFF format)",
+                required = true
+            )
+            @RequestPart("image") MultipartFile imageFile) throws Exception {
+        PlateAnalysisParams params = objectMapper.readValue(paramsJson, PlateAnalysisParams.class);
+        // Read the upload up front: the multipart file is not guaranteed to outlive the request thread
+        byte[] imageBytes = imageFile.getBytes();
+        MediaType ndjson = MediaType.parseMediaType("application/x-ndjson");
+
+        ImageQualityReport quality = checkImageQuality(imageBytes, new PlateGrid(params).plateBounds());
+        if (isRejected(quality)) {
+            Map<String, Object> rejection = rejectedImageResponse(quality).getBody();
+            return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY)
+                    .contentType(ndjson)
+                    .body(out -> writeJsonLine(out, rejection));
+        }
+
+        StreamingResponseBody body = out -> {
+            long start = System.currentTimeMillis();
+            int[] measuredWells = {0};
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("plateLayoutId", plateLayoutId);
+            try {
+                List<WellAnalysis> persisted = plateAnalysisService.analyzeAndPersistPlate(
+                        plateLayoutId, new ByteArrayInputStream(imageBytes), params, rowResults -> {
+                            try {
+                                for (WellAnalysisResult result : rowResults) {
+                                    writeJsonLine(out, result);
+                                }
+                                out.flush();
+                                measuredWells[0] += rowResults.size();
+                            } catch (IOException e) {
+                                // Client went away: abort before anything is persisted
+                                throw new UncheckedIOException(e);
+                            }
+                        });
+                summary.put("status", "COMPLETED");
+                summary.put("persistedWells", persisted.size());
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            } catch (Exception e) {
+                summary.put("status", "FAILED");
+                summary.put("message", e.getMessage());
+            }
+            summary.put("measuredWells", measuredWells[0]);
+            summary.put("elapsedMillis", System.currentTimeMillis() - start);
+            if (quality != null) {
+                summary.put("imageQuality", quality);
+            }
+            writeJsonLine(out, Map.of("summary", summary));
+            out.flush();
+        };
+        return ResponseEntity.ok().contentType(ndjson).body(body);
+    }
+
+    @Operation(
+        summary = "Analyze several plates from one image",
+        description = """
+                Analyzes a photo that contains two or more plates side by side. The image is decoded once and
+                every plate grid is measured from the same decode, so there is no need to crop and upload the
+                photo once per plate.
+
+                **This is a multipart/form-data request with two parts:**
+
+                1. **targets** (form field): JSON array pairing each plate layout with its grid parameters:
+                ```json
+                [
+                  {
+                    "plateLayoutId": 1,
+                    "params": {"columns":12,"rows":8,"xOrigin":100,"yOrigin":80,"xEnd":1200,"yEnd":900,"wellDiameter":85}
+                  },
+                  {
+                    "plateLayoutId": 2,
+                    "params": {"columns":12,"rows":8,"xOrigin":1400,"yOrigin":80,"xEnd":2500,"yEnd":900,"wellDiameter":85}
+                  }
+                ]
+                ```
+
+                2. **image** (file upload): Plate image file (JPG, PNG, or TIFF format)
+
+                Each plate is saved in its own transaction: if saving one plate fails, plates listed before it
+                keep their results.
+                """
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "All plates analyzed successfully",
+            content = @Content(
+                mediaType = "application/json",
+                examples = @ExampleObject(value = """
+                        {
+                          "message": "Analysis complete and results saved for 2 plates.",
+                          "analyzedWells": {
+                            "1": 96,
+                            "2": 96
+                          }
+                        }
+                        """)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid parameters or image format"
+        ),
+        @ApiResponse(
+            responseCode = "422",
+            description = "Image rejected by the quality gate; scores are returned in the body"
+        )
+    })
+    @PostMapping(value = "/analyze-multiple", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<Map<String, Object>> analyzeMultiplePlates(
+            @Parameter(
+                description = "JSON array of {plateLayoutId, params} pairs, one per plate in the image",
+                required = true
+            )
+            @RequestPart("targets") String targetsJson,
+
+            @Parameter(
+                description = "Plate image file (JPG, PNG, or TIFF format)",
+                required = true
+            )
+            @RequestPart("image") MultipartFile imageFile) throws Exception {
+        List<PlateAnalysisTarget> targets = objectMapper.readValue(targetsJson, new TypeReference<List<PlateAnalysisTarget>>() {});
+        byte[] imageBytes = imageFile.getBytes();
+        // The quality gate below needs every plate's grid, so malformed targets are turned away first
+        if (targets == null || targets.isEmpty()
+                || targets.stream().anyMatch(t -> t == null || t.getPlateLayoutId() == null || t.getParams() == null)) {
+            return ResponseEntity.badRequest()
+                    .body(analysisResponse("At least one plate grid is required and each needs a plateLayoutId and params", null));
+        }
+
+        // One photo, several plates: score the area spanned by all of them
+        Rectangle plateRegion = null;
+        for (PlateAnalysisTarget target : targets) {
+            Rectangle bounds = new PlateGrid(target.getParams()).plateBounds();
+            plateRegion = plateRegion == null ? bounds : plateRegion.union(bounds);
+        }
+        ImageQualityReport quality = checkImageQuality(imageBytes, plateRegion);
+        if (isRejected(quality)) {
+            return rejectedImageResponse(quality);
+        }
+
+        Map<Long, List<WellAnalysis>> results;
+        try {
+            results = plateAnalysisService.analyzeAndPersistPlates(new ByteArrayInputStream(imageBytes), targets);
+        } catch (IllegalArgumentException e) {
+            // e.g. a plate listed twice or a grid that does not fit the plate layout
+            return ResponseEntity.badRequest().body(analysisResponse(e.getMessage(), null));
+        }
+
+        Map<Long, Integer> analyzedWells = new LinkedHashMap<>();
+        results.forEach((plateLayoutId, analyses) -> analyzedWells.put(plateLayoutId, analyses.size()));
+
+        Map<String, Object> response = analysisResponse("Analysis complete and results saved for " + results.size() + " plates.", quality);
+        response.put("analyzedWells", analyzedWells);
+        return ResponseEntity.ok(response);
     }
 
     @Operation(
@@ -172,7 +451,7 @@ public class PlateAnalysisController {
                   -F "image=@/path/to/new_plate.jpg"
                 ```
 
-                ⚠️ **Warning:** All previous analysis results for this plate will be permanently deleted before the new analysis begins.
+                ⚠️ **Warning:** All previous analysis results for this plate are permanently replaced. The old results are deleted and the new ones saved in a single transaction, so the plate never appears empty.
                 """
     )
     @ApiResponses({
@@ -180,21 +459,40 @@ public class PlateAnalysisController {
             responseCode = "200",
             description = "Reanalysis completed successfully",
             content = @Content(
-                mediaType = "text/plain",
-                examples = @ExampleObject(value = "Reanalysis complete and results updated.")
+                mediaType = "application/json",
+                examples = @ExampleObject(value = """
+                        {
+                          "message": "Reanalysis complete and results updated.",
+                          "imageQuality": {
+                            "status": "PASS",
+                            "sharpness": 212.4,
+                            "meanBrightness": 138.9,
+                            "clippedHighFraction": 0.004,
+                            "clippedLowFraction": 0.0,
+                            "sampledWidth": 256,
+                            "sampledHeight": 192,
+                            "elapsedMillis": 12,
+                            "messages": []
+                          }
+                        }
+                        """)
             )
         ),
         @ApiResponse(
             responseCode = "400",
             description = "Invalid parameters or image format"
         ),
+        @ApiResponse(
+            responseCode = "422",
+            description = "Image rejected by the quality gate; existing results are left untouched"
+        ),
         @ApiResponse(
             responseCode = "404",
             description = "Plate layout not found"
         )
     })
     @PostMapping(value = "/{plateLayoutId}/reanalyze", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-    public ResponseEntity<String> reanalyzePlate(
+    public ResponseEntity<Map<String, Object>> reanalyzePlate(
             @Parameter(
                 description = "ID of the plate layout to reanalyze",
                 required = true,
@@ -215,22 +513,64 @@ public class PlateAnalysisController {
             )
             @RequestPart("image") MultipartFile imageFile) throws Exception {
 
-        //deletes existing results
-        List<WellAnalysis> existingResults = wellAnalysisRepository.findByPlateLayoutId(plateLayoutId);
-        if (!existingResults.isEmpty()) {
-            wellAnalysisRepository.deleteAll(existingResults);
+        byte[] imageBytes = imageFile.getBytes();
+        PlateAnalysisParams params = objectMapper.readValue(paramsJson, PlateAnalysisParams.class);
+        ImageQualityReport quality = checkImageQuality(imageBytes, new PlateGrid(params).plateBounds());
+        if (isRejected(quality)) {
+            return rejectedImageResponse(quality);
         }
 
-        PlateAnalysisParams params = objectMapper.readValue(paramsJson, PlateAnalysisParams.class);
-        plateAnalysisService.analyzeAndPersistPlate(plateLayoutId, imageFile.getInputStream(), params);
+        //replaces existing results in one transaction
+        plateAnalysisService.reanalyzeAndReplacePlate(plateLayoutId, new ByteArrayInputStream(imageBytes), params);
 
-        return ResponseEntity.ok("Reanalysis complete and results updated.");
+        return ResponseEntity.ok(analysisResponse("Reanalysis complete and results updated.", quality));
+    }
+
+    @Operation(
+        summary = "Check image quality",
+        description = "Runs only the pre-analysis quality gate on an image: sharpness (variance of the Laplacian), " +
+                "mean brightness and the fraction of clipped pixels, all computed on a subsampled decode. " +
+                "With analysis parameters only the plate region is scored, as during analysis. " +
+                "Use it to warn users about a bad photo before uploading it for analysis. Nothing is persisted."
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Quality scores computed",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ImageQualityReport.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Image could not be decoded"
+        )
+    })
+    @PostMapping(value = "/quality-check", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImageQualityReport> checkQuality(
+            @Parameter(
+                description = "Analysis parameters as JSON string; without them the whole photo is scored",
+                example = "{\"columns\":12,\"rows\":8,\"xOrigin\":100,\"yOrigin\":80,\"xEnd\":1200,\"yEnd\":900,\"wellDiameter\":85}"
+            )
+            @RequestPart(value = "params", required = false) String paramsJson,
+
+            @Parameter(
+                description = "Plate image file (JPG, PNG, or TIFF format)",
+                required = true
+            )
+            @RequestPart("image") MultipartFile imageFile) throws Exception {
+        Rectangle plateRegion = paramsJson != null
+                ? new PlateGrid(objectMapper.readValue(paramsJson, PlateAnalysisParams.class)).plateBounds()
+                : null;
+        return ResponseEntity.ok(imageQualityService.assess(imageFile.getBytes(), plateRegion));
     }
 
     @Operation(
         summary = "Download analysis results as CSV",
         description = "Exports well analysis results to a CSV file including well positions, RGB values, " +
-                "blue/green ratios, calculated concentrations, and standard curve information."
+                "blue/green ratios, calculated concentrations, standard curve information and, when wells are " +
+                "grouped, per-replicate-group statistics."
     )
     @ApiResponses({
         @ApiResponse(
@@ -246,26 +586,25 @@ public class PlateAnalysisController {
         )
     })
     @GetMapping("/{plateLayoutId}/csv")
-    public ResponseEntity<byte[]> downloadCsv(
+    public ResponseEntity<StreamingResponseBody> downloadCsv(
             @Parameter(
                 description = "ID of the plate layout",
                 required = true,
                 example = "1"
             )
             @PathVariable Long plateLayoutId) {
-        // Fetch all WellAnalysis for the given plateLayoutId using the custom query
-        List<WellAnalysis> results = wellAnalysisRepository.findByPlateLayoutId(plateLayoutId)
-                .stream()
-                .filter(wa -> wa.getWell() != null && wa.getWell().getType() != WellType.EMPTY)
-                .toList();
-        // Fetch calibration curve to include points and enable y=mx+b computation
-        StandardCurveDto curve = standardCurveService.getStandardCurve(plateLayoutId);
-        String csv = WellAnalysisCsvWriter.toCsvString(results, curve);
-
+        // Fetch the curve behind the stored concentrations (reference curve if attached) to include its
+        // points and parameters. Curve and replicate statistics are small and cached; resolving them first
+        // lets their errors still set the status
+        StandardCurveDto curve = standardCurveService.getEffectiveStandardCurve(plateLayoutId);
+        ReplicateGroupStatistics replicates = replicateStatisticsService.getStatistics(plateLayoutId).orElse(null);
+
+        // Well rows are streamed from a cursor straight into the response
+        StreamingResponseBody body = out -> plateResultExportService.writeCsv(plateLayoutId, curve, replicates, out);
         return ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=plate_" + plateLayoutId + "_results.csv")
-                .contentType(MediaType.parseMediaType("text/csv"))
-                .body(csv.getBytes());
+                .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .body(body);
     }
 
  @Operation(
@@ -273,6 +612,7 @@ public class PlateAnalysisController {
         description = "Exports well analysis results to an Excel file with two sheets: " +
                 "1. 'Calibration Points' - Contains standard curve data points, slope, and intercept calculations. " +
                 "2. 'Well Analysis' - Contains individual well measurements with formulas for concentration calculations and dilution factor adjustments. " +
+                "3. 'Replicate Groups' - Per-group n, mean, SD, CV and outlier flags (only when wells are grouped). " +
                 "The Excel file includes formulas that allow users to manually enter dilution factors and see recalculated concentrations."
     )
     @ApiResponses({
@@ -289,141 +629,23 @@ public class PlateAnalysisController {
         )
     })
     @GetMapping(value = "/{plateLayoutId}/xlsx", produces = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet")
-public ResponseEntity<byte[]> downloadXlsx(
+public ResponseEntity<StreamingResponseBody> downloadXlsx(
             @Parameter(
                 description = "ID of the plate layout",
                 required = true,
                 example = "1"
             )
-            @PathVariable Long plateLayoutId) throws Exception {
-    // Gather data: calibration points and all well analyses (skip EMPTY wells)
-    List<WellAnalysis> results = wellAnalysisRepository.findByPlateLayoutId(plateLayoutId)
-            .stream()
-            .filter(wa -> wa.getWell() != null && wa.getWell().getType() != WellType.EMPTY)
-            .toList();
-    StandardCurveDto curve = standardCurveService.getStandardCurve(plateLayoutId);
-
-    try (XSSFWorkbook workbook = new XSSFWorkbook()) {
-        // Create styles
-        CellStyle headerStyle = workbook.createCellStyle();
-        Font headerFont = workbook.createFont();
-        headerFont.setBold(true);
-        headerStyle.setFont(headerFont);
-
-        CellStyle numberStyle = workbook.createCellStyle();
-        numberStyle.setDataFormat(workbook.createDataFormat().getFormat("0.0000"));
-
-        // Sheet 1: Calibration Points
-        XSSFSheet sheet = workbook.createSheet("Calibration Points");
-
-        // Headers
-        String[] headers = {"Blue/Green Ratio (x)", "Concentration (y)"};
-        Row headerRow = sheet.createRow(0);
-        for (int i = 0; i < headers.length; i++) {
-            Cell cell = headerRow.createCell(i);
-            cell.setCellValue(headers[i]);
-            cell.setCellStyle(headerStyle);
-        }
-
-        // Data rows
-        List<StandardCurvePointDto> points = curve != null && curve.getPoints() != null ? curve.getPoints() : List.of();
-        int rowNum = 1;
-        for (StandardCurvePointDto p : points) {
-            Row row = sheet.createRow(rowNum++);
-            Cell xCell = row.createCell(0);
-            xCell.setCellValue(p.getBlueToGreenRatio());
-            xCell.setCellStyle(numberStyle);
-
-            Cell yCell = row.createCell(1);
-            yCell.setCellValue(p.getConcentration());
-            yCell.setCellStyle(numberStyle);
-        }
-
-        // Autosize columns
-        sheet.autoSizeColumn(0);
-        sheet.autoSizeColumn(1);
-
-        // Compute slope (m) and intercept (b) on the Calibration Points sheet using Excel functions
-        // Place labels in C1:D1 and formulas in C2:D2
-        Row calcHeader = sheet.createRow(0 + 1); // ensure row 1 exists (already created). We'll use separate cells instead
-        // Slope label and value
-        sheet.getRow(0).createCell(2).setCellValue("Slope (m)");
-        sheet.getRow(0).createCell(3).setCellValue("Intercept (b)");
-        // Put formulas into row 2 (index 1)
-        Row calcRow = sheet.getRow(1) != null ? sheet.getRow(1) : sheet.createRow(1);
-        int lastDataRow = points.size(); // data rows are from 1..points.size()
-        String xRange = String.format("A2:A%d", lastDataRow + 1);
-        String yRange = String.format("B2:B%d", lastDataRow + 1);
-        Cell slopeCell = calcRow.createCell(2);
-        slopeCell.setCellFormula(String.format("IF(COUNTA(%s)>=2,SLOPE(%s,%s),\"\")", xRange, yRange, xRange));
-        slopeCell.setCellStyle(numberStyle);
-        Cell interceptCell = calcRow.createCell(3);
-        interceptCell.setCellFormula(String.format("IF(COUNTA(%s)>=2,INTERCEPT(%s,%s),\"\")", xRange, yRange, xRange));
-        interceptCell.setCellStyle(numberStyle);
-
-        // Sheet 2: Well Analysis (with Dilution Factor columns)
-        XSSFSheet wellSheet = workbook.createSheet("Well Analysis");
-        String[] wellHeaders = {
-                "Row", "Column", "Green", "Blue", "Blue/Green Ratio",
-                "Calculated Concentration (m*x+b)", "Dilution Factor", "Adjusted Concentration"
-        };
-        Row wellHeaderRow = wellSheet.createRow(0);
-        for (int i = 0; i < wellHeaders.length; i++) {
-            Cell hc = wellHeaderRow.createCell(i);
-            hc.setCellValue(wellHeaders[i]);
-            hc.setCellStyle(headerStyle);
-        }
-
-        int wr = 1;
-        for (WellAnalysis wa : results) {
-            Row row = wellSheet.createRow(wr);
-            row.createCell(0).setCellValue(wa.getWell().getRow());
-            row.createCell(1).setCellValue(wa.getWell().getColumn());
-
-            Cell cGreen = row.createCell(2);
-            cGreen.setCellValue(wa.getGreenValue() != null ? wa.getGreenValue() : 0);
-
-            Cell cBlue = row.createCell(3);
-            cBlue.setCellValue(wa.getBlueValue() != null ? wa.getBlueValue() : 0);
-
-            Cell cRatio = row.createCell(4);
-            cRatio.setCellValue(wa.getBlueToGreenRatio() != null ? wa.getBlueToGreenRatio() : 0.0);
-            cRatio.setCellStyle(numberStyle);
-
-            Cell cCalc = row.createCell(5);
-            // Formula: m*x + b using slope/intercept from Calibration Points!C2 and D2
-            int excelRow = wr + 1; // current wellSheet row number in Excel
-            String calcFormula = String.format("IFERROR('Calibration Points'!$C$2*E%d + 'Calibration Points'!$D$2, \"\")", excelRow);
-            cCalc.setCellFormula(calcFormula);
-            cCalc.setCellStyle(numberStyle);
-
-            // Column 6 (index 6): Dilution Factor - left blank for user input
-            row.createCell(6); // intentionally blank
-
-            // Column 7 (index 7): Adjusted Concentration = Calculated * DilutionFactor (if provided)
-            Cell cAdj = row.createCell(7);
-            String adjFormula = String.format("IFERROR(F%d*G%d, \"\")", excelRow, excelRow);
-            cAdj.setCellFormula(adjFormula);
-            cAdj.setCellStyle(numberStyle);
-
-            wr++;
-        }
-
-        for (int i = 0; i < wellHeaders.length; i++) {
-            wellSheet.autoSizeColumn(i);
-        }
-
-        // Write workbook to bytes
-        ByteArrayOutputStream bos = new ByteArrayOutputStream();
-        workbook.write(bos);
-        byte[] bytes = bos.toByteArray();
-        bos.close();
-
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=plate_" + plateLayoutId + "_results.xlsx")
-                .contentType(MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"))
-                .body(bytes);
-    }
+            @PathVariable Long plateLayoutId) {
+    // Resolved up front like the CSV export, so errors still set the status
+    StandardCurveDto curve = standardCurveService.getEffectiveStandardCurve(plateLayoutId);
+    ReplicateGroupStatistics replicates = replicateStatisticsService.getStatistics(plateLayoutId).orElse(null);
+
+    // The workbook is built from a row cursor and written straight into the response
+    StreamingResponseBody body = out -> plateResultExportService.writeXlsx(plateLayoutId, curve, replicates, out);
+    return ResponseEntity.ok()
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=plate_" + plateLayoutId + "_results.xlsx")
+            .contentType(MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"))
+            .body(body);
 }
 
     @Operation(
@@ -493,10 +715,7 @@ public ResponseEntity<byte[]> downloadXlsx(
                 example = "1"
             )
             @PathVariable Long plateLayoutId) {
-        List<WellAnalysis> results = wellAnalysisRepository.findByPlateLayoutId(plateLayoutId)
-                .stream()
-                .filter(wa -> wa.getWell() != null && wa.getWell().getType() != WellType.EMPTY)
-                .toList();
+        List<WellAnalysisRow> results = plateResultSnapshotService.getRows(plateLayoutId);
 
         if (results.isEmpty()) {
             return ResponseEntity.notFound().build();
@@ -550,47 +769,80 @@ public ResponseEntity<byte[]> downloadXlsx(
         )
     })
     @GetMapping("/{plateLayoutId}/summary")
-    public ResponseEntity<Map<String, Object>> getAnalysisSummary(
+    public ResponseEntity<PlateAnalysisSummary> getAnalysisSummary(
             @Parameter(
                 description = "ID of the plate layout",
                 required = true,
                 example = "1"
             )
             @PathVariable Long plateLayoutId) {
-        List<WellAnalysis> results = wellAnalysisRepository.findByPlateLayoutId(plateLayoutId)
-                .stream()
-                .filter(wa -> wa.getWell() != null && wa.getWell().getType() != WellType.EMPTY)
-                .toList();
+        return analysisSummaryService.getSummary(plateLayoutId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
 
-        if (results.isEmpty()) {
-            return ResponseEntity.notFound().build();
-        }
+    @Operation(
+        summary = "Get replicate-group statistics",
+        description = "Returns n, mean, standard deviation and coefficient of variation of the blue/green ratio, the " +
+                "calculated concentration and the dilution-adjusted concentration for every replicate group of the plate. " +
+                "Wells whose ratio has a modified z-score above 3.5 within their group (groups of at least three) are " +
+                "listed as outliers. Results are cached until the plate is reanalyzed or its wells or curve change."
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Statistics computed",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ReplicateGroupStatistics.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "No analysis results found for the specified plate layout"
+        )
+    })
+    @GetMapping("/{plateLayoutId}/replicates")
+    public ResponseEntity<ReplicateGroupStatistics> getReplicateStatistics(
+            @Parameter(
+                description = "ID of the plate layout",
+                required = true,
+                example = "1"
+            )
+            @PathVariable Long plateLayoutId) {
+        return replicateStatisticsService.getStatistics(plateLayoutId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
 
-        Map<String, Object> summary = new HashMap<>();
-        summary.put("totalWells", results.size());
-        summary.put("plateLayoutId", plateLayoutId);
-
-        DoubleSummaryStatistics concentrationStats = results.stream()
-                .filter(wa -> wa.getCalculatedConcentration() != null)
-                .mapToDouble(WellAnalysis::getCalculatedConcentration)
-                .summaryStatistics();
-
-        summary.put("concentrationStats", Map.of(
-                "min", concentrationStats.getMin(),
-                "max", concentrationStats.getMax(),
-                "average", concentrationStats.getAverage(),
-                "count", concentrationStats.getCount()
-        ));
-
-        //counts by well type
-        Map<String, Long> wellTypeCounts = results.stream()
-                .collect(Collectors.groupingBy(
-                        wa -> wa.getWell().getType().toString(),
-                        Collectors.counting()
-                ));
-        summary.put("wellTypeCounts", wellTypeCounts);
-
-        return ResponseEntity.ok(summary);
+    @Operation(
+        summary = "Get analysis summaries for many plates",
+        description = "Returns the same summary as `/{plateLayoutId}/summary` for every requested plate layout in one call, " +
+                "keyed by plate layout ID. Plates without analysis results are omitted. Intended for project dashboards."
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Summaries of the plates that have analysis results"
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Too many plate layout IDs requested"
+        )
+    })
+    @GetMapping("/summaries")
+    public ResponseEntity<Map<Long, PlateAnalysisSummary>> getAnalysisSummaries(
+            @Parameter(
+                description = "Comma-separated IDs of the plate layouts",
+                required = true,
+                example = "1,2,3"
+            )
+            @RequestParam List<Long> plateLayoutIds) {
+        try {
+            return ResponseEntity.ok(analysisSummaryService.getSummaries(plateLayoutIds));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @Operation(
@@ -616,32 +868,189 @@ public ResponseEntity<byte[]> downloadXlsx(
                 example = "1"
             )
             @PathVariable Long plateLayoutId) {
-        List<WellAnalysis> results = wellAnalysisRepository.findByPlateLayoutId(plateLayoutId);
+        if (plateAnalysisService.deleteAnalysisResults(plateLayoutId) == 0) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.noContent().build();
+    }
 
-        if (results.isEmpty()) {
+    @Operation(
+        summary = "Per-well histogram statistics",
+        description = "Recomputes channel statistics (mean, median, percentiles, clipping, absorbance variants) for each well " +
+                     "from the green and blue histograms stored at analysis time, without the original image."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Statistics for every non-empty well with stored histograms",
+            content = @Content(
+                mediaType = "application/json",
+                examples = @ExampleObject(
+                    value = """
+                        [
+                          {
+                            "wellId": 1,
+                            "row": 0,
+                            "column": 0,
+                            "position": "A1",
+                            "green": {"pixelCount": 5398, "mean": 198.2, "median": 199, "p05": 190, "p95": 205,
+                                      "clippedFraction": 0.0, "absorbanceOfMean": 0.1086, "meanAbsorbance": 0.1089, "bins": null},
+                            "blue": {"pixelCount": 5398, "mean": 171.5, "median": 172, "p05": 163, "p95": 179,
+                                     "clippedFraction": 0.0, "absorbanceOfMean": 0.1723, "meanAbsorbance": 0.1727, "bins": null}
+                          }
+                        ]
+                        """
+                )
+            )
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "No stored histograms for the specified plate layout"
+        )
+    })
+    @GetMapping("/{plateLayoutId}/histograms")
+    public ResponseEntity<List<WellHistogramStats>> getHistogramStats(
+            @Parameter(description = "ID of the plate layout", required = true, example = "1")
+            @PathVariable Long plateLayoutId,
+            @Parameter(description = "Include the raw 256-bin counts per channel", example = "false")
+            @RequestParam(defaultValue = "false") boolean includeBins) {
+        List<WellHistogramStats> stats = wellHistogramService.getHistogramStats(plateLayoutId, includeBins);
+        if (stats.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
+        return ResponseEntity.ok(stats);
+    }
 
-        wellAnalysisRepository.deleteAll(results);
-        return ResponseEntity.noContent().build();
+    @Operation(
+        summary = "Preview of the measured well regions",
+        description = "Renders a downscaled PNG of the last analyzed plate image with the circles that were actually " +
+                     "measured for each well. Previews are cached on disk per image and grid parameters."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "PNG preview",
+            content = @Content(mediaType = MediaType.IMAGE_PNG_VALUE)
+        ),
+        @ApiResponse(
+            responseCode = "304",
+            description = "Preview unchanged since the ETag sent in If-None-Match"
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Plate layout not found or no analyzed image stored for it"
+        )
+    })
+    @GetMapping(value = "/{plateLayoutId}/preview/roi", produces = MediaType.IMAGE_PNG_VALUE)
+    public ResponseEntity<byte[]> getRoiPreview(
+            @Parameter(description = "ID of the plate layout", required = true, example = "1")
+            @PathVariable Long plateLayoutId,
+            @Parameter(description = "Longest edge of the preview in pixels, rounded up to 256, 512, 1024 or 2048", example = "1024")
+            @RequestParam(defaultValue = "1024") int maxSize,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) throws IOException {
+        return previewResponse(platePreviewService.renderRoiOverlay(plateLayoutId, maxSize), ifNoneMatch);
     }
 
-    private WellAnalysisResult convertToWellAnalysisResult(WellAnalysis wellAnalysis) {
+    @Operation(
+        summary = "Heatmap of well results",
+        description = "Renders a downscaled PNG of the last analyzed plate image with each well colored by its " +
+                     "blue/green ratio or calculated concentration. Previews are cached on disk per image, grid " +
+                     "parameters and result version."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "PNG heatmap",
+            content = @Content(mediaType = MediaType.IMAGE_PNG_VALUE)
+        ),
+        @ApiResponse(
+            responseCode = "304",
+            description = "Heatmap unchanged since the ETag sent in If-None-Match"
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Unknown metric"
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Plate layout not found or no analyzed image stored for it"
+        )
+    })
+    @GetMapping(value = "/{plateLayoutId}/preview/heatmap", produces = MediaType.IMAGE_PNG_VALUE)
+    public ResponseEntity<byte[]> getHeatmapPreview(
+            @Parameter(description = "ID of the plate layout", required = true, example = "1")
+            @PathVariable Long plateLayoutId,
+            @Parameter(description = "Value to color by: 'ratio' or 'concentration'", example = "ratio")
+            @RequestParam(defaultValue = "ratio") String metric,
+            @Parameter(description = "Longest edge of the preview in pixels, rounded up to 256, 512, 1024 or 2048", example = "1024")
+            @RequestParam(defaultValue = "1024") int maxSize,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) throws IOException {
+        try {
+            return previewResponse(platePreviewService.renderHeatmap(plateLayoutId, metric, maxSize), ifNoneMatch);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    private ResponseEntity<byte[]> previewResponse(PlatePreview preview, String ifNoneMatch) {
+        String etag = "\"" + preview.getEtag() + "\"";
+        // Results can change after re-analysis, so the browser keeps the image but revalidates it with the ETag
+        CacheControl cacheControl = CacheControl.noCache().cachePrivate();
+        if (etag.equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.IMAGE_PNG)
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .body(preview.getImage());
+    }
+
+    private void writeJsonLine(OutputStream out, Object value) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(value));
+        out.write('\n');
+    }
+
+    // Runs the quality gate unless it has been switched off; returns null when disabled
+    private ImageQualityReport checkImageQuality(byte[] imageBytes, Rectangle plateRegion) throws Exception {
+        return imageQualityGateEnabled ? imageQualityService.assess(imageBytes, plateRegion) : null;
+    }
+
+    private boolean isRejected(ImageQualityReport quality) {
+        return quality != null && quality.getStatus() == ImageQualityReport.Status.REJECT;
+    }
+
+    private ResponseEntity<Map<String, Object>> rejectedImageResponse(ImageQualityReport quality) {
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY)
+                .body(analysisResponse("Image rejected by quality check: " + String.join("; ", quality.getMessages()), quality));
+    }
+
+    private Map<String, Object> analysisResponse(String message, ImageQualityReport quality) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("message", message);
+        if (quality != null) {
+            response.put("imageQuality", quality);
+        }
+        return response;
+    }
+
+    private WellAnalysisResult convertToWellAnalysisResult(WellAnalysisRow row) {
         return WellAnalysisResult.builder()
-                .id(wellAnalysis.getId())
-                .wellId(wellAnalysis.getWell().getId())
-                .row(wellAnalysis.getWell().getRow())
-                .column(wellAnalysis.getWell().getColumn())
-                .wellType(wellAnalysis.getWell().getType().toString())
-                .sampleName(wellAnalysis.getWell().getSampleName())
-                .greenValue(wellAnalysis.getGreenValue())
-                .blueValue(wellAnalysis.getBlueValue())
-                .blueToGreenRatio(wellAnalysis.getBlueToGreenRatio())
-                .greenAbsorbance(wellAnalysis.getGreenAbsorbance())
-                .blueAbsorbance(wellAnalysis.getBlueAbsorbance())
-                .absorbanceRatio(wellAnalysis.getAbsorbanceRatio())
-                .pixelCount(wellAnalysis.getPixelCount())
-                .calculatedConcentration(wellAnalysis.getCalculatedConcentration())
+                .id(row.getId())
+                .wellId(row.getWellId())
+                .row(row.getRow())
+                .column(row.getColumn())
+                .wellType(row.getWellType().toString())
+                .sampleName(row.getSampleName())
+                .greenValue(row.getGreenValue())
+                .blueValue(row.getBlueValue())
+                .blueToGreenRatio(row.getBlueToGreenRatio())
+                .greenAbsorbance(row.getGreenAbsorbance())
+                .blueAbsorbance(row.getBlueAbsorbance())
+                .absorbanceRatio(row.getAbsorbanceRatio())
+                .pixelCount(row.getPixelCount())
+                .calculatedConcentration(row.getCalculatedConcentration())
+                .adjustedConcentration(row.getAdjustedConcentration())
                 .build();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,105 @@
+package com.rgbradford.backend.controller;
+
+import com.rgbradford.backend.dto.response.PlateImageInfo;
+import com.rgbradford.backend.service.interfaces.PlateImageTileService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@RestController
+@RequestMapping("/api/plate-images")
+@Tag(
+    name = "Plate Images",
+    description = "APIs for viewing stored plate images as a deep-zoom tile pyramid. " +
+                 "Tiles are rendered lazily on first request and cached on disk."
+)
+@SecurityRequirement(name = "bearerAuth")
+public class PlateImageController {
+
+    @Autowired
+    private PlateImageTileService plateImageTileService;
+
+    @Operation(
+        summary = "Get tile pyramid info for a plate",
+        description = "Returns the size of the image last analyzed for a plate layout and the parameters needed to request its tiles."
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Pyramid info",
+            content = @Content(
+                mediaType = "application/json",
+                examples = @ExampleObject(
+                    value = """
+                        {
+                          "imageHash": "3f2a...c9",
+                          "width": 4032,
+                          "height": 3024,
+                          "tileSize": 256,
+                          "maxZoom": 4,
+                          "tileUrlTemplate": "/api/plate-images/3f2a...c9/tiles/{z}/{x}/{y}.jpg"
+                        }
+                        """
+                )
+            )
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Plate layout not found or no analyzed image stored for it"
+        )
+    })
+    @GetMapping("/by-plate/{plateLayoutId}")
+    public ResponseEntity<PlateImageInfo> getImageInfo(
+            @Parameter(description = "ID of the plate layout", required = true, example = "1")
+            @PathVariable Long plateLayoutId) throws IOException {
+        return ResponseEntity.ok(plateImageTileService.getImageInfo(plateLayoutId));
+    }
+
+    @Operation(
+        summary = "Get one image tile",
+        description = "Returns a JPEG tile of a stored plate image. Level 0 shows the whole image in one tile, " +
+                     "every further level doubles the resolution up to maxZoom (full resolution). " +
+                     "Tiles never change for a given image hash and may be cached indefinitely."
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "JPEG tile",
+            content = @Content(mediaType = MediaType.IMAGE_JPEG_VALUE)
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Image not found or tile outside the pyramid"
+        )
+    })
+    @GetMapping(value = "/{imageHash}/tiles/{zoom}/{x}/{y}.jpg", produces = MediaType.IMAGE_JPEG_VALUE)
+    public ResponseEntity<byte[]> getTile(
+            @Parameter(description = "Hash of the stored image", required = true)
+            @PathVariable String imageHash,
+            @Parameter(description = "Zoom level (0 = whole image)", required = true, example = "0")
+            @PathVariable int zoom,
+            @Parameter(description = "Tile column", required = true, example = "0")
+            @PathVariable int x,
+            @Parameter(description = "Tile row", required = true, example = "0")
+            @PathVariable int y) throws IOException {
+        byte[] tile = plateImageTileService.getTile(imageHash, zoom, x, y);
+        // Content-addressed, so the URL always returns the same bytes
+        return ResponseEntity.ok()
+                .contentType(MediaType.IMAGE_JPEG)
+                .cacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePrivate().immutable())
+                .body(tile);
+    }
+}
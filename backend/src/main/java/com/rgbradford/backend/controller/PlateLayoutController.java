@@ -10,6 +10,7 @@ import com.rgbradford.backend.dto.response.WellResponse;
 import com.rgbradford.backend.entity.PlateLayout;
 import com.rgbradford.backend.entity.Project;
 import com.rgbradford.backend.entity.Well;
+import com.rgbradford.backend.event.PlateDataChangedEvent;
 import com.rgbradford.backend.util.WellPositionUtils;
 import com.rgbradford.backend.repository.PlateLayoutRepository;
 import com.rgbradford.backend.repository.ProjectRepository;
@@ -17,6 +18,7 @@ import com.rgbradford.backend.repository.WellRepository;
 import jakarta.validation.Valid;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
@@ -63,6 +65,9 @@ public class PlateLayoutController {
     @Autowired
     private ProjectRepository projectRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     // ========== POST METHODS ==========
 
     /**
@@ -247,6 +252,7 @@ public class PlateLayoutController {
 
         // Single batch save
         List<Well> savedWells = wellRepository.saveAll(wells);
+        eventPublisher.publishEvent(new PlateDataChangedEvent(id, PlateDataChangedEvent.Change.WELLS));
 
         // Convert to responses in parallel
         List<WellResponse> responses = savedWells.parallelStream()
@@ -527,6 +533,7 @@ public class PlateLayoutController {
 
                     // Save all wells (both updates and new ones)
                     List<Well> savedWells = wellRepository.saveAll(wellsToSave);
+                    eventPublisher.publishEvent(new PlateDataChangedEvent(id, PlateDataChangedEvent.Change.WELLS));
 
                     // Return the updated wells
                     List<WellResponse> responses = savedWells.stream()
@@ -613,6 +620,7 @@ public class PlateLayoutController {
                     }
 
                     Well savedWell = wellRepository.save(well);
+                    eventPublisher.publishEvent(new PlateDataChangedEvent(plateLayoutId, PlateDataChangedEvent.Change.WELLS));
                     return ResponseEntity.ok(convertToWellResponse(savedWell));
                 })
                 .orElse(ResponseEntity.notFound().build());
@@ -643,6 +651,7 @@ public class PlateLayoutController {
             return ResponseEntity.notFound().build();
         }
         plateLayoutRepository.deleteById(id);
+        eventPublisher.publishEvent(new PlateDataChangedEvent(id, PlateDataChangedEvent.Change.PLATE_DELETED));
         return ResponseEntity.noContent().build();
     }
 
@@ -674,6 +683,7 @@ public class PlateLayoutController {
                 .columns(plateLayout.getColumns())
                 .projectId(plateLayout.getProject().getId())
                 .wellCount(plateLayout.getWells() != null ? plateLayout.getWells().size() : 0)
+                .referenceCurveId(plateLayout.getReferenceCurveId())
                 .build();
     }
 
@@ -0,0 +1,138 @@
+package com.rgbradford.backend.controller;
+
+import com.rgbradford.backend.dto.request.RecalculationJobRequest;
+import com.rgbradford.backend.dto.response.RecalculationJobResponse;
+import com.rgbradford.backend.entity.User;
+import com.rgbradford.backend.repository.UserRepository;
+import com.rgbradford.backend.service.interfaces.RecalculationJobService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/recalculation-jobs")
+@RequiredArgsConstructor
+@Tag(
+    name = "Recalculation Jobs",
+    description = "Background jobs that refit the standard curves and concentrations of many plate layouts, " +
+                 "e.g. after a change to the lab's standard concentrations."
+)
+@SecurityRequirement(name = "bearerAuth")
+public class RecalculationJobController {
+
+    private final RecalculationJobService recalculationJobService;
+    private final UserRepository userRepository;
+
+    @Operation(
+        summary = "Start a batch recalculation",
+        description = "Queues a job that refits the standard curve and stored concentrations of every plate layout " +
+                "of one project, or of all of the user's projects when no project is given. Plates are processed " +
+                "in parallel in chunks; progress is saved after each chunk and unfinished jobs resume after a restart. " +
+                "If an unfinished job with the same scope and model exists, that job is returned."
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "202",
+            description = "Job queued (or already running)",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = RecalculationJobResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Project not found"
+        )
+    })
+    @PostMapping
+    public ResponseEntity<RecalculationJobResponse> startJob(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                description = "Scope of the recalculation; both fields are optional",
+                content = @Content(
+                    schema = @Schema(implementation = RecalculationJobRequest.class),
+                    examples = @ExampleObject(
+                        value = """
+                            {
+                              "projectId": 1,
+                              "model": "FOUR_PL"
+                            }
+                            """
+                    )
+                )
+            )
+            @RequestBody(required = false) RecalculationJobRequest request,
+            @Parameter(hidden = true) @AuthenticationPrincipal UserDetails userDetails) {
+        User user = currentUser(userDetails);
+        RecalculationJobRequest scope = request != null ? request : new RecalculationJobRequest();
+        try {
+            RecalculationJobResponse job = recalculationJobService.startJob(user.getId(), scope.getProjectId(), scope.getModel());
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/recalculation-jobs/" + job.getId()))
+                    .body(job);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Operation(
+        summary = "Get job progress",
+        description = "Returns the status and progress counters of one of the user's recalculation jobs."
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Job found",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = RecalculationJobResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Job not found"
+        )
+    })
+    @GetMapping("/{jobId}")
+    public ResponseEntity<RecalculationJobResponse> getJob(
+            @Parameter(description = "ID of the job", required = true, example = "1")
+            @PathVariable Long jobId,
+            @Parameter(hidden = true) @AuthenticationPrincipal UserDetails userDetails) {
+        User user = currentUser(userDetails);
+        try {
+            return ResponseEntity.ok(recalculationJobService.getJob(jobId, user.getId()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @Operation(
+        summary = "List jobs",
+        description = "Returns the user's recalculation jobs, newest first."
+    )
+    @GetMapping
+    public ResponseEntity<List<RecalculationJobResponse>> getJobs(
+            @Parameter(hidden = true) @AuthenticationPrincipal UserDetails userDetails) {
+        return ResponseEntity.ok(recalculationJobService.getJobs(currentUser(userDetails).getId()));
+    }
+
+    private User currentUser(UserDetails userDetails) {
+        String email = userDetails.getUsername();
+        return userRepository.findByEmail(email)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
+    }
+}
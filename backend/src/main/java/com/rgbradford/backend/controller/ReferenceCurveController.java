@@ -0,0 +1,258 @@
+package com.rgbradford.backend.controller;
+
+import com.rgbradford.backend.dto.request.ReferenceCurveRequest;
+import com.rgbradford.backend.dto.response.ReferenceCurveResponse;
+import com.rgbradford.backend.entity.User;
+import com.rgbradford.backend.repository.UserRepository;
+import com.rgbradford.backend.service.interfaces.ReferenceCurveService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/reference-curves")
+@RequiredArgsConstructor
+@Tag(
+    name = "Reference Curves",
+    description = "Named standard curves stored per project or user and shared by plates without their own standards. " +
+                 "Concentrations of attached plates are computed from the reference curve instead of the plate's own curve."
+)
+@SecurityRequirement(name = "bearerAuth")
+public class ReferenceCurveController {
+
+    private final ReferenceCurveService referenceCurveService;
+    private final UserRepository userRepository;
+
+    @Operation(
+        summary = "Create a reference curve",
+        description = "Stores a named curve, either copied from a plate's fitted standard curve (sourcePlateLayoutId) " +
+                "or given as a model with its parameters (LINEAR: m, b; see the standard curve model documentation). " +
+                "Without a project ID the curve can be used in all of the user's projects."
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "201",
+            description = "Reference curve created",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ReferenceCurveResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Missing name, unknown project or source plate, source plate without curve, or parameters not matching the model"
+        )
+    })
+    @PostMapping
+    public ResponseEntity<ReferenceCurveResponse> createReferenceCurve(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                description = "Reference curve definition",
+                required = true,
+                content = @Content(
+                    schema = @Schema(implementation = ReferenceCurveRequest.class),
+                    examples = @ExampleObject(
+                        value = """
+                            {
+                              "name": "BSA standard 2025-01",
+                              "projectId": 1,
+                              "sourcePlateLayoutId": 3
+                            }
+                            """
+                    )
+                )
+            )
+            @RequestBody ReferenceCurveRequest request,
+            @Parameter(hidden = true) @AuthenticationPrincipal UserDetails userDetails) {
+        try {
+            ReferenceCurveResponse curve = referenceCurveService.createReferenceCurve(currentUser(userDetails).getId(), request);
+            return ResponseEntity.created(URI.create("/api/reference-curves/" + curve.getId())).body(curve);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Operation(
+        summary = "List reference curves",
+        description = "Returns the user's reference curves by name; with a project ID only those usable in that project " +
+                "(the project's own and the user-wide curves)."
+    )
+    @GetMapping
+    public ResponseEntity<List<ReferenceCurveResponse>> getReferenceCurves(
+            @Parameter(description = "Only curves usable in this project", example = "1")
+            @RequestParam(required = false) Long projectId,
+            @Parameter(hidden = true) @AuthenticationPrincipal UserDetails userDetails) {
+        return ResponseEntity.ok(referenceCurveService.getReferenceCurves(currentUser(userDetails).getId(), projectId));
+    }
+
+    @Operation(
+        summary = "Get reference curve",
+        description = "Returns a reference curve and the plate layouts attached to it."
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Reference curve found",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ReferenceCurveResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Reference curve not found"
+        )
+    })
+    @GetMapping("/{id}")
+    public ResponseEntity<ReferenceCurveResponse> getReferenceCurve(
+            @Parameter(description = "ID of the reference curve", required = true, example = "1")
+            @PathVariable Long id,
+            @Parameter(hidden = true) @AuthenticationPrincipal UserDetails userDetails) {
+        try {
+            return ResponseEntity.ok(referenceCurveService.getReferenceCurve(id, currentUser(userDetails).getId()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @Operation(
+        summary = "Update reference curve",
+        description = "Replaces the curve's name, project and definition. The concentrations of all attached plates " +
+                "are rewritten in bulk from the new curve; the plates are not refitted."
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Reference curve updated",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ReferenceCurveResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Reference curve not found or invalid definition"
+        )
+    })
+    @PutMapping("/{id}")
+    public ResponseEntity<ReferenceCurveResponse> updateReferenceCurve(
+            @Parameter(description = "ID of the reference curve", required = true, example = "1")
+            @PathVariable Long id,
+            @RequestBody ReferenceCurveRequest request,
+            @Parameter(hidden = true) @AuthenticationPrincipal UserDetails userDetails) {
+        try {
+            return ResponseEntity.ok(referenceCurveService.updateReferenceCurve(id, currentUser(userDetails).getId(), request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Operation(
+        summary = "Delete reference curve",
+        description = "Deletes the curve. Attached plates go back to the concentrations of their own standard curves."
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "204",
+            description = "Reference curve deleted"
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Reference curve not found"
+        )
+    })
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteReferenceCurve(
+            @Parameter(description = "ID of the reference curve", required = true, example = "1")
+            @PathVariable Long id,
+            @Parameter(hidden = true) @AuthenticationPrincipal UserDetails userDetails) {
+        try {
+            referenceCurveService.deleteReferenceCurve(id, currentUser(userDetails).getId());
+            return ResponseEntity.noContent().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @Operation(
+        summary = "Attach a plate layout",
+        description = "Computes the plate's concentrations from the reference curve instead of its own standard curve. " +
+                "A plate can be attached to one reference curve at a time; attaching replaces the previous one."
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Plate layout attached",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ReferenceCurveResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Reference curve or plate layout not found, or the curve belongs to another project"
+        )
+    })
+    @PutMapping("/{id}/plates/{plateLayoutId}")
+    public ResponseEntity<ReferenceCurveResponse> attachPlate(
+            @Parameter(description = "ID of the reference curve", required = true, example = "1")
+            @PathVariable Long id,
+            @Parameter(description = "ID of the plate layout", required = true, example = "1")
+            @PathVariable Long plateLayoutId,
+            @Parameter(hidden = true) @AuthenticationPrincipal UserDetails userDetails) {
+        try {
+            return ResponseEntity.ok(referenceCurveService.attachPlate(id, plateLayoutId, currentUser(userDetails).getId()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Operation(
+        summary = "Detach a plate layout",
+        description = "The plate's concentrations are computed from its own standard curve again."
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "204",
+            description = "Plate layout detached"
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Reference curve or plate layout not found, or the plate is not attached to the curve"
+        )
+    })
+    @DeleteMapping("/{id}/plates/{plateLayoutId}")
+    public ResponseEntity<Void> detachPlate(
+            @Parameter(description = "ID of the reference curve", required = true, example = "1")
+            @PathVariable Long id,
+            @Parameter(description = "ID of the plate layout", required = true, example = "1")
+            @PathVariable Long plateLayoutId,
+            @Parameter(hidden = true) @AuthenticationPrincipal UserDetails userDetails) {
+        try {
+            referenceCurveService.detachPlate(id, plateLayoutId, currentUser(userDetails).getId());
+            return ResponseEntity.noContent().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    private User currentUser(UserDetails userDetails) {
+        String email = userDetails.getUsername();
+        return userRepository.findByEmail(email)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
+    }
+}
@@ -1,6 +1,9 @@
 package com.rgbradford.backend.controller;
 
 import com.rgbradford.backend.dto.StandardCurveDto;
+import com.rgbradford.backend.dto.response.StandardCurveConfidence;
+import com.rgbradford.backend.entity.CurveModelType;
+import com.rgbradford.backend.service.interfaces.StandardCurveConfidenceService;
 import com.rgbradford.backend.service.interfaces.StandardCurveService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -10,7 +13,9 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -29,10 +34,13 @@ import org.springframework.web.bind.annotation.*;
 public class StandardCurveController {
 
     private final StandardCurveService standardCurveService;
+    private final StandardCurveConfidenceService standardCurveConfidenceService;
 
     @Autowired
-    public StandardCurveController(StandardCurveService standardCurveService) {
+    public StandardCurveController(StandardCurveService standardCurveService,
+                                   StandardCurveConfidenceService standardCurveConfidenceService) {
         this.standardCurveService = standardCurveService;
+        this.standardCurveConfidenceService = standardCurveConfidenceService;
     }
 
     /**
@@ -116,7 +124,10 @@ public class StandardCurveController {
         summary = "Recalculate standard curve",
         description = "Forces recalculation of the standard curve for the specified plate layout, " +
                 "bypassing any cached results. Use this endpoint when standard well data has been updated " +
-                "or when you want to ensure the curve reflects the latest analysis results."
+                "or when you want to ensure the curve reflects the latest analysis results. " +
+                "The optional model switches between LINEAR, QUADRATIC, FOUR_PL and FIVE_PL; without it the " +
+                "plate keeps its current model. Nonlinear models need at least as many standard concentrations " +
+                "as parameters."
     )
     @ApiResponses({
         @ApiResponse(
@@ -157,7 +168,7 @@ public class StandardCurveController {
         ),
         @ApiResponse(
             responseCode = "400",
-            description = "Insufficient standard wells for curve calculation"
+            description = "Insufficient standard wells for curve calculation, unknown model or a fit that did not converge"
         )
     })
     @PostMapping("/{plateLayoutId}/recalculate")
@@ -167,11 +178,66 @@ public class StandardCurveController {
                 required = true,
                 example = "1"
             )
-            @PathVariable Long plateLayoutId) {
+            @PathVariable Long plateLayoutId,
+            @Parameter(
+                description = "Curve model; defaults to the plate's current model",
+                example = "FOUR_PL"
+            )
+            @RequestParam(required = false) CurveModelType model) {
         
         // This will always recalculate and store a new curve
-        StandardCurveDto curve = standardCurveService.calculateAndStoreStandardCurve(plateLayoutId);
-        return ResponseEntity.ok(curve);
+        try {
+            StandardCurveDto curve = standardCurveService.calculateAndStoreStandardCurve(plateLayoutId, model);
+            return ResponseEntity.ok(curve);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Operation(
+        summary = "Get bootstrap confidence intervals",
+        description = "Refits the plate's standard curve on residual bootstrap resamples of its standards and returns " +
+                "percentile intervals for the concentration along the curve (a band over the standards' ratio range) " +
+                "and for every analyzed sample well. Results are cached until the curve or the plate's wells change."
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Confidence intervals computed",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = StandardCurveConfidence.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "No usable standard curve, too few standards, plate uses a reference curve, " +
+                    "or iterations/level out of range"
+        )
+    })
+    @GetMapping("/{plateLayoutId}/confidence")
+    public ResponseEntity<StandardCurveConfidence> getConfidenceIntervals(
+            @Parameter(
+                description = "ID of the plate layout",
+                required = true,
+                example = "1"
+            )
+            @PathVariable Long plateLayoutId,
+            @Parameter(
+                description = "Number of bootstrap refits (100 up to the configured maximum)",
+                example = "1000"
+            )
+            @RequestParam(defaultValue = "1000") int iterations,
+            @Parameter(
+                description = "Confidence level of the intervals",
+                example = "0.95"
+            )
+            @RequestParam(defaultValue = "0.95") double level) {
+        try {
+            return ResponseEntity.ok(standardCurveConfidenceService.getConfidence(plateLayoutId, iterations, level));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.of(ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, e.getMessage())).build();
+        }
     }
 
     /**
@@ -4,6 +4,7 @@ import com.rgbradford.backend.dto.request.WellRequest;
 import com.rgbradford.backend.dto.response.WellResponse;
 import com.rgbradford.backend.entity.Well;
 import com.rgbradford.backend.entity.WellType;
+import com.rgbradford.backend.event.PlateDataChangedEvent;
 import com.rgbradford.backend.repository.WellRepository;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -15,6 +16,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
@@ -38,6 +40,9 @@ public class WellController {
     @Autowired
     private WellRepository wellRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Operation(
         summary = "List all wells with optional filters",
         description = "Retrieves a paginated list of wells. Supports filtering by plate layout, well type, or replicate group."
@@ -249,6 +254,7 @@ public class WellController {
                     well.setReplicateGroup(request.getReplicateGroup());
                     
                     Well saved = wellRepository.save(well);
+                    publishWellsChanged(saved);
                     return ResponseEntity.ok(convertToResponse(saved));
                 })
                 .orElse(ResponseEntity.notFound().build());
@@ -272,11 +278,13 @@ public class WellController {
     public ResponseEntity<Void> deleteWell(
             @Parameter(description = "ID of the well to delete", required = true, example = "1")
             @PathVariable Long id) {
-        if (!wellRepository.existsById(id)) {
-            return ResponseEntity.notFound().build();
-        }
-        wellRepository.deleteById(id);
-        return ResponseEntity.noContent().build();
+        return wellRepository.findById(id)
+                .map(well -> {
+                    wellRepository.delete(well);
+                    publishWellsChanged(well);
+                    return ResponseEntity.noContent().<Void>build();
+                })
+                .orElse(ResponseEntity.notFound().build());
     }
 
     @Operation(
@@ -351,6 +359,13 @@ public class WellController {
         return ResponseEntity.ok(responses);
     }
 
+    // Result snapshots and standard curves depend on well metadata
+    private void publishWellsChanged(Well well) {
+        if (well.getPlateLayout() != null) {
+            eventPublisher.publishEvent(new PlateDataChangedEvent(well.getPlateLayout().getId(), PlateDataChangedEvent.Change.WELLS));
+        }
+    }
+
     private WellResponse convertToResponse(Well well) {
         return WellResponse.builder()
                 .id(well.getId())
@@ -1,5 +1,6 @@
 package com.rgbradford.backend.dto;
 
+import com.rgbradford.backend.entity.CurveModelType;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -8,7 +9,8 @@ import lombok.NoArgsConstructor;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Schema(description = "Results of the linear regression analysis (y = slope * x + intercept)")
+@Schema(description = "Results of the standard curve fit. Slope and intercept always describe the linear fit " +
+        "(y = slope * x + intercept); model and parameters describe the curve used for concentrations")
 public class RegressionResultDto {
     @Schema(
         description = "Slope of the best-fit line (m in y = mx + b)",
@@ -25,11 +27,34 @@ public class RegressionResultDto {
     private double intercept;
     
     @Schema(
-        description = "R-squared value indicating the goodness of fit (0-1)",
+        description = "R-squared value indicating the goodness of fit of the selected model (0-1)",
         example = "0.98",
         minimum = "0",
         maximum = "1",
         required = true
     )
     private double rSquared;
+
+    @Schema(
+        description = "Standard error of the estimate (residual standard deviation), in concentration units for " +
+                "LINEAR and ratio units for the nonlinear models. Null without spare degrees of freedom or for " +
+                "curves stored before it was recorded",
+        example = "0.042"
+    )
+    private Double standardError;
+
+    @Schema(
+        description = "Curve model. LINEAR maps ratio to concentration; the others fit ratio against concentration " +
+                "and are inverted for samples",
+        example = "FOUR_PL"
+    )
+    private CurveModelType model;
+
+    @Schema(
+        description = "Model parameters: LINEAR [m, b]; QUADRATIC [c0, c1, c2] in ratio = c0 + c1*x + c2*x^2; " +
+                "FOUR_PL [a, b, c, d] in ratio = d + (a - d) / (1 + (x/c)^b); FIVE_PL [a, b, c, d, g] in " +
+                "ratio = d + (a - d) / (1 + (x/c)^b)^g, with x the concentration",
+        example = "[0.45, 1.3, 600.0, 1.9]"
+    )
+    private double[] parameters;
 }
@@ -21,4 +21,14 @@ public class StandardCurveDto {
     
     @Schema(description = "Results of the linear regression analysis")
     private RegressionResultDto regression;
+
+    @Schema(description = "Reference curve this curve comes from; null for a curve fitted to the plate's own standards")
+    private Long referenceCurveId;
+
+    @Schema(description = "Name of the reference curve; null for a curve fitted to the plate's own standards")
+    private String referenceCurveName;
+
+    public StandardCurveDto(List<StandardCurvePointDto> points, RegressionResultDto regression) {
+        this(points, regression, null, null);
+    }
 }
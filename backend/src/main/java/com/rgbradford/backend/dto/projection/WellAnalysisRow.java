@@ -0,0 +1,34 @@
+package com.rgbradford.backend.dto.projection;
+
+import com.rgbradford.backend.entity.WellType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Flat read model of one analyzed well (well metadata plus measurements), filled directly by a
+ * JPQL constructor expression so read endpoints never load WellAnalysis/Well entities.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WellAnalysisRow {
+    private Long id;
+    private Long wellId;
+    private int row;
+    private int column;
+    private String position;
+    private WellType wellType;
+    private String sampleName;
+    private Double dilutionFactor;
+    private String replicateGroup;
+    private Integer greenValue;
+    private Integer blueValue;
+    private Double blueToGreenRatio;
+    private Double calculatedConcentration;
+    private Double adjustedConcentration;
+    private Double greenAbsorbance;
+    private Double blueAbsorbance;
+    private Double absorbanceRatio;
+    private Integer pixelCount;
+}
@@ -0,0 +1,20 @@
+package com.rgbradford.backend.dto.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Encoded channel histograms of one analyzed well together with its position.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WellHistogramRow {
+    private Long wellId;
+    private int row;
+    private int column;
+    private String position;
+    private byte[] greenHistogram;
+    private byte[] blueHistogram;
+}
@@ -0,0 +1,23 @@
+package com.rgbradford.backend.dto.projection;
+
+import com.rgbradford.backend.entity.WellType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Database-side aggregate of the analyzed wells of one type on one plate.
+ * Concentration aggregates are null when no well of the group has a calculated concentration.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WellTypeAggregate {
+    private Long plateLayoutId;
+    private WellType wellType;
+    private Long wellCount;
+    private Double minConcentration;
+    private Double maxConcentration;
+    private Double sumConcentration;
+    private Long concentrationCount;
+}
@@ -0,0 +1,14 @@
+package com.rgbradford.backend.dto.request;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+//One plate grid inside a photo that contains several plates side by side
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlateAnalysisTarget {
+    private Long plateLayoutId;
+    private PlateAnalysisParams params;
+}
@@ -0,0 +1,16 @@
+package com.rgbradford.backend.dto.request;
+
+import com.rgbradford.backend.entity.CurveModelType;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+//Scope of a batch curve recalculation: one project, or all of the user's projects when projectId is null
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecalculationJobRequest {
+    private Long projectId;
+    //Null keeps each plate's current model
+    private CurveModelType model;
+}
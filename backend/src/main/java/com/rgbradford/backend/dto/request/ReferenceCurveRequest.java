@@ -0,0 +1,19 @@
+package com.rgbradford.backend.dto.request;
+
+import com.rgbradford.backend.entity.CurveModelType;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+//A reference curve is either copied from a plate's fitted curve (sourcePlateLayoutId) or given as model + parameters
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReferenceCurveRequest {
+    private String name;
+    //Null makes the curve available to all of the user's projects
+    private Long projectId;
+    private Long sourcePlateLayoutId;
+    private CurveModelType model;
+    private double[] parameters;
+}
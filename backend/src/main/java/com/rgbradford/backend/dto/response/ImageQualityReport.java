@@ -0,0 +1,34 @@
+package com.rgbradford.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImageQualityReport {
+    public enum Status { PASS, WARN, REJECT }
+
+    private Status status;
+    // Variance of the Laplacian of the luminance channel (higher = sharper)
+    private double sharpness;
+    // Mean luminance (0-255)
+    private double meanBrightness;
+    // Fraction of sampled pixels at or near 255 / at or near 0
+    private double clippedHighFraction;
+    private double clippedLowFraction;
+    // Size of the subsampled image the scores were computed on
+    private int sampledWidth;
+    private int sampledHeight;
+    // Whether the scores cover only the plate region or the whole photo
+    private boolean plateRegionOnly;
+    private long elapsedMillis;
+    @Builder.Default
+    private List<String> messages = new ArrayList<>();
+}
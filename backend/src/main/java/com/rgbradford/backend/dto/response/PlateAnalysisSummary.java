@@ -0,0 +1,31 @@
+package com.rgbradford.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PlateAnalysisSummary {
+    private Long plateLayoutId;
+    private long totalWells;
+    private ConcentrationStats concentrationStats;
+    private Map<String, Long> wellTypeCounts;
+
+    // Same semantics as DoubleSummaryStatistics: min/max are +/-Infinity and average is 0 without values
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class ConcentrationStats {
+        private double min;
+        private double max;
+        private double average;
+        private long count;
+    }
+}
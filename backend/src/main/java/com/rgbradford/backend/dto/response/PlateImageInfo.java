@@ -0,0 +1,24 @@
+package com.rgbradford.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PlateImageInfo {
+    // Content hash of the stored image; part of every tile URL
+    private String imageHash;
+    // Size of the original image in pixels
+    private int width;
+    private int height;
+    // Edge length of a (non-border) tile in pixels
+    private int tileSize;
+    // Zoom level at which the image is shown at full resolution; level 0 fits into a single tile
+    private int maxZoom;
+    // e.g. /api/plate-images/{hash}/tiles/{z}/{x}/{y}.jpg
+    private String tileUrlTemplate;
+}
@@ -15,4 +15,5 @@ public class PlateLayoutResponse {
     private int columns;
     private Long projectId;
     private int wellCount;
+    private Long referenceCurveId;
 } 
\ No newline at end of file
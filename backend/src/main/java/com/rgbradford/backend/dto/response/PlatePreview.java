@@ -0,0 +1,15 @@
+package com.rgbradford.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlatePreview {
+    // Encoded PNG
+    private byte[] image;
+    // Cache key of the rendered file; changes whenever the image, grid or results change
+    private String etag;
+}
@@ -0,0 +1,28 @@
+package com.rgbradford.backend.dto.response;
+
+import com.rgbradford.backend.entity.CurveModelType;
+import com.rgbradford.backend.entity.RecalculationJobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RecalculationJobResponse {
+    private Long id;
+    private Long projectId;
+    private CurveModelType model;
+    private RecalculationJobStatus status;
+    private int totalPlates;
+    private int processedPlates;
+    private int failedPlates;
+    private String lastError;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,27 @@
+package com.rgbradford.backend.dto.response;
+
+import com.rgbradford.backend.entity.CurveModelType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReferenceCurveResponse {
+    private Long id;
+    private String name;
+    private Long projectId;
+    private CurveModelType model;
+    private double[] parameters;
+    private Long sourcePlateLayoutId;
+    //Plate layouts whose concentrations are computed from this curve
+    private List<Long> plateLayoutIds;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,46 @@
+package com.rgbradford.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReplicateGroupStatistics {
+    private Long plateLayoutId;
+    private Long analysisVersion;
+    // Groups by name; wells without a replicate group are not included
+    private List<Group> groups;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Group {
+        private String replicateGroup;
+        // Analyzed wells in the group
+        private int wellCount;
+        private Stats ratio;
+        private Stats concentration;
+        private Stats adjustedConcentration;
+        // Positions whose blue/green ratio has a modified z-score above the threshold (needs at least 3 wells)
+        private List<String> outlierPositions;
+    }
+
+    // sd is the sample standard deviation (null below two values); cvPercent is null when the mean is 0
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Stats {
+        private int n;
+        private Double mean;
+        private Double sd;
+        private Double cvPercent;
+    }
+}
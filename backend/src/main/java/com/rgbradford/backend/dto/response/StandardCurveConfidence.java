@@ -0,0 +1,51 @@
+package com.rgbradford.backend.dto.response;
+
+import com.rgbradford.backend.entity.CurveModelType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StandardCurveConfidence {
+    private Long plateLayoutId;
+    private CurveModelType model;
+    private double confidenceLevel;
+    private int iterations;
+    // Refits that converged; the others are left out of the intervals
+    private int successfulIterations;
+    // Concentration band over the ratio range of the standards
+    private List<Interval> band;
+    private List<SampleInterval> samples;
+
+    // Bounds are null where fewer than half of the refits give a concentration for the ratio
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Interval {
+        private double blueToGreenRatio;
+        private Double concentration;
+        private Double lower;
+        private Double upper;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class SampleInterval {
+        private Long wellId;
+        private String position;
+        private String sampleName;
+        private double blueToGreenRatio;
+        private Double concentration;
+        private Double lower;
+        private Double upper;
+    }
+}
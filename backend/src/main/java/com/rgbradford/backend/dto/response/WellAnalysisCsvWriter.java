@@ -3,85 +3,223 @@ package com.rgbradford.backend.dto.response;
 import com.rgbradford.backend.dto.StandardCurveDto;
 import com.rgbradford.backend.dto.StandardCurvePointDto;
 import com.rgbradford.backend.dto.RegressionResultDto;
-import com.rgbradford.backend.entity.WellAnalysis;
+import com.rgbradford.backend.dto.projection.WellAnalysisRow;
 import com.rgbradford.backend.entity.WellType;
+import com.rgbradford.backend.util.FixedDecimalFormat;
+import com.rgbradford.backend.util.StandardCurveModels;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
+/**
+ * Writes plate results as CSV, one line at a time, to any {@link Writer}. Each line is assembled in a
+ * reused buffer and numbers are formatted without allocation, so memory use does not depend on the
+ * number of rows and rows can come straight from a database cursor.
+ */
 public class WellAnalysisCsvWriter {
+
+    private static final int DECIMALS = 4;
+
+    private final Writer out;
+    private final StringBuilder line = new StringBuilder(256);
+    private char[] chars = new char[256];
+
+    private WellAnalysisCsvWriter(Writer out) {
+        this.out = out;
+    }
+
     // Backward compatibility overload
-    public static String toCsvString(List<WellAnalysis> results) {
+    public static String toCsvString(List<WellAnalysisRow> results) {
         return toCsvString(results, null);
     }
 
-    public static String toCsvString(List<WellAnalysis> results, StandardCurveDto curve) {
-        StringBuilder csv = new StringBuilder();
-
-        // Section 1: Calibration Points (if provided)
-        if (curve != null && curve.getPoints() != null) {
-            List<StandardCurvePointDto> points = curve.getPoints();
-            csv.append("Calibration Points\n");
-            csv.append("BlueGreenRatio (x),Concentration (y)\n");
-            for (StandardCurvePointDto p : points) {
-                csv.append(formatDouble(p.getBlueToGreenRatio())).append(",")
-                   .append(formatDouble(p.getConcentration()))
-                   .append("\n");
-            }
-
-            // Slope/Intercept/R^2 if available
-            RegressionResultDto reg = curve.getRegression();
-            if (reg != null) {
-                csv.append("\n");
-                csv.append("Slope (m),").append(formatDouble(reg.getSlope())).append(",")
-                   .append("Intercept (b),").append(formatDouble(reg.getIntercept())).append(",")
-                   .append("R^2,").append(formatDouble(reg.getRSquared()))
-                   .append("\n");
-            }
+    public static String toCsvString(List<WellAnalysisRow> results, StandardCurveDto curve) {
+        return toCsvString(results, curve, null);
+    }
 
-            csv.append("\n");
+    public static String toCsvString(List<WellAnalysisRow> results, StandardCurveDto curve,
+                                     ReplicateGroupStatistics replicates) {
+        StringWriter csv = new StringWriter();
+        try {
+            write(csv, results.stream(), curve, replicates);
+        } catch (IOException e) {
+            // StringWriter does not throw
+            throw new UncheckedIOException(e);
         }
+        return csv.toString();
+    }
 
-        // Section 2: Well Analysis
-        csv.append("Well Analysis\n");
-        csv.append("Row,Column,BlueGreenRatio,CalculatedConcentration_mxb\n");
+    /**
+     * Writes the CSV. Rows are consumed once, in encounter order, and not retained. The writer is
+     * neither flushed nor closed.
+     * @param out Destination, ideally buffered
+     * @param results Analyzed wells ordered by row and column; only SAMPLE wells are written
+     * @param curve Standard curve for the calibration section and for rows without stored concentrations, or null
+     * @param replicates Replicate group statistics, or null
+     */
+    public static void write(Writer out, Stream<WellAnalysisRow> results, StandardCurveDto curve,
+                             ReplicateGroupStatistics replicates) throws IOException {
+        WellAnalysisCsvWriter csv = new WellAnalysisCsvWriter(out);
+        csv.writeCalibration(curve);
+        csv.writeWells(results.iterator(), curve != null ? curve.getRegression() : null);
+        csv.writeReplicateGroups(replicates);
+    }
+
+    // Section 1: Calibration Points (if provided)
+    private void writeCalibration(StandardCurveDto curve) throws IOException {
+        if (curve == null || curve.getPoints() == null) {
+            return;
+        }
+        writeLine("Calibration Points");
+        writeLine("BlueGreenRatio (x),Concentration (y)");
+        for (StandardCurvePointDto p : curve.getPoints()) {
+            appendDouble(p.getBlueToGreenRatio());
+            line.append(',');
+            appendDouble(p.getConcentration());
+            endLine();
+        }
 
-        Double m = null, b = null;
-        if (curve != null && curve.getRegression() != null) {
-            m = curve.getRegression().getSlope();
-            b = curve.getRegression().getIntercept();
+        // Slope/Intercept/R^2 if available (reference curves leave undefined values blank)
+        RegressionResultDto reg = curve.getRegression();
+        if (reg != null) {
+            endLine();
+            if (curve.getReferenceCurveId() != null) {
+                line.append("Reference Curve,");
+                appendField(curve.getReferenceCurveName());
+                endLine();
+            }
+            line.append("Slope (m),");
+            appendFinite(reg.getSlope());
+            line.append(",Intercept (b),");
+            appendFinite(reg.getIntercept());
+            line.append(",R^2,");
+            appendFinite(reg.getRSquared());
+            endLine();
+            if (reg.getModel() != null && reg.getParameters() != null) {
+                line.append("Model,").append(reg.getModel());
+                for (double parameter : reg.getParameters()) {
+                    line.append(',').append(parameter);
+                }
+                endLine();
+            }
         }
+        endLine();
+    }
+
+    // Section 2: Well Analysis
+    private void writeWells(Iterator<WellAnalysisRow> results, RegressionResultDto regression) throws IOException {
+        writeLine("Well Analysis");
+        writeLine("Row,Column,BlueGreenRatio,CalculatedConcentration_mxb,AdjustedConcentration");
 
-        for (WellAnalysis wa : results) {
+        // Column name kept for existing consumers; values follow the curve's model (m*x+b for LINEAR).
+        // Concentrations are stored after every curve fit; the curve is only evaluated for rows without them
+        while (results.hasNext()) {
+            WellAnalysisRow wa = results.next();
             // Include only SAMPLE wells; skip EMPTY and all other types
-            if (wa.getWell() == null || wa.getWell().getType() != WellType.SAMPLE) {
+            if (wa.getWellType() != WellType.SAMPLE) {
                 continue;
             }
             double ratio = wa.getBlueToGreenRatio() != null ? wa.getBlueToGreenRatio() : Double.NaN;
-            String calcConc;
-            if (m != null && b != null && !Double.isNaN(ratio)) {
-                calcConc = formatDouble(m * ratio + b);
+            double calcConc;
+            boolean hasCalc;
+            if (wa.getCalculatedConcentration() != null) {
+                calcConc = wa.getCalculatedConcentration();
+                hasCalc = true;
             } else {
-                // Fallback to stored value
-                calcConc = wa.getCalculatedConcentration() != null ? formatDouble(wa.getCalculatedConcentration()) : "";
+                calcConc = regression != null && !Double.isNaN(ratio)
+                        ? StandardCurveModels.concentration(regression, ratio) : Double.NaN;
+                hasCalc = !Double.isNaN(calcConc);
             }
 
             // Skip empty wells: neither ratio nor calculated concentration is available
-            boolean hasRatio = !Double.isNaN(ratio);
-            boolean hasCalc = calcConc != null && !calcConc.isEmpty();
-            if (!hasRatio && !hasCalc) {
+            if (Double.isNaN(ratio) && !hasCalc) {
                 continue;
             }
 
-            csv.append(wa.getWell().getRow()).append(",")
-               .append(wa.getWell().getColumn()).append(",")
-               .append(wa.getBlueToGreenRatio() != null ? formatDouble(wa.getBlueToGreenRatio()) : "").append(",")
-               .append(calcConc)
-               .append("\n");
+            line.append(wa.getRow()).append(',').append(wa.getColumn()).append(',');
+            appendDouble(wa.getBlueToGreenRatio());
+            line.append(',');
+            if (hasCalc) {
+                FixedDecimalFormat.append(line, calcConc, DECIMALS);
+            }
+            line.append(',');
+            appendDouble(wa.getAdjustedConcentration());
+            endLine();
+        }
+    }
+
+    // Section 3: Replicate Groups (if any wells are grouped)
+    private void writeReplicateGroups(ReplicateGroupStatistics replicates) throws IOException {
+        if (replicates == null || replicates.getGroups() == null || replicates.getGroups().isEmpty()) {
+            return;
+        }
+        endLine();
+        writeLine("Replicate Groups");
+        writeLine("Group,N,MeanRatio,SDRatio,CVRatio%,MeanConcentration,SDConcentration,CVConcentration%,"
+                + "MeanAdjustedConcentration,SDAdjustedConcentration,Outliers");
+        for (ReplicateGroupStatistics.Group group : replicates.getGroups()) {
+            appendField(group.getReplicateGroup());
+            line.append(',').append(group.getWellCount()).append(',');
+            appendStats(group.getRatio());
+            appendStats(group.getConcentration());
+            appendDouble(group.getAdjustedConcentration().getMean());
+            line.append(',');
+            appendDouble(group.getAdjustedConcentration().getSd());
+            line.append(',');
+            // Positions are space separated so the column stays a single CSV field
+            line.append(String.join(" ", group.getOutlierPositions()));
+            endLine();
+        }
+    }
+
+    // Group names are user input: quote them when they contain separators or quotes
+    private void appendField(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            line.append(value);
+            return;
+        }
+        line.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+
+    private void appendStats(ReplicateGroupStatistics.Stats stats) {
+        appendDouble(stats.getMean());
+        line.append(',');
+        appendDouble(stats.getSd());
+        line.append(',');
+        appendDouble(stats.getCvPercent());
+        line.append(',');
+    }
+
+    private void appendDouble(Double d) {
+        if (d != null) {
+            FixedDecimalFormat.append(line, d, DECIMALS);
+        }
+    }
+
+    private void appendFinite(double d) {
+        if (Double.isFinite(d)) {
+            FixedDecimalFormat.append(line, d, DECIMALS);
         }
-        return csv.toString();
     }
 
-    private static String formatDouble(Double d) {
-        if (d == null) return "";
-        return String.format("%.4f", d);
+    private void writeLine(String text) throws IOException {
+        line.append(text);
+        endLine();
+    }
+
+    private void endLine() throws IOException {
+        line.append('\n');
+        int length = line.length();
+        if (chars.length < length) {
+            chars = new char[Math.max(length, chars.length * 2)];
+        }
+        line.getChars(0, length, chars, 0);
+        out.write(chars, 0, length);
+        line.setLength(0);
     }
-} 
\ No newline at end of file
+}
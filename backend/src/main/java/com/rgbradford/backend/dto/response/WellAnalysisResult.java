@@ -20,6 +20,8 @@ public class WellAnalysisResult {
     private Integer blueValue;
     private Double blueToGreenRatio;
     private Double calculatedConcentration;
+    // Calculated concentration times the well's dilution factor
+    private Double adjustedConcentration;
     // Added for extended Bradford analysis
     private Double greenAbsorbance;
     private Double blueAbsorbance;
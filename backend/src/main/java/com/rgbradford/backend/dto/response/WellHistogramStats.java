@@ -0,0 +1,39 @@
+package com.rgbradford.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WellHistogramStats {
+    private Long wellId;
+    private int row;
+    private int column;
+    private String position;
+    private ChannelStats green;
+    private ChannelStats blue;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class ChannelStats {
+        private long pixelCount;
+        private double mean;
+        private int median;
+        private int p05;
+        private int p95;
+        // Fraction of pixels at or below 5 / at or above 250
+        private double clippedFraction;
+        // -log10(mean/255), as stored on WellAnalysis
+        private double absorbanceOfMean;
+        // Mean of the per-pixel absorbance
+        private double meanAbsorbance;
+        // Raw 256-bin counts; only filled when requested
+        private int[] bins;
+    }
+}
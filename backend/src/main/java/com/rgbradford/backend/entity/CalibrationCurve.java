@@ -5,6 +5,8 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.List;
 
 @Entity
@@ -13,18 +15,30 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "calibration-curves")
 public class CalibrationCurve {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
     //Mathematical parameters of the calibration curve (y = mx + b)
+    //For nonlinear models these hold the linear fit of the same points, for clients that only read m and b
     @Column(nullable = false)
     private Double slope; //m
 
     @Column(nullable = false)
     private Double intercept; //b
 
+    //Fitted model; null on curves stored before models were selectable, which are LINEAR
+    @Enumerated(EnumType.STRING)
+    @Column(name = "model_type", length = 16)
+    private CurveModelType modelType;
+
+    //Model parameters in the order documented on CurveModelType
+    @Convert(converter = DoubleArrayConverter.class)
+    @Column(name = "model_parameters", length = 512)
+    private double[] modelParameters;
+
     //Goodness of fit (R^2)
     @Column(name = "r_squared")
     private Double rSquared;
@@ -11,7 +11,9 @@ import lombok.*;
 @Builder
 public class CalibrationCurvePoint {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    //Pooled sequence (a table on databases without sequences) so points can be inserted in JDBC batches
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "calibration_curve_points_id_gen")
+    @SequenceGenerator(name = "calibration_curve_points_id_gen", sequenceName = "calibration_curve_points_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
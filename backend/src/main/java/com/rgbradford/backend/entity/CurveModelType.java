@@ -0,0 +1,20 @@
+package com.rgbradford.backend.entity;
+
+//Standard curve model. LINEAR regresses concentration on the blue/green ratio (y = mx + b); the
+//other models fit the ratio as a function of concentration and are inverted to read samples back
+public enum CurveModelType {
+    LINEAR(2),      //m, b
+    QUADRATIC(3),   //c0, c1, c2 in ratio = c0 + c1*x + c2*x^2
+    FOUR_PL(4),     //a, b, c, d in ratio = d + (a - d) / (1 + (x/c)^b)
+    FIVE_PL(5);     //a, b, c, d, g in ratio = d + (a - d) / (1 + (x/c)^b)^g
+
+    private final int parameterCount;
+
+    CurveModelType(int parameterCount) {
+        this.parameterCount = parameterCount;
+    }
+
+    public int getParameterCount() {
+        return parameterCount;
+    }
+}
@@ -0,0 +1,36 @@
+package com.rgbradford.backend.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.Arrays;
+
+//Stores a short double array as comma-separated text; Double.toString round-trips exactly
+@Converter
+public class DoubleArrayConverter implements AttributeConverter<double[], String> {
+
+    @Override
+    public String convertToDatabaseColumn(double[] values) {
+        if (values == null) {
+            return null;
+        }
+        StringBuilder text = new StringBuilder(values.length * 20);
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                text.append(',');
+            }
+            text.append(values[i]);
+        }
+        return text.toString();
+    }
+
+    @Override
+    public double[] convertToEntityAttribute(String text) {
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        return Arrays.stream(text.split(","))
+                .mapToDouble(value -> Double.parseDouble(value.trim()))
+                .toArray();
+    }
+}
@@ -5,6 +5,8 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -14,6 +16,7 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "plate-layouts")
 public class PlateLayout {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -25,6 +28,7 @@ public class PlateLayout {
     @Column(nullable = false)
     private int columns;
 
+    //Deliberately not collection-cached: wells are usually saved through WellRepository without touching this list
     @OneToMany(mappedBy = "plateLayout", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
     private List<Well> wells = new ArrayList<>();
@@ -33,6 +37,26 @@ public class PlateLayout {
     @OneToOne(mappedBy = "plateLayout", cascade = CascadeType.ALL, orphanRemoval = true)
     private CalibrationCurve calibrationCurve;
 
+    //SHA-256 of the last analyzed plate image (see PlateImageStorageService)
+    @Column(name = "image_hash", length = 64)
+    private String imageHash;
+
+    //Grid parameters (PlateAnalysisParams as JSON) used for the last analysis
+    @Column(name = "analysis_params", length = 512)
+    private String analysisParams;
+
+    //Incremented every time analysis results are rewritten; used to key derived caches
+    @Column(name = "analysis_version")
+    private Long analysisVersion;
+
+    //Incremented every time stored concentrations are rewritten (curve fits, reference curves, dilution edits); keys result caches together with analysisVersion
+    @Column(name = "concentration_version")
+    private Long concentrationVersion;
+
+    //Shared ReferenceCurve used for concentrations instead of the plate's own curve (plain ID: many plates share one)
+    @Column(name = "reference_curve_id")
+    private Long referenceCurveId;
+
     //One project per plate layout
     @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "project_id", nullable = false)
@@ -0,0 +1,43 @@
+package com.rgbradford.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+@Entity
+@Table(name = "plate_result_snapshots")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PlateResultSnapshot {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    //Plain ID instead of an association so loading a plate layout never touches the snapshot blob
+    @Column(name = "plate_layout_id", nullable = false, unique = true)
+    private Long plateLayoutId;
+
+    //PlateLayout.analysisVersion the snapshot was built from; any other version means it is stale
+    @Column(name = "analysis_version", nullable = false)
+    private Long analysisVersion;
+
+    //PlateLayout.concentrationVersion the snapshot was built from (null counts as 0, as on the plate)
+    @Column(name = "concentration_version")
+    private Long concentrationVersion;
+
+    //PlateResultSnapshotCodec format the data was written with
+    @Column(name = "format_version", nullable = false)
+    private Integer formatVersion;
+
+    @Column(name = "well_count", nullable = false)
+    private Integer wellCount;
+
+    //All analyzed wells of the plate, columnar and Deflate-compressed (see PlateResultSnapshotCodec)
+    @Lob
+    @Column(nullable = false)
+    private byte[] data;
+}
@@ -0,0 +1,70 @@
+package com.rgbradford.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "recalculation_jobs")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RecalculationJob {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    //Plain IDs instead of associations so progress updates never load the owner's projects
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    //Null recalculates the plate layouts of all of the user's projects
+    @Column(name = "project_id")
+    private Long projectId;
+
+    //Model to refit with; null keeps each plate's current model
+    @Enumerated(EnumType.STRING)
+    @Column(name = "model_type", length = 16)
+    private CurveModelType modelType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private RecalculationJobStatus status;
+
+    //Plate layouts in scope when the job was created
+    @Column(name = "total_plates", nullable = false)
+    private int totalPlates;
+
+    @Column(name = "processed_plates", nullable = false)
+    private int processedPlates;
+
+    //Processed plates whose curve could not be fitted (no standards, fit did not converge, ...)
+    @Column(name = "failed_plates", nullable = false)
+    private int failedPlates;
+
+    //Plates are processed in ID order and progress is saved per chunk: every plate up to this ID is done
+    @Column(name = "last_plate_layout_id")
+    private Long lastPlateLayoutId;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime finishedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,9 @@
+package com.rgbradford.backend.entity;
+
+//QUEUED and RUNNING jobs are picked up again after a restart; COMPLETED jobs may still have failed plates
+public enum RecalculationJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,58 @@
+package com.rgbradford.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "reference_curves")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReferenceCurve {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 100)
+    private String name;
+
+    //Owner; plain IDs like RecalculationJob so plates and curves never load each other's graphs
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    //Project the curve belongs to; null makes it available to all of the owner's projects
+    @Column(name = "project_id")
+    private Long projectId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "model_type", nullable = false, length = 16)
+    private CurveModelType modelType;
+
+    //Same layout as CalibrationCurve.modelParameters (LINEAR: m, b)
+    @Convert(converter = DoubleArrayConverter.class)
+    @Column(name = "model_parameters", nullable = false, length = 512)
+    private double[] modelParameters;
+
+    //Plate whose fitted curve was copied, if the curve was not entered by hand
+    @Column(name = "source_plate_layout_id")
+    private Long sourcePlateLayoutId;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+}
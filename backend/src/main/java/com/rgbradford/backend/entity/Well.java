@@ -5,6 +5,8 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "wells")
@@ -12,9 +14,12 @@ import lombok.Builder;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "wells")
 public class Well {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    //Pooled sequence (a table on databases without sequences) so wells can be inserted in JDBC batches
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "wells_id_gen")
+    @SequenceGenerator(name = "wells_id_gen", sequenceName = "wells_seq", allocationSize = 50)
     private Long id;
 
     //Position of the well on the plate
@@ -14,7 +14,9 @@ import lombok.Builder;
 @Builder
 public class WellAnalysis {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    //Pooled sequence (a table on databases without sequences) so analyses can be inserted in JDBC batches
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "well_analyses_id_gen")
+    @SequenceGenerator(name = "well_analyses_id_gen", sequenceName = "well_analyses_seq", allocationSize = 50)
     private Long id;
 
     @OneToOne(fetch = FetchType.LAZY)
@@ -28,10 +30,19 @@ public class WellAnalysis {
     //Calculated ratios and concentrations
     private Double blueToGreenRatio;
     private Double calculatedConcentration;
+    //Calculated concentration times the well's dilution factor (both written by ConcentrationService)
+    private Double adjustedConcentration;
     // Extended Bradford analysis fields
     private Double greenAbsorbance;
     private Double blueAbsorbance;
     private Double absorbanceRatio;
     private Integer pixelCount;
 
+    //256-bin green/blue histograms of the measured pixels (see HistogramCodec)
+    @Column(name = "green_histogram", length = 2048)
+    private byte[] greenHistogram;
+
+    @Column(name = "blue_histogram", length = 2048)
+    private byte[] blueHistogram;
+
 } 
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.rgbradford.backend.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Published whenever data derived caches depend on changes for a plate layout. Listeners should use
+ * {@code @TransactionalEventListener} so they only react once the change is committed.
+ */
+@Data
+@AllArgsConstructor
+public class PlateDataChangedEvent {
+
+    public enum Change {
+        //Well type, position, standard concentration or sample metadata edited, or wells added/removed
+        WELLS,
+        //Analysis results written, replaced or deleted
+        ANALYSIS,
+        //Stored calibration curve recalculated
+        CALIBRATION_CURVE,
+        //Plate layout deleted
+        PLATE_DELETED
+    }
+
+    private final Long plateLayoutId;
+    private final Change change;
+}
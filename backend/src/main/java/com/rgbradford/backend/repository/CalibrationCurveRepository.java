@@ -1,7 +1,10 @@
 package com.rgbradford.backend.repository;
 
 import com.rgbradford.backend.entity.CalibrationCurve;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 import java.util.Optional;
@@ -10,7 +13,8 @@ import java.util.Optional;
 public interface CalibrationCurveRepository extends JpaRepository<CalibrationCurve, Long> {
     
     
-    //Find calibration curve for a specific plate layout
+    //Find calibration curve for a specific plate layout (query-cached; curves are only written through Hibernate)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<CalibrationCurve> findByPlateLayoutId(Long plateLayoutId);
 
     //Find calibration curves by project ID (through plate layouts)
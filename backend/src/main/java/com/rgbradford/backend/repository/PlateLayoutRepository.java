@@ -1,7 +1,10 @@
 package com.rgbradford.backend.repository;
 
 import com.rgbradford.backend.entity.PlateLayout;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 
@@ -16,4 +19,20 @@ public interface PlateLayoutRepository extends JpaRepository<PlateLayout, Long>
     
     //Find plate layouts by dimensions
     List<PlateLayout> findByRowsAndColumns(int rows, int columns);
+
+    //Next chunk of a user's plate layout IDs after a cursor, in ID order (null project ID = all projects)
+    @Query("SELECT p.id FROM PlateLayout p WHERE p.project.user.id = :userId " +
+           "AND (:projectId IS NULL OR p.project.id = :projectId) AND p.id > :afterId ORDER BY p.id")
+    List<Long> findIdsByOwnerAfter(@Param("userId") Long userId, @Param("projectId") Long projectId,
+                                   @Param("afterId") Long afterId, Pageable pageable);
+
+    //Plates whose concentrations come from a reference curve
+    @Query("SELECT p.id FROM PlateLayout p WHERE p.referenceCurveId = :referenceCurveId ORDER BY p.id")
+    List<Long> findIdsByReferenceCurveId(@Param("referenceCurveId") Long referenceCurveId);
+
+    boolean existsByIdAndProjectUserId(Long id, Long userId);
+
+    @Query("SELECT COUNT(p) FROM PlateLayout p WHERE p.project.user.id = :userId " +
+           "AND (:projectId IS NULL OR p.project.id = :projectId)")
+    long countByOwner(@Param("userId") Long userId, @Param("projectId") Long projectId);
 } 
\ No newline at end of file
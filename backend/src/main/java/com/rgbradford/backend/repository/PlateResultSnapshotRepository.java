@@ -0,0 +1,32 @@
+package com.rgbradford.backend.repository;
+
+import com.rgbradford.backend.entity.PlateResultSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@Repository
+public interface PlateResultSnapshotRepository extends JpaRepository<PlateResultSnapshot, Long> {
+
+    Optional<PlateResultSnapshot> findByPlateLayoutId(Long plateLayoutId);
+
+    //Snapshot of the plate's current analysis run and concentrations only (one statement, no separate version lookup)
+    @Query("""
+        SELECT s FROM PlateResultSnapshot s, PlateLayout p
+        WHERE s.plateLayoutId = :plateLayoutId
+          AND p.id = s.plateLayoutId
+          AND s.analysisVersion = p.analysisVersion
+          AND COALESCE(s.concentrationVersion, 0) = COALESCE(p.concentrationVersion, 0)
+        """)
+    Optional<PlateResultSnapshot> findCurrent(@Param("plateLayoutId") Long plateLayoutId);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM PlateResultSnapshot s WHERE s.plateLayoutId = :plateLayoutId")
+    int deleteByPlateLayoutId(@Param("plateLayoutId") Long plateLayoutId);
+}
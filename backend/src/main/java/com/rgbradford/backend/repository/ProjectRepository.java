@@ -19,6 +19,9 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
     // Find a project by ID and user email
     @Query("SELECT p FROM Project p JOIN p.user u WHERE p.id = :id AND u.email = :email")
     Optional<Project> findByIdAndUser_Email(@Param("id") Long id, @Param("email") String email);
+
+    // Ownership check without loading the project
+    boolean existsByIdAndUserId(Long id, Long userId);
     
     // Find all projects for a specific user with pagination
     @Query("SELECT p FROM Project p WHERE p.user.id = :userId")
@@ -0,0 +1,25 @@
+package com.rgbradford.backend.repository;
+
+import com.rgbradford.backend.entity.RecalculationJob;
+import com.rgbradford.backend.entity.RecalculationJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RecalculationJobRepository extends JpaRepository<RecalculationJob, Long> {
+
+    Optional<RecalculationJob> findByIdAndUserId(Long id, Long userId);
+
+    List<RecalculationJob> findByUserIdOrderByIdDesc(Long userId);
+
+    // Unfinished jobs to resume on startup, oldest first
+    List<RecalculationJob> findByStatusInOrderByIdAsc(Collection<RecalculationJobStatus> statuses);
+
+    // An unfinished job of the same user and scope (a null project ID matches user-wide jobs)
+    Optional<RecalculationJob> findFirstByUserIdAndProjectIdAndStatusIn(Long userId, Long projectId,
+                                                                        Collection<RecalculationJobStatus> statuses);
+}
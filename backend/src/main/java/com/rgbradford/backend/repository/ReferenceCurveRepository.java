@@ -0,0 +1,21 @@
+package com.rgbradford.backend.repository;
+
+import com.rgbradford.backend.entity.ReferenceCurve;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ReferenceCurveRepository extends JpaRepository<ReferenceCurve, Long> {
+
+    Optional<ReferenceCurve> findByIdAndUserId(Long id, Long userId);
+
+    // Curves usable in a project: the project's own plus the user-wide ones (null project ID = all of the user's curves)
+    @Query("SELECT r FROM ReferenceCurve r WHERE r.userId = :userId " +
+           "AND (:projectId IS NULL OR r.projectId IS NULL OR r.projectId = :projectId) ORDER BY r.name")
+    List<ReferenceCurve> findAvailable(@Param("userId") Long userId, @Param("projectId") Long projectId);
+}
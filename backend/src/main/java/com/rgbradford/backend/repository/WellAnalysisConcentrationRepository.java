@@ -0,0 +1,70 @@
+package com.rgbradford.backend.repository;
+
+import com.rgbradford.backend.dto.projection.WellAnalysisRow;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * Writes concentrations computed in Java (nonlinear standard curves, which have no portable SQL form)
+ * as one JDBC batch; the MySQL driver rewrites it into multi-row statements.
+ *
+ * Like {@link WellAnalysisUpsertRepository} this bypasses the persistence context: callers must flush
+ * pending changes first and must not rely on managed WellAnalysis instances afterwards.
+ */
+@Repository
+public class WellAnalysisConcentrationRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Identifiers are quoted like Hibernate quotes them (globally quoted in some configurations)
+    private volatile String sql;
+
+    public WellAnalysisConcentrationRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @param rows Analyses by ID with their new calculated and adjusted concentrations (null clears a value)
+     */
+    public void updateConcentrations(List<WellAnalysisRow> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(resolveSql(), rows, BATCH_SIZE, (ps, row) -> {
+            setDouble(ps, 1, row.getCalculatedConcentration());
+            setDouble(ps, 2, row.getAdjustedConcentration());
+            ps.setLong(3, row.getId());
+        });
+    }
+
+    private String resolveSql() {
+        if (sql == null) {
+            sql = jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+                DatabaseMetaData metaData = connection.getMetaData();
+                String quoteString = metaData.getIdentifierQuoteString();
+                String quote = quoteString == null || quoteString.isBlank() ? "" : quoteString.trim();
+                return "UPDATE " + quote + "well_analyses" + quote
+                        + " SET " + quote + "calculated_concentration" + quote + " = ?, "
+                        + quote + "adjusted_concentration" + quote + " = ? WHERE " + quote + "id" + quote + " = ?";
+            });
+        }
+        return sql;
+    }
+
+    private static void setDouble(PreparedStatement ps, int index, Double value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.DOUBLE);
+        } else {
+            ps.setDouble(index, value);
+        }
+    }
+}
@@ -1,12 +1,22 @@
 package com.rgbradford.backend.repository;
 
+import com.rgbradford.backend.dto.projection.WellAnalysisRow;
+import com.rgbradford.backend.dto.projection.WellHistogramRow;
+import com.rgbradford.backend.dto.projection.WellTypeAggregate;
 import com.rgbradford.backend.entity.WellAnalysis;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface WellAnalysisRepository extends JpaRepository<WellAnalysis, Long> {
@@ -34,4 +44,112 @@ public interface WellAnalysisRepository extends JpaRepository<WellAnalysis, Long
 
     @Query("SELECT wa FROM WellAnalysis wa WHERE wa.well.plateLayout.id = :plateLayoutId")
     List<WellAnalysis> findByPlateLayoutId(@Param("plateLayoutId") Long plateLayoutId);
+
+    //Flat rows of all non-EMPTY analyzed wells of a plate in one statement (no entity loading)
+    @Query("""
+        SELECT new com.rgbradford.backend.dto.projection.WellAnalysisRow(
+            wa.id, w.id, w.row, w.column, w.position, w.type, w.sampleName, w.dilutionFactor, w.replicateGroup,
+            wa.greenValue, wa.blueValue, wa.blueToGreenRatio, wa.calculatedConcentration, wa.adjustedConcentration,
+            wa.greenAbsorbance, wa.blueAbsorbance, wa.absorbanceRatio, wa.pixelCount)
+        FROM WellAnalysis wa JOIN wa.well w
+        WHERE w.plateLayout.id = :plateLayoutId AND w.type <> com.rgbradford.backend.entity.WellType.EMPTY
+        ORDER BY w.row, w.column
+        """)
+    List<WellAnalysisRow> findRowsByPlateLayoutId(@Param("plateLayoutId") Long plateLayoutId);
+
+    //Same rows read through a cursor for exports; the stream must be consumed and closed inside a transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+        SELECT new com.rgbradford.backend.dto.projection.WellAnalysisRow(
+            wa.id, w.id, w.row, w.column, w.position, w.type, w.sampleName, w.dilutionFactor, w.replicateGroup,
+            wa.greenValue, wa.blueValue, wa.blueToGreenRatio, wa.calculatedConcentration, wa.adjustedConcentration,
+            wa.greenAbsorbance, wa.blueAbsorbance, wa.absorbanceRatio, wa.pixelCount)
+        FROM WellAnalysis wa JOIN wa.well w
+        WHERE w.plateLayout.id = :plateLayoutId AND w.type <> com.rgbradford.backend.entity.WellType.EMPTY
+        ORDER BY w.row, w.column
+        """)
+    Stream<WellAnalysisRow> streamRowsByPlateLayoutId(@Param("plateLayoutId") Long plateLayoutId);
+
+    //Same rows for every plate attached to a reference curve
+    @Query("""
+        SELECT new com.rgbradford.backend.dto.projection.WellAnalysisRow(
+            wa.id, w.id, w.row, w.column, w.position, w.type, w.sampleName, w.dilutionFactor, w.replicateGroup,
+            wa.greenValue, wa.blueValue, wa.blueToGreenRatio, wa.calculatedConcentration, wa.adjustedConcentration,
+            wa.greenAbsorbance, wa.blueAbsorbance, wa.absorbanceRatio, wa.pixelCount)
+        FROM WellAnalysis wa JOIN wa.well w
+        WHERE w.plateLayout.referenceCurveId = :referenceCurveId
+          AND w.type <> com.rgbradford.backend.entity.WellType.EMPTY
+        """)
+    List<WellAnalysisRow> findRowsByReferenceCurveId(@Param("referenceCurveId") Long referenceCurveId);
+
+    //Stored histograms of all non-EMPTY analyzed wells of a plate
+    @Query("""
+        SELECT new com.rgbradford.backend.dto.projection.WellHistogramRow(
+            w.id, w.row, w.column, w.position, wa.greenHistogram, wa.blueHistogram)
+        FROM WellAnalysis wa JOIN wa.well w
+        WHERE w.plateLayout.id = :plateLayoutId AND w.type <> com.rgbradford.backend.entity.WellType.EMPTY
+          AND wa.greenHistogram IS NOT NULL AND wa.blueHistogram IS NOT NULL
+        ORDER BY w.row, w.column
+        """)
+    List<WellHistogramRow> findHistogramsByPlateLayoutId(@Param("plateLayoutId") Long plateLayoutId);
+
+    //Per-plate, per-type counts and concentration aggregates of the non-EMPTY analyzed wells
+    @Query("""
+        SELECT new com.rgbradford.backend.dto.projection.WellTypeAggregate(
+            w.plateLayout.id, w.type, COUNT(wa), MIN(wa.calculatedConcentration), MAX(wa.calculatedConcentration),
+            SUM(wa.calculatedConcentration), COUNT(wa.calculatedConcentration))
+        FROM WellAnalysis wa JOIN wa.well w
+        WHERE w.plateLayout.id IN :plateLayoutIds AND w.type <> com.rgbradford.backend.entity.WellType.EMPTY
+        GROUP BY w.plateLayout.id, w.type
+        """)
+    List<WellTypeAggregate> aggregateByPlateLayoutIds(@Param("plateLayoutIds") Collection<Long> plateLayoutIds);
+
+    /**
+     * Writes y = m*x + b concentrations and their dilution-adjusted values for all analyses of a plate in one
+     * statement; the dilution factor is read from each analysis' well (no factor counts as 1).
+     * @return Number of updated analyses
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+        UPDATE WellAnalysis wa
+        SET wa.calculatedConcentration = :slope * wa.blueToGreenRatio + :intercept,
+            wa.adjustedConcentration = (:slope * wa.blueToGreenRatio + :intercept)
+                * COALESCE((SELECT w.dilutionFactor FROM Well w WHERE w.id = wa.well.id), 1.0)
+        WHERE wa.well.id IN (SELECT w.id FROM Well w WHERE w.plateLayout.id = :plateLayoutId)
+        """)
+    int updateLinearConcentrations(@Param("plateLayoutId") Long plateLayoutId,
+                                   @Param("slope") double slope, @Param("intercept") double intercept);
+
+    //Linear concentrations for every plate attached to a reference curve, in one statement
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+        UPDATE WellAnalysis wa
+        SET wa.calculatedConcentration = :slope * wa.blueToGreenRatio + :intercept,
+            wa.adjustedConcentration = (:slope * wa.blueToGreenRatio + :intercept)
+                * COALESCE((SELECT w.dilutionFactor FROM Well w WHERE w.id = wa.well.id), 1.0)
+        WHERE wa.well.id IN (SELECT w.id FROM Well w WHERE w.plateLayout.referenceCurveId = :referenceCurveId)
+        """)
+    int updateLinearConcentrationsByReferenceCurve(@Param("referenceCurveId") Long referenceCurveId,
+                                                   @Param("slope") double slope, @Param("intercept") double intercept);
+
+    //Clears the concentrations of a plate whose standard curve is gone
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+        UPDATE WellAnalysis wa SET wa.calculatedConcentration = NULL, wa.adjustedConcentration = NULL
+        WHERE wa.well.id IN (SELECT w.id FROM Well w WHERE w.plateLayout.id = :plateLayoutId)
+        """)
+    int clearConcentrations(@Param("plateLayoutId") Long plateLayoutId);
+
+    /**
+     * Deletes all analyses of a plate in one statement. Pending changes are flushed first and the
+     * persistence context is cleared afterwards, so no stale WellAnalysis instances stay attached to wells.
+     * @return Number of deleted analyses
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM WellAnalysis wa WHERE wa.well.id IN (SELECT w.id FROM Well w WHERE w.plateLayout.id = :plateLayoutId)")
+    int deleteByPlateLayoutId(@Param("plateLayoutId") Long plateLayoutId);
 } 
\ No newline at end of file
@@ -0,0 +1,204 @@
+package com.rgbradford.backend.repository;
+
+import com.rgbradford.backend.entity.WellAnalysis;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.Generator;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.DatabaseMetaData;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Writes many well analyses with one multi-row upsert statement per chunk, keyed by well_id.
+ * Emits MERGE on SQL Server and H2, INSERT ... ON DUPLICATE KEY UPDATE on MySQL (with a row alias,
+ * 8.0.19+) and MariaDB (with VALUES(), which MariaDB still requires) and INSERT ... ON CONFLICT on PostgreSQL.
+ *
+ * This bypasses the persistence context: callers must flush pending entity changes (e.g. newly created
+ * wells) before calling it and must not rely on managed WellAnalysis instances afterwards.
+ */
+@Repository
+public class WellAnalysisUpsertRepository {
+
+    // SQL Server accepts at most 2100 parameters per statement
+    private static final int MAX_PARAMETERS = 2000;
+
+    private static final String TABLE = "well_analyses";
+
+    // Columns written by an upsert; calculated and adjusted concentrations are left alone and owned by ConcentrationService
+    private static final List<Column> COLUMNS = List.of(
+            new Column("id", "BIGINT", WellAnalysis::getId),
+            new Column("well_id", "BIGINT", wa -> wa.getWell().getId()),
+            new Column("green_value", "INT", WellAnalysis::getGreenValue),
+            new Column("blue_value", "INT", WellAnalysis::getBlueValue),
+            new Column("blue_to_green_ratio", "FLOAT", WellAnalysis::getBlueToGreenRatio),
+            new Column("green_absorbance", "FLOAT", WellAnalysis::getGreenAbsorbance),
+            new Column("blue_absorbance", "FLOAT", WellAnalysis::getBlueAbsorbance),
+            new Column("absorbance_ratio", "FLOAT", WellAnalysis::getAbsorbanceRatio),
+            new Column("pixel_count", "INT", WellAnalysis::getPixelCount),
+            new Column("green_histogram", "VARBINARY(2048)", WellAnalysis::getGreenHistogram),
+            new Column("blue_histogram", "VARBINARY(2048)", WellAnalysis::getBlueHistogram)
+    );
+
+    private enum Dialect { MERGE, MYSQL, MARIADB, POSTGRESQL }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private volatile Dialect dialect;
+    private volatile String quote;
+
+    public WellAnalysisUpsertRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Inserts or updates the given analyses. Analyses without an ID get one from the entity's
+     * Hibernate ID generator (so IDs stay consistent with entities saved through JPA).
+     * Must run inside a transaction.
+     * @param analyses Analyses whose well is already persisted
+     * @return Number of statements executed
+     */
+    public int upsert(List<WellAnalysis> analyses) {
+        if (analyses.isEmpty()) {
+            return 0;
+        }
+        assignMissingIds(analyses);
+        resolveDialect();
+
+        int chunkSize = MAX_PARAMETERS / COLUMNS.size();
+        int statements = 0;
+        for (int from = 0; from < analyses.size(); from += chunkSize) {
+            List<WellAnalysis> chunk = analyses.subList(from, Math.min(analyses.size(), from + chunkSize));
+            Object[] args = new Object[chunk.size() * COLUMNS.size()];
+            int i = 0;
+            for (WellAnalysis wa : chunk) {
+                for (Column column : COLUMNS) {
+                    args[i++] = column.value.apply(wa);
+                }
+            }
+            jdbcTemplate.update(buildSql(chunk.size()), args);
+            statements++;
+        }
+        return statements;
+    }
+
+    private void assignMissingIds(List<WellAnalysis> analyses) {
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        EntityPersister persister = session.getFactory().getMappingMetamodel().getEntityDescriptor(WellAnalysis.class);
+        Generator generator = persister.getGenerator();
+        if (!(generator instanceof BeforeExecutionGenerator idGenerator)) {
+            throw new IllegalStateException("WellAnalysis IDs must be generated before insert for bulk upserts");
+        }
+        for (WellAnalysis wa : analyses) {
+            if (wa.getId() == null) {
+                wa.setId((Long) idGenerator.generate(session, wa, null, EventType.INSERT));
+            }
+        }
+    }
+
+    private String buildSql(int rows) {
+        return switch (dialect) {
+            case MERGE -> buildMerge(rows);
+            case MYSQL -> buildInsert(rows, false) + " AS new ON DUPLICATE KEY UPDATE " + updateList(c -> "new." + q(c));
+            case MARIADB -> buildInsert(rows, false) + " ON DUPLICATE KEY UPDATE " + updateList(c -> "VALUES(" + q(c) + ")");
+            case POSTGRESQL -> buildInsert(rows, false) + " ON CONFLICT (" + q("well_id") + ") DO UPDATE SET " + updateList(c -> "EXCLUDED." + q(c));
+        };
+    }
+
+    private String buildMerge(int rows) {
+        String columnList = String.join(", ", COLUMNS.stream().map(c -> q(c.name)).toList());
+        StringBuilder sql = new StringBuilder("MERGE INTO ").append(q(TABLE)).append(" t USING (VALUES ");
+        appendValueRows(sql, rows, true);
+        sql.append(") AS s (").append(columnList).append(") ON t.").append(q("well_id")).append(" = s.").append(q("well_id"))
+           .append(" WHEN MATCHED THEN UPDATE SET ").append(updateList(c -> "s." + q(c)))
+           .append(" WHEN NOT MATCHED THEN INSERT (").append(columnList).append(") VALUES (")
+           .append(String.join(", ", COLUMNS.stream().map(c -> "s." + q(c.name)).toList()))
+           .append(");");
+        return sql.toString();
+    }
+
+    private String buildInsert(int rows, boolean cast) {
+        StringBuilder sql = new StringBuilder("INSERT INTO ").append(q(TABLE)).append(" (")
+                .append(String.join(", ", COLUMNS.stream().map(c -> q(c.name)).toList()))
+                .append(") VALUES ");
+        appendValueRows(sql, rows, cast);
+        return sql.toString();
+    }
+
+    // MERGE source rows carry explicit types so NULLs and byte arrays bind the same way on every row
+    private void appendValueRows(StringBuilder sql, int rows, boolean cast) {
+        for (int r = 0; r < rows; r++) {
+            sql.append(r == 0 ? "(" : ", (");
+            for (int c = 0; c < COLUMNS.size(); c++) {
+                if (c > 0) {
+                    sql.append(", ");
+                }
+                sql.append(cast ? "CAST(? AS " + COLUMNS.get(c).sqlType + ")" : "?");
+            }
+            sql.append(")");
+        }
+    }
+
+    // SET list for every column except the keys
+    private String updateList(Function<String, String> source) {
+        List<String> assignments = new ArrayList<>();
+        for (Column column : COLUMNS) {
+            if (!column.name.equals("id") && !column.name.equals("well_id")) {
+                assignments.add(q(column.name) + " = " + source.apply(column.name));
+            }
+        }
+        return String.join(", ", assignments);
+    }
+
+    private String q(String identifier) {
+        return quote + identifier + quote;
+    }
+
+    private void resolveDialect() {
+        if (dialect != null) {
+            return;
+        }
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            String product = metaData.getDatabaseProductName().toLowerCase(Locale.ROOT);
+            String quoteString = metaData.getIdentifierQuoteString();
+            quote = quoteString == null || quoteString.isBlank() ? "" : quoteString.trim();
+            if (product.contains("mariadb")) {
+                dialect = Dialect.MARIADB;
+            } else if (product.contains("mysql")) {
+                dialect = Dialect.MYSQL;
+            } else if (product.contains("postgres")) {
+                dialect = Dialect.POSTGRESQL;
+            } else if (product.contains("sql server") || product.contains("h2")) {
+                dialect = Dialect.MERGE;
+            } else {
+                throw new IllegalStateException("Bulk upsert not supported for database: " + metaData.getDatabaseProductName());
+            }
+            return null;
+        });
+    }
+
+    private static class Column {
+        private final String name;
+        private final String sqlType;
+        private final Function<WellAnalysis, Object> value;
+
+        private Column(String name, String sqlType, Function<WellAnalysis, Object> value) {
+            this.name = name;
+            this.sqlType = sqlType;
+            this.value = value;
+        }
+    }
+}
@@ -2,11 +2,14 @@ package com.rgbradford.backend.repository;
 
 import com.rgbradford.backend.entity.Well;
 import com.rgbradford.backend.entity.WellType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
@@ -15,22 +18,35 @@ import java.util.Optional;
 @Repository
 public interface WellRepository extends JpaRepository<Well, Long> {
     
+    //Well-only lookups are query-cached: they are invalidated by any Hibernate write to wells, which is
+    //the only way wells change (queries joining well_analyses are not cached since that table is also
+    //written through JDBC, see WellAnalysisUpsertRepository)
+
     //Find all wells for a specific plate layout
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Well> findByPlateLayoutId(Long plateLayoutId);
     
     //Find wells by plate layout ID and order by position
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Well> findByPlateLayoutIdOrderByRowAscColumnAsc(Long plateLayoutId);
     
     //Find wells by type within a plate layout
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Well> findByPlateLayoutIdAndType(Long plateLayoutId, WellType type);
     
     //Find standard wells for a plate layout (for calibration)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Well> findByPlateLayoutIdAndTypeOrderByStandardConcentrationAsc(Long plateLayoutId, WellType type);
     
     //Find sample wells for a plate layout
     List<Well> findByPlateLayoutIdAndTypeOrderBySampleNameAsc(Long plateLayoutId, WellType type);
     
+    //Load all wells of a plate with their analysis in a single query
+    @Query("SELECT w FROM Well w LEFT JOIN FETCH w.wellAnalysis WHERE w.plateLayout.id = :plateLayoutId")
+    List<Well> findByPlateLayoutIdWithAnalysis(@Param("plateLayoutId") Long plateLayoutId);
+
     //Find well by position in a plate layout
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Well> findByPlateLayoutIdAndRowAndColumn(Long plateLayoutId, int row, int column);
     
     //Find wells by sample name
@@ -61,6 +77,8 @@ public interface WellRepository extends JpaRepository<Well, Long> {
      * Single bulk update using SQL Server CASE statement - most efficient option
      */
     @Modifying
+    //Declares the touched table so Hibernate only invalidates cached wells instead of every cache region
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "wells"))
     @Query(value = """
         UPDATE wells 
         SET type = CASE 
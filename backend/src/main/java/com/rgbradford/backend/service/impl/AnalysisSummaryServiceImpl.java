@@ -0,0 +1,97 @@
+package com.rgbradford.backend.service.impl;
+
+import com.rgbradford.backend.dto.projection.WellTypeAggregate;
+import com.rgbradford.backend.dto.response.PlateAnalysisSummary;
+import com.rgbradford.backend.repository.WellAnalysisRepository;
+import com.rgbradford.backend.service.interfaces.AnalysisSummaryService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Service
+public class AnalysisSummaryServiceImpl implements AnalysisSummaryService {
+
+    // Keeps the IN list well below SQL Server's 2100 parameter limit
+    private static final int IDS_PER_QUERY = 1000;
+
+    private final WellAnalysisRepository wellAnalysisRepository;
+
+    @Value("${analysis-summary.max-plates:500}")
+    private int maxPlates;
+
+    public AnalysisSummaryServiceImpl(WellAnalysisRepository wellAnalysisRepository) {
+        this.wellAnalysisRepository = wellAnalysisRepository;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<PlateAnalysisSummary> getSummary(Long plateLayoutId) {
+        return Optional.ofNullable(getSummaries(List.of(plateLayoutId)).get(plateLayoutId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, PlateAnalysisSummary> getSummaries(Collection<Long> plateLayoutIds) {
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(plateLayoutIds));
+        if (ids.size() > maxPlates) {
+            throw new IllegalArgumentException("At most " + maxPlates + " plate layouts can be summarized at once");
+        }
+
+        Map<Long, List<WellTypeAggregate>> byPlate = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += IDS_PER_QUERY) {
+            List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + IDS_PER_QUERY));
+            for (WellTypeAggregate aggregate : wellAnalysisRepository.aggregateByPlateLayoutIds(chunk)) {
+                byPlate.computeIfAbsent(aggregate.getPlateLayoutId(), id -> new ArrayList<>()).add(aggregate);
+            }
+        }
+
+        Map<Long, PlateAnalysisSummary> summaries = new LinkedHashMap<>();
+        for (Long id : ids) {
+            List<WellTypeAggregate> aggregates = byPlate.get(id);
+            if (aggregates != null) {
+                summaries.put(id, toSummary(id, aggregates));
+            }
+        }
+        return summaries;
+    }
+
+    // Folds the per-type groups of one plate into the plate-wide summary
+    private static PlateAnalysisSummary toSummary(Long plateLayoutId, List<WellTypeAggregate> aggregates) {
+        long totalWells = 0;
+        long count = 0;
+        double sum = 0;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        Map<String, Long> wellTypeCounts = new HashMap<>();
+        for (WellTypeAggregate aggregate : aggregates) {
+            totalWells += aggregate.getWellCount();
+            wellTypeCounts.put(aggregate.getWellType().toString(), aggregate.getWellCount());
+            if (aggregate.getConcentrationCount() != null && aggregate.getConcentrationCount() > 0) {
+                count += aggregate.getConcentrationCount();
+                sum += aggregate.getSumConcentration();
+                min = Math.min(min, aggregate.getMinConcentration());
+                max = Math.max(max, aggregate.getMaxConcentration());
+            }
+        }
+        return PlateAnalysisSummary.builder()
+                .plateLayoutId(plateLayoutId)
+                .totalWells(totalWells)
+                .concentrationStats(PlateAnalysisSummary.ConcentrationStats.builder()
+                        .min(min)
+                        .max(max)
+                        .average(count > 0 ? sum / count : 0.0)
+                        .count(count)
+                        .build())
+                .wellTypeCounts(wellTypeCounts)
+                .build();
+    }
+}
@@ -0,0 +1,139 @@
+package com.rgbradford.backend.service.impl;
+
+import com.rgbradford.backend.dto.projection.WellAnalysisRow;
+import com.rgbradford.backend.entity.CalibrationCurve;
+import com.rgbradford.backend.entity.CurveModelType;
+import com.rgbradford.backend.entity.PlateLayout;
+import com.rgbradford.backend.entity.ReferenceCurve;
+import com.rgbradford.backend.event.PlateDataChangedEvent;
+import com.rgbradford.backend.repository.CalibrationCurveRepository;
+import com.rgbradford.backend.repository.PlateLayoutRepository;
+import com.rgbradford.backend.repository.ReferenceCurveRepository;
+import com.rgbradford.backend.repository.WellAnalysisConcentrationRepository;
+import com.rgbradford.backend.repository.WellAnalysisRepository;
+import com.rgbradford.backend.service.interfaces.ConcentrationService;
+import com.rgbradford.backend.util.StandardCurveModels;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Optional;
+
+@Service
+@Transactional
+public class ConcentrationServiceImpl implements ConcentrationService {
+
+    private final WellAnalysisRepository wellAnalysisRepository;
+    private final WellAnalysisConcentrationRepository wellAnalysisConcentrationRepository;
+    private final CalibrationCurveRepository calibrationCurveRepository;
+    private final PlateLayoutRepository plateLayoutRepository;
+    private final ReferenceCurveRepository referenceCurveRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public ConcentrationServiceImpl(WellAnalysisRepository wellAnalysisRepository,
+                                    WellAnalysisConcentrationRepository wellAnalysisConcentrationRepository,
+                                    CalibrationCurveRepository calibrationCurveRepository,
+                                    PlateLayoutRepository plateLayoutRepository,
+                                    ReferenceCurveRepository referenceCurveRepository) {
+        this.wellAnalysisRepository = wellAnalysisRepository;
+        this.wellAnalysisConcentrationRepository = wellAnalysisConcentrationRepository;
+        this.calibrationCurveRepository = calibrationCurveRepository;
+        this.plateLayoutRepository = plateLayoutRepository;
+        this.referenceCurveRepository = referenceCurveRepository;
+    }
+
+    @Override
+    public void applyCurve(Long plateLayoutId, CurveModelType model, double[] parameters) {
+        // Both updates bypass managed WellAnalysis instances, so pending changes go first and everything
+        // managed is dropped. Flushing once here also keeps the queries below from re-flushing a curve
+        // just merged by the caller (a second dirty check hashes its wells, whose hashCode is not safe)
+        entityManager.flush();
+        entityManager.clear();
+        if (model == CurveModelType.LINEAR) {
+            wellAnalysisRepository.updateLinearConcentrations(plateLayoutId, parameters[0], parameters[1]);
+        } else {
+            applyModel(wellAnalysisRepository.findRowsByPlateLayoutId(plateLayoutId), model, parameters);
+        }
+        plateLayoutRepository.findById(plateLayoutId).ifPresent(this::bumpConcentrationVersion);
+    }
+
+    @Override
+    public List<Long> applyReferenceCurve(ReferenceCurve referenceCurve) {
+        entityManager.flush();
+        entityManager.clear();
+        List<Long> plateLayoutIds = plateLayoutRepository.findIdsByReferenceCurveId(referenceCurve.getId());
+        if (plateLayoutIds.isEmpty()) {
+            return plateLayoutIds;
+        }
+        double[] parameters = referenceCurve.getModelParameters();
+        if (referenceCurve.getModelType() == CurveModelType.LINEAR) {
+            wellAnalysisRepository.updateLinearConcentrationsByReferenceCurve(referenceCurve.getId(),
+                    parameters[0], parameters[1]);
+        } else {
+            applyModel(wellAnalysisRepository.findRowsByReferenceCurveId(referenceCurve.getId()),
+                    referenceCurve.getModelType(), parameters);
+        }
+        plateLayoutRepository.findAllById(plateLayoutIds).forEach(this::bumpConcentrationVersion);
+        return plateLayoutIds;
+    }
+
+    // Same transaction as the rewrite: result snapshots and replicate statistics are keyed by this version,
+    // so a reader that loaded the old rows can only ever store them under the old version
+    private void bumpConcentrationVersion(PlateLayout plateLayout) {
+        long previousVersion = plateLayout.getConcentrationVersion() != null ? plateLayout.getConcentrationVersion() : 0L;
+        plateLayout.setConcentrationVersion(previousVersion + 1);
+    }
+
+    private void applyModel(List<WellAnalysisRow> rows, CurveModelType model, double[] parameters) {
+        for (WellAnalysisRow row : rows) {
+            Double concentration = null;
+            if (row.getBlueToGreenRatio() != null) {
+                double value = StandardCurveModels.concentration(model, parameters, row.getBlueToGreenRatio());
+                concentration = Double.isFinite(value) ? value : null;
+            }
+            row.setCalculatedConcentration(concentration);
+            row.setAdjustedConcentration(concentration == null ? null
+                    : concentration * (row.getDilutionFactor() != null ? row.getDilutionFactor() : 1.0));
+        }
+        wellAnalysisConcentrationRepository.updateConcentrations(rows);
+    }
+
+    @Override
+    public void applyStoredCurve(Long plateLayoutId) {
+        Optional<ReferenceCurve> reference = plateLayoutRepository.findById(plateLayoutId)
+                .map(PlateLayout::getReferenceCurveId)
+                .flatMap(referenceCurveRepository::findById);
+        if (reference.isPresent()) {
+            applyCurve(plateLayoutId, reference.get().getModelType(), reference.get().getModelParameters());
+            return;
+        }
+        Optional<CalibrationCurve> stored = calibrationCurveRepository.findByPlateLayoutId(plateLayoutId);
+        if (stored.isEmpty()) {
+            wellAnalysisRepository.clearConcentrations(plateLayoutId);
+            plateLayoutRepository.findById(plateLayoutId).ifPresent(this::bumpConcentrationVersion);
+            return;
+        }
+        CalibrationCurve curve = stored.get();
+        // Curves stored before model selection are linear
+        if (curve.getModelType() != null && curve.getModelParameters() != null) {
+            applyCurve(plateLayoutId, curve.getModelType(), curve.getModelParameters());
+        } else {
+            applyCurve(plateLayoutId, CurveModelType.LINEAR, new double[]{curve.getSlope(), curve.getIntercept()});
+        }
+    }
+
+    // Well edits can change dilution factors, which the adjusted concentrations depend on
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onPlateDataChanged(PlateDataChangedEvent event) {
+        if (event.getChange() == PlateDataChangedEvent.Change.WELLS) {
+            applyStoredCurve(event.getPlateLayoutId());
+        }
+    }
+}
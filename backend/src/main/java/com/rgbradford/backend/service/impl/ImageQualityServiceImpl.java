@@ -0,0 +1,178 @@
+package com.rgbradford.backend.service.impl;
+
+import com.rgbradford.backend.dto.response.ImageQualityReport;
+import com.rgbradford.backend.service.interfaces.ImageQualityService;
+import com.rgbradford.backend.util.ImageDecodeUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+public class ImageQualityServiceImpl implements ImageQualityService {
+
+    // Luminance values at or beyond these limits count as clipped
+    private static final int CLIP_LOW = 5;
+    private static final int CLIP_HIGH = 250;
+
+    @Value("${image-quality.sample-size:1024}")
+    private int sampleSize;
+
+    // Off: findings beyond the reject thresholds are reported as warnings and never block an analysis
+    @Value("${image-quality.reject-enabled:false}")
+    private boolean rejectEnabled;
+
+    @Value("${image-quality.sharpness.warn:60}")
+    private double sharpnessWarn;
+
+    @Value("${image-quality.sharpness.reject:15}")
+    private double sharpnessReject;
+
+    @Value("${image-quality.brightness.min-warn:50}")
+    private double brightnessMinWarn;
+
+    @Value("${image-quality.brightness.min-reject:20}")
+    private double brightnessMinReject;
+
+    @Value("${image-quality.brightness.max-warn:230}")
+    private double brightnessMaxWarn;
+
+    @Value("${image-quality.brightness.max-reject:250}")
+    private double brightnessMaxReject;
+
+    @Value("${image-quality.clipping.warn:0.05}")
+    private double clippingWarn;
+
+    @Value("${image-quality.clipping.reject:0.30}")
+    private double clippingReject;
+
+    @Override
+    public ImageQualityReport assess(byte[] imageBytes) throws IOException {
+        return assess(imageBytes, null);
+    }
+
+    @Override
+    public ImageQualityReport assess(byte[] imageBytes, Rectangle plateRegion) throws IOException {
+        long start = System.nanoTime();
+
+        // Only the plate's pixels are decoded when it is known: the surroundings (light box, bench) can be
+        // blown out or out of focus without affecting the measurement, and a smaller region needs less
+        // subsampling, so blur stays visible to the Laplacian
+        Rectangle region = null;
+        if (plateRegion != null) {
+            int[] dimensions = ImageDecodeUtils.readDimensions(imageBytes);
+            region = plateRegion.intersection(new Rectangle(0, 0, dimensions[0], dimensions[1]));
+            if (region.isEmpty()) {
+                region = null;
+            }
+        }
+        BufferedImage image = region != null
+                ? ImageDecodeUtils.readRegion(imageBytes, region,
+                        ImageDecodeUtils.subsamplingStep(region.width, region.height, sampleSize))
+                : ImageDecodeUtils.readSubsampled(imageBytes, sampleSize).getImage();
+        if (image == null) {
+            throw new IOException("Could not decode image for quality check");
+        }
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int[] rgb = image.getRGB(0, 0, width, height, null, 0, width);
+
+        // Luminance (Rec. 601) plus exposure and clipping statistics in one pass
+        int[] luma = new int[rgb.length];
+        long lumaSum = 0;
+        int clippedHigh = 0;
+        int clippedLow = 0;
+        for (int i = 0; i < rgb.length; i++) {
+            int p = rgb[i];
+            int y = (299 * ((p >> 16) & 0xFF) + 587 * ((p >> 8) & 0xFF) + 114 * (p & 0xFF)) / 1000;
+            luma[i] = y;
+            lumaSum += y;
+            if (y >= CLIP_HIGH) {
+                clippedHigh++;
+            } else if (y <= CLIP_LOW) {
+                clippedLow++;
+            }
+        }
+        int pixelCount = Math.max(1, rgb.length);
+
+        ImageQualityReport report = ImageQualityReport.builder()
+                .sharpness(laplacianVariance(luma, width, height))
+                .meanBrightness((double) lumaSum / pixelCount)
+                .clippedHighFraction((double) clippedHigh / pixelCount)
+                .clippedLowFraction((double) clippedLow / pixelCount)
+                .sampledWidth(width)
+                .sampledHeight(height)
+                .plateRegionOnly(region != null)
+                .build();
+        applyThresholds(report);
+        report.setElapsedMillis((System.nanoTime() - start) / 1_000_000);
+        return report;
+    }
+
+    // Variance of the 4-neighbour Laplacian; blurry images have few strong edges and score low
+    private static double laplacianVariance(int[] luma, int width, int height) {
+        if (width < 3 || height < 3) {
+            return 0.0;
+        }
+        double sum = 0;
+        double sumSquares = 0;
+        long n = 0;
+        for (int y = 1; y < height - 1; y++) {
+            int rowOffset = y * width;
+            for (int x = 1; x < width - 1; x++) {
+                int i = rowOffset + x;
+                int laplacian = luma[i - 1] + luma[i + 1] + luma[i - width] + luma[i + width] - 4 * luma[i];
+                sum += laplacian;
+                sumSquares += (double) laplacian * laplacian;
+                n++;
+            }
+        }
+        double mean = sum / n;
+        return sumSquares / n - mean * mean;
+    }
+
+    private void applyThresholds(ImageQualityReport report) {
+        List<String> rejections = new ArrayList<>();
+        List<String> warnings = new ArrayList<>();
+
+        double sharpness = report.getSharpness();
+        if (sharpness < sharpnessReject) {
+            rejections.add(String.format("Image is too blurry (sharpness %.1f < %.1f)", sharpness, sharpnessReject));
+        } else if (sharpness < sharpnessWarn) {
+            warnings.add(String.format("Image may be out of focus (sharpness %.1f < %.1f)", sharpness, sharpnessWarn));
+        }
+
+        double brightness = report.getMeanBrightness();
+        if (brightness < brightnessMinReject) {
+            rejections.add(String.format("Image is severely under-exposed (mean brightness %.1f)", brightness));
+        } else if (brightness > brightnessMaxReject) {
+            rejections.add(String.format("Image is severely over-exposed (mean brightness %.1f)", brightness));
+        } else if (brightness < brightnessMinWarn) {
+            warnings.add(String.format("Image looks under-exposed (mean brightness %.1f)", brightness));
+        } else if (brightness > brightnessMaxWarn) {
+            warnings.add(String.format("Image looks over-exposed (mean brightness %.1f)", brightness));
+        }
+
+        double clipped = report.getClippedHighFraction() + report.getClippedLowFraction();
+        if (clipped > clippingReject) {
+            rejections.add(String.format("%.0f%% of pixels are clipped", clipped * 100));
+        } else if (clipped > clippingWarn) {
+            warnings.add(String.format("%.0f%% of pixels are clipped", clipped * 100));
+        }
+
+        List<String> messages = new ArrayList<>(rejections);
+        messages.addAll(warnings);
+        report.setMessages(messages);
+        if (!rejections.isEmpty() && rejectEnabled) {
+            report.setStatus(ImageQualityReport.Status.REJECT);
+        } else if (!messages.isEmpty()) {
+            report.setStatus(ImageQualityReport.Status.WARN);
+        } else {
+            report.setStatus(ImageQualityReport.Status.PASS);
+        }
+    }
+}
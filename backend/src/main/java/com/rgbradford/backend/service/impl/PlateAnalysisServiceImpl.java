@@ -1,30 +1,50 @@
 package com.rgbradford.backend.service.impl;
 
 import com.rgbradford.backend.dto.request.PlateAnalysisParams;
+import com.rgbradford.backend.dto.request.PlateAnalysisTarget;
+import com.rgbradford.backend.service.interfaces.ConcentrationService;
 import com.rgbradford.backend.service.interfaces.PlateAnalysisService;
 import com.rgbradford.backend.dto.response.WellAnalysisResult;
 import com.rgbradford.backend.entity.PlateLayout;
 import com.rgbradford.backend.entity.Well;
 import com.rgbradford.backend.entity.WellAnalysis;
+import com.rgbradford.backend.event.PlateDataChangedEvent;
 import com.rgbradford.backend.repository.PlateLayoutRepository;
 import com.rgbradford.backend.repository.WellRepository;
 import com.rgbradford.backend.repository.ProjectRepository;
 import com.rgbradford.backend.entity.Project;
 import com.rgbradford.backend.entity.WellType;
 import com.rgbradford.backend.repository.WellAnalysisRepository;
+import com.rgbradford.backend.repository.WellAnalysisUpsertRepository;
+import com.rgbradford.backend.service.interfaces.PlateImageStorageService;
+import com.rgbradford.backend.util.HistogramCodec;
+import com.rgbradford.backend.util.PlateGrid;
+import com.rgbradford.backend.util.WellPositionUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import ij.ImagePlus;
 import ij.process.ImageProcessor;
 import ij.gui.OvalRoi;
 import ij.process.ImageConverter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.awt.*;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
 @Service
 public class PlateAnalysisServiceImpl implements PlateAnalysisService {
@@ -33,13 +53,31 @@ public class PlateAnalysisServiceImpl implements PlateAnalysisService {
     private final WellRepository wellRepository;
     private final WellAnalysisRepository wellAnalysisRepository;
     private final ProjectRepository projectRepository;
+    private final PlateImageStorageService plateImageStorageService;
+    private final ObjectMapper objectMapper;
+    private final WellAnalysisUpsertRepository wellAnalysisUpsertRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ConcentrationService concentrationService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     @Autowired
-    public PlateAnalysisServiceImpl(PlateLayoutRepository plateLayoutRepository, WellRepository wellRepository, WellAnalysisRepository wellAnalysisRepository, ProjectRepository projectRepository) {
+    public PlateAnalysisServiceImpl(PlateLayoutRepository plateLayoutRepository, WellRepository wellRepository, WellAnalysisRepository wellAnalysisRepository, ProjectRepository projectRepository,
+                                    WellAnalysisUpsertRepository wellAnalysisUpsertRepository, PlateImageStorageService plateImageStorageService,
+                                    ObjectMapper objectMapper, PlatformTransactionManager transactionManager,
+                                    ApplicationEventPublisher eventPublisher, ConcentrationService concentrationService) {
         this.plateLayoutRepository = plateLayoutRepository;
         this.wellRepository = wellRepository;
         this.wellAnalysisRepository = wellAnalysisRepository;
         this.projectRepository = projectRepository;
+        this.wellAnalysisUpsertRepository = wellAnalysisUpsertRepository;
+        this.plateImageStorageService = plateImageStorageService;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.concentrationService = concentrationService;
     }
 
     @Override
@@ -107,67 +145,227 @@ public class PlateAnalysisServiceImpl implements PlateAnalysisService {
         return results;
     }
 
-    @Transactional
     public List<WellAnalysis> analyzeAndPersistPlate(Long plateLayoutId, java.io.InputStream imageInputStream, PlateAnalysisParams params) throws Exception {
+        return analyzeAndPersistPlate(plateLayoutId, imageInputStream, params, null);
+    }
+
+    /**
+     * Same as {@link #analyzeAndPersistPlate(Long, java.io.InputStream, PlateAnalysisParams)}, but hands each row of
+     * measured wells to rowListener as soon as the row is done, before anything is persisted. Results passed to the
+     * listener carry measurements and grid position only (no database IDs, EMPTY wells included).
+     * Decoding and measuring run without a transaction; a database connection is only taken for the short
+     * write transaction at the end.
+     */
+    public List<WellAnalysis> analyzeAndPersistPlate(Long plateLayoutId, java.io.InputStream imageInputStream, PlateAnalysisParams params,
+                                                     Consumer<List<WellAnalysisResult>> rowListener) throws Exception {
         validateParameters(params);
-        
-        PlateLayout plateLayout = findOrCreatePlateLayout(plateLayoutId, params);
 
-        int columns = params.getColumns();
-        int rows = params.getRows();
-        int xOrigin = params.getXOrigin();
-        int yOrigin = params.getYOrigin();
-        int xEnd = params.getXEnd();
-        int yEnd = params.getYEnd();
-        int circleSize = (int) Math.round(params.getWellDiameter() * 0.55);
+        // Keep the original image so previews and tiles can be rendered later
+        byte[] imageBytes = imageInputStream.readAllBytes();
+        String imageHash = plateImageStorageService.store(imageBytes);
 
-        ImagePlus imp = openAndPrepareImage(imageInputStream);
-        
-        double wellSpacingX = (double)(xEnd - xOrigin) / (columns - 1);
-        double wellSpacingY = (double)(yEnd - yOrigin) / (rows - 1);
+        RGBMeasurements[][] measurements = measureImage(imageBytes, params, rowListener);
+        return transactionTemplate.execute(status -> persistMeasurements(plateLayoutId, params, measurements, imageHash));
+    }
 
-        ImageProcessor processor = imp.getProcessor();
-        List<WellAnalysis> results = new ArrayList<>();
-        
+    /**
+     * Replaces all results of a plate with a fresh analysis. The image is measured first; the old results are
+     * then bulk-deleted and the new ones written in a single transaction, so readers never see an empty plate
+     * and a failed analysis leaves the previous results in place.
+     */
+    public List<WellAnalysis> reanalyzeAndReplacePlate(Long plateLayoutId, java.io.InputStream imageInputStream, PlateAnalysisParams params) throws Exception {
+        validateParameters(params);
+
+        byte[] imageBytes = imageInputStream.readAllBytes();
+        String imageHash = plateImageStorageService.store(imageBytes);
+        RGBMeasurements[][] measurements = measureImage(imageBytes, params, null);
+
+        return transactionTemplate.execute(status -> {
+            wellAnalysisRepository.deleteByPlateLayoutId(plateLayoutId);
+            return persistMeasurements(plateLayoutId, params, measurements, imageHash);
+        });
+    }
+
+    /**
+     * Deletes all analysis results of a plate with a single bulk DELETE and bumps its result version.
+     * @return Number of deleted analyses
+     */
+    @Transactional
+    public int deleteAnalysisResults(Long plateLayoutId) {
+        int deleted = wellAnalysisRepository.deleteByPlateLayoutId(plateLayoutId);
+        if (deleted > 0) {
+            // Context was cleared by the bulk delete, so load the plate afresh
+            plateLayoutRepository.findById(plateLayoutId).ifPresent(plateLayout -> plateLayout.setAnalysisVersion(
+                    (plateLayout.getAnalysisVersion() != null ? plateLayout.getAnalysisVersion() : 0L) + 1));
+            eventPublisher.publishEvent(new PlateDataChangedEvent(plateLayoutId, PlateDataChangedEvent.Change.ANALYSIS));
+        }
+        return deleted;
+    }
+
+    /**
+     * Analyzes several plate grids captured in the same photo. The image is decoded once and every grid
+     * is measured against the same pixel buffer; each plate is then persisted in its own transaction,
+     * so a failure on one plate does not roll back the plates saved before it.
+     */
+    public Map<Long, List<WellAnalysis>> analyzeAndPersistPlates(java.io.InputStream imageInputStream, List<PlateAnalysisTarget> targets) throws Exception {
+        if (targets == null || targets.isEmpty()) {
+            throw new IllegalArgumentException("At least one plate grid must be specified");
+        }
+        Set<Long> seenPlateIds = new HashSet<>();
+        for (PlateAnalysisTarget target : targets) {
+            if (target.getPlateLayoutId() == null || target.getParams() == null) {
+                throw new IllegalArgumentException("Each plate grid needs a plateLayoutId and params");
+            }
+            if (!seenPlateIds.add(target.getPlateLayoutId())) {
+                throw new IllegalArgumentException("Plate layout " + target.getPlateLayoutId() + " is listed more than once");
+            }
+            validateParameters(target.getParams());
+        }
+
+        byte[] imageBytes = imageInputStream.readAllBytes();
+        String imageHash = plateImageStorageService.store(imageBytes);
+
+        // Single decode shared by all grids
+        ImagePlus imp = openAndPrepareImage(new ByteArrayInputStream(imageBytes));
+        List<RGBMeasurements[][]> measuredGrids = new ArrayList<>(targets.size());
+        try {
+            ImageProcessor processor = imp.getProcessor();
+            for (PlateAnalysisTarget target : targets) {
+                measuredGrids.add(measureGrid(processor, target.getParams(), null));
+            }
+        } finally {
+            imp.close();
+        }
+
+        Map<Long, List<WellAnalysis>> results = new LinkedHashMap<>();
+        for (int i = 0; i < targets.size(); i++) {
+            PlateAnalysisTarget target = targets.get(i);
+            RGBMeasurements[][] measurements = measuredGrids.get(i);
+            List<WellAnalysis> persisted = transactionTemplate.execute(status ->
+                    persistMeasurements(target.getPlateLayoutId(), target.getParams(), measurements, imageHash));
+            results.put(target.getPlateLayoutId(), persisted);
+        }
+        return results;
+    }
+
+    // Measures every well of one plate grid, indexed as [row][col]; rowListener (optional) receives each finished row
+    private RGBMeasurements[][] measureGrid(ImageProcessor processor, PlateAnalysisParams params,
+                                            Consumer<List<WellAnalysisResult>> rowListener) {
+        PlateGrid grid = new PlateGrid(params);
+        int columns = grid.getColumns();
+        int rows = grid.getRows();
+
+        RGBMeasurements[][] measurements = new RGBMeasurements[rows][columns];
         for (int row = 0; row < rows; row++) {
             for (int col = 0; col < columns; col++) {
-                final int finalRow = row;
-                final int finalCol = col;
-                
-                int centerX = (int)(xOrigin + col * wellSpacingX);
-                int centerY = (int)(yOrigin + row * wellSpacingY);
+                OvalRoi roi = createWellROI(grid.centerX(col), grid.centerY(row), grid.getRoiSize());
+                measurements[row][col] = measureRGBChannels(processor, roi);
+            }
+            if (rowListener != null) {
+                List<WellAnalysisResult> rowResults = new ArrayList<>(columns);
+                for (int col = 0; col < columns; col++) {
+                    rowResults.add(toMeasuredResult(row, col, measurements[row][col]));
+                }
+                rowListener.accept(rowResults);
+            }
+        }
+        return measurements;
+    }
+
+    private WellAnalysisResult toMeasuredResult(int row, int col, RGBMeasurements measurements) {
+        BradfordCalculations calculations = calculateBradfordValues(measurements);
+        return WellAnalysisResult.builder()
+                .row(row)
+                .column(col)
+                .greenValue((int)Math.round(measurements.greenMean))
+                .blueValue((int)Math.round(measurements.blueMean))
+                .blueToGreenRatio(calculations.blueToGreenRatio)
+                .greenAbsorbance(calculations.greenAbsorbance)
+                .blueAbsorbance(calculations.blueAbsorbance)
+                .absorbanceRatio(calculations.absorbanceRatio)
+                .pixelCount(measurements.pixelCount)
+                .build();
+    }
 
-                // Determine well and skip if marked as EMPTY
-                Well well = findOrCreateWell(plateLayout, finalRow, finalCol);
+    // Writes the measured grid of one plate; must run inside a transaction
+    private List<WellAnalysis> persistMeasurements(Long plateLayoutId, PlateAnalysisParams params, RGBMeasurements[][] measurements, String imageHash) {
+        PlateLayout plateLayout = findOrCreatePlateLayout(plateLayoutId, params);
+        recordAnalysisRun(plateLayout, params, imageHash);
+        Well[][] wellIndex = loadWellIndex(plateLayout, params.getRows(), params.getColumns());
+
+        List<WellAnalysis> results = new ArrayList<>();
+        for (int row = 0; row < params.getRows(); row++) {
+            for (int col = 0; col < params.getColumns(); col++) {
+                // Skip wells marked as EMPTY
+                Well well = wellIndex[row][col];
                 if (well.getType() == WellType.EMPTY) {
                     continue;
                 }
 
-                OvalRoi roi = createWellROI(centerX, centerY, circleSize);
-                processor.setRoi(roi);
-                RGBMeasurements measurements = measureRGBChannels(processor, roi);
-                BradfordCalculations calculations = calculateBradfordValues(measurements);
+                RGBMeasurements wellMeasurements = measurements[row][col];
+                BradfordCalculations calculations = calculateBradfordValues(wellMeasurements);
+
+                // Written by the bulk upsert, so the managed analysis (if any) is only used for its ID
+                WellAnalysis existing = well.getWellAnalysis();
+                WellAnalysis wellAnalysis = WellAnalysis.builder()
+                        .id(existing != null ? existing.getId() : null)
+                        .well(well)
+                        .calculatedConcentration(existing != null ? existing.getCalculatedConcentration() : null)
+                        .build();
 
-                WellAnalysis wellAnalysis = findOrCreateWellAnalysis(well);
-                
                 // Set analysis values with correct calculations
-                wellAnalysis.setGreenValue((int)Math.round(measurements.greenMean));
-                wellAnalysis.setBlueValue((int)Math.round(measurements.blueMean));
+                wellAnalysis.setGreenValue((int)Math.round(wellMeasurements.greenMean));
+                wellAnalysis.setBlueValue((int)Math.round(wellMeasurements.blueMean));
                 wellAnalysis.setBlueToGreenRatio(calculations.blueToGreenRatio);  // Corrected
                 wellAnalysis.setGreenAbsorbance(calculations.greenAbsorbance);
                 wellAnalysis.setBlueAbsorbance(calculations.blueAbsorbance);
                 wellAnalysis.setAbsorbanceRatio(calculations.absorbanceRatio);
-                wellAnalysis.setPixelCount(measurements.pixelCount);
+                wellAnalysis.setPixelCount(wellMeasurements.pixelCount);
+                wellAnalysis.setGreenHistogram(HistogramCodec.encode(wellMeasurements.greenHistogram));
+                wellAnalysis.setBlueHistogram(HistogramCodec.encode(wellMeasurements.blueHistogram));
 
-                if (wellAnalysis.getId() == null) {
-                    wellAnalysisRepository.save(wellAnalysis);
-                }
                 results.add(wellAnalysis);
             }
         }
-        imp.close();
+
+        // New wells and the plate's version must be in the database before the upsert references them;
+        // afterwards the context is cleared so no stale analyses stay attached to managed wells
+        entityManager.flush();
+        wellAnalysisUpsertRepository.upsert(results);
+        entityManager.clear();
+        // New ratios need new concentrations; the plate keeps its stored curve until it is recalculated
+        concentrationService.applyStoredCurve(plateLayout.getId());
         return results;
     }
+
+    // Dense [row][col] index of the plate's wells (with analyses fetched in the same query); missing wells are created in one batch
+    private Well[][] loadWellIndex(PlateLayout plateLayout, int rows, int columns) {
+        Well[][] index = new Well[rows][columns];
+        for (Well well : wellRepository.findByPlateLayoutIdWithAnalysis(plateLayout.getId())) {
+            if (well.getRow() >= 0 && well.getRow() < rows && well.getColumn() >= 0 && well.getColumn() < columns) {
+                index[well.getRow()][well.getColumn()] = well;
+            }
+        }
+
+        List<Well> missing = new ArrayList<>();
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < columns; col++) {
+                if (index[row][col] == null) {
+                    Well newWell = Well.builder()
+                        .row(row)
+                        .column(col)
+                        .position(WellPositionUtils.getRowLetter(row) + WellPositionUtils.getColumnNumber(col))
+                        .plateLayout(plateLayout)
+                        .type(WellType.UNKNOWN) // Set a default type
+                        .build();
+                    index[row][col] = newWell;
+                    missing.add(newWell);
+                }
+            }
+        }
+        wellRepository.saveAll(missing);
+        return index;
+    }
     
     // New method to calculate Bradford-specific values according to protocol
     private BradfordCalculations calculateBradfordValues(RGBMeasurements measurements) {
@@ -204,6 +402,15 @@ public class PlateAnalysisServiceImpl implements PlateAnalysisService {
         }
     }
     
+    private RGBMeasurements[][] measureImage(byte[] imageBytes, PlateAnalysisParams params, Consumer<List<WellAnalysisResult>> rowListener) throws IOException {
+        ImagePlus imp = openAndPrepareImage(new ByteArrayInputStream(imageBytes));
+        try {
+            return measureGrid(imp.getProcessor(), params, rowListener);
+        } finally {
+            imp.close();
+        }
+    }
+
     // Helper method to open and prepare image
     private ImagePlus openAndPrepareImage(java.io.InputStream imageInputStream) throws IOException {
         // Try to read as BufferedImage and wrap in ImagePlus
@@ -221,6 +428,19 @@ public class PlateAnalysisServiceImpl implements PlateAnalysisService {
         return imp;
     }
     
+    // Remembers which image and grid produced the current results and bumps the result version
+    private void recordAnalysisRun(PlateLayout plateLayout, PlateAnalysisParams params, String imageHash) {
+        try {
+            plateLayout.setAnalysisParams(objectMapper.writeValueAsString(params));
+        } catch (com.fasterxml.jackson.core.JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize analysis parameters", e);
+        }
+        plateLayout.setImageHash(imageHash);
+        long previousVersion = plateLayout.getAnalysisVersion() != null ? plateLayout.getAnalysisVersion() : 0L;
+        plateLayout.setAnalysisVersion(previousVersion + 1);
+        eventPublisher.publishEvent(new PlateDataChangedEvent(plateLayout.getId(), PlateDataChangedEvent.Change.ANALYSIS));
+    }
+
     // Helper method to create well ROI
     private OvalRoi createWellROI(int centerX, int centerY, int circleSize) {
         int roiX = centerX - circleSize/2;
@@ -245,46 +465,34 @@ public class PlateAnalysisServiceImpl implements PlateAnalysisService {
                 });
     }
     
-    private Well findOrCreateWell(PlateLayout plateLayout, int row, int col) {
-        return wellRepository.findByPlateLayoutIdAndRowAndColumn(plateLayout.getId(), row, col)
-                .orElseGet(() -> {
-                    Well newWell = Well.builder()
-                        .row(row)
-                        .column(col)
-                        .plateLayout(plateLayout)
-                        .type(WellType.UNKNOWN) // Set a default type
-                        .build();
-                    return wellRepository.save(newWell);
-                });
-    }
-    
-    private WellAnalysis findOrCreateWellAnalysis(Well well) {
-        return wellAnalysisRepository.findByWellId(well.getId())
-                .orElseGet(() -> WellAnalysis.builder()
-                    .well(well)
-                    .build());
-    }
-    
     // Enhanced RGB measurement method with better error handling
     private static RGBMeasurements measureRGBChannels(ImageProcessor processor, OvalRoi roi) {
         Rectangle bounds = roi.getBounds();
+        // Read straight from the shared RGB buffer so several grids can be measured from one decode
+        int[] pixels = (int[]) processor.getPixels();
+        int width = processor.getWidth();
+        int height = processor.getHeight();
 
         int greenSum = 0, blueSum = 0;
         int pixelCount = 0;
         int validPixelCount = 0;
+        int[] greenHistogram = new int[HistogramCodec.BINS];
+        int[] blueHistogram = new int[HistogramCodec.BINS];
 
         for (int y = bounds.y; y < bounds.y + bounds.height; y++) {
             for (int x = bounds.x; x < bounds.x + bounds.width; x++) {
                 if (roi.contains(x, y)) {
                     pixelCount++;
                     // Check bounds to avoid errors
-                    if (x >= 0 && x < processor.getWidth() && y >= 0 && y < processor.getHeight()) {
-                        int rgb = processor.getPixel(x, y);
+                    if (x >= 0 && x < width && y >= 0 && y < height) {
+                        int rgb = pixels[y * width + x];
                         int green = (rgb >> 8) & 0xFF;
                         int blue = rgb & 0xFF;
                         
                         greenSum += green;
                         blueSum += blue;
+                        greenHistogram[green]++;
+                        blueHistogram[blue]++;
                         validPixelCount++;
                     }
                 }
@@ -298,6 +506,8 @@ public class PlateAnalysisServiceImpl implements PlateAnalysisService {
             result.pixelCount = validPixelCount;
             result.totalPixelsInROI = pixelCount;
         }
+        result.greenHistogram = greenHistogram;
+        result.blueHistogram = blueHistogram;
         
         return result;
     }
@@ -308,6 +518,8 @@ public class PlateAnalysisServiceImpl implements PlateAnalysisService {
         double blueMean = 0;
         int pixelCount = 0;
         int totalPixelsInROI = 0;  // For quality control
+        int[] greenHistogram;
+        int[] blueHistogram;
     }
     
     // New class to hold Bradford-specific calculations
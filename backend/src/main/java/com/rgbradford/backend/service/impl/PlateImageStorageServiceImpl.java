@@ -0,0 +1,84 @@
+package com.rgbradford.backend.service.impl;
+
+import com.rgbradford.backend.service.interfaces.PlateImageStorageService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+
+@Service
+public class PlateImageStorageServiceImpl implements PlateImageStorageService {
+
+    private final Path rootDirectory;
+
+    public PlateImageStorageServiceImpl(@Value("${plate-images.storage-dir}") String storageDirectory) {
+        this.rootDirectory = Paths.get(storageDirectory).toAbsolutePath().normalize();
+    }
+
+    @Override
+    public String store(byte[] imageBytes) throws IOException {
+        String hash = sha256(imageBytes);
+        Path target = imagePath(hash);
+        if (!Files.exists(target)) {
+            Files.createDirectories(target.getParent());
+            // Write to a temp file first so concurrent readers never see a partial image
+            Path temp = Files.createTempFile(target.getParent(), hash, ".tmp");
+            try {
+                Files.write(temp, imageBytes);
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        }
+        return hash;
+    }
+
+    @Override
+    public Optional<byte[]> load(String imageHash) throws IOException {
+        if (!isValidHash(imageHash)) {
+            return Optional.empty();
+        }
+        Path path = imagePath(imageHash);
+        return Files.exists(path) ? Optional.of(Files.readAllBytes(path)) : Optional.empty();
+    }
+
+    @Override
+    public boolean exists(String imageHash) {
+        return isValidHash(imageHash) && Files.exists(imagePath(imageHash));
+    }
+
+    @Override
+    public Path cacheDirectory(String imageHash, String kind) throws IOException {
+        if (!isValidHash(imageHash)) {
+            throw new IllegalArgumentException("Invalid image hash: " + imageHash);
+        }
+        Path directory = rootDirectory.resolve("cache").resolve(kind).resolve(imageHash);
+        Files.createDirectories(directory);
+        return directory;
+    }
+
+    // Images are sharded by the first two hex digits to keep directories small
+    private Path imagePath(String hash) {
+        return rootDirectory.resolve("images").resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    private static boolean isValidHash(String hash) {
+        return hash != null && hash.matches("[0-9a-f]{64}");
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
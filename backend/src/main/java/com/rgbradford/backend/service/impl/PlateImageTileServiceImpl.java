@@ -0,0 +1,155 @@
+package com.rgbradford.backend.service.impl;
+
+import com.rgbradford.backend.dto.response.PlateImageInfo;
+import com.rgbradford.backend.entity.PlateLayout;
+import com.rgbradford.backend.exception.ResourceNotFoundException;
+import com.rgbradford.backend.repository.PlateLayoutRepository;
+import com.rgbradford.backend.service.interfaces.PlateImageStorageService;
+import com.rgbradford.backend.service.interfaces.PlateImageTileService;
+import com.rgbradford.backend.util.ImageDecodeUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+@Service
+public class PlateImageTileServiceImpl implements PlateImageTileService {
+
+    // Guards against absurd zoom values before any shift arithmetic
+    private static final int MAX_SUPPORTED_ZOOM = 16;
+
+    private final PlateLayoutRepository plateLayoutRepository;
+    private final PlateImageStorageService plateImageStorageService;
+
+    @Value("${plate-images.tiles.size:256}")
+    private int tileSize;
+
+    @Value("${plate-images.tiles.jpeg-quality:0.85}")
+    private float jpegQuality;
+
+    public PlateImageTileServiceImpl(PlateLayoutRepository plateLayoutRepository, PlateImageStorageService plateImageStorageService) {
+        this.plateLayoutRepository = plateLayoutRepository;
+        this.plateImageStorageService = plateImageStorageService;
+    }
+
+    @Override
+    public PlateImageInfo getImageInfo(Long plateLayoutId) throws IOException {
+        PlateLayout plateLayout = plateLayoutRepository.findById(plateLayoutId)
+                .orElseThrow(() -> new ResourceNotFoundException("Plate layout not found with id: " + plateLayoutId));
+        String imageHash = plateLayout.getImageHash();
+        if (imageHash == null) {
+            throw new ResourceNotFoundException("No analyzed image stored for plate layout: " + plateLayoutId);
+        }
+        int[] size = ImageDecodeUtils.readDimensions(loadImage(imageHash));
+        return PlateImageInfo.builder()
+                .imageHash(imageHash)
+                .width(size[0])
+                .height(size[1])
+                .tileSize(tileSize)
+                .maxZoom(maxZoom(size[0], size[1]))
+                .tileUrlTemplate("/api/plate-images/" + imageHash + "/tiles/{z}/{x}/{y}.jpg")
+                .build();
+    }
+
+    @Override
+    public byte[] getTile(String imageHash, int zoom, int x, int y) throws IOException {
+        if (!plateImageStorageService.exists(imageHash)) {
+            throw new ResourceNotFoundException("Stored image not found: " + imageHash);
+        }
+        if (zoom < 0 || zoom > MAX_SUPPORTED_ZOOM || x < 0 || y < 0) {
+            throw new ResourceNotFoundException("Tile not found: " + zoom + "/" + x + "/" + y);
+        }
+
+        // Tiles are immutable for a given image, so a cached file can be returned without decoding anything
+        Path tileFile = plateImageStorageService.cacheDirectory(imageHash, "tiles")
+                .resolve(tileSize + "/" + zoom + "/" + x + "_" + y + ".jpg");
+        if (Files.exists(tileFile)) {
+            return Files.readAllBytes(tileFile);
+        }
+
+        byte[] imageBytes = loadImage(imageHash);
+        int[] size = ImageDecodeUtils.readDimensions(imageBytes);
+        int maxZoom = maxZoom(size[0], size[1]);
+        if (zoom > maxZoom) {
+            throw new ResourceNotFoundException("Zoom level " + zoom + " exceeds maximum " + maxZoom);
+        }
+
+        // At level z one tile covers 2^(maxZoom - z) original pixels per tile pixel
+        int step = 1 << (maxZoom - zoom);
+        long span = (long) tileSize * step;
+        if (x * span >= size[0] || y * span >= size[1]) {
+            throw new ResourceNotFoundException("Tile not found: " + zoom + "/" + x + "/" + y);
+        }
+        Rectangle region = new Rectangle((int) (x * span), (int) (y * span),
+                (int) Math.min(span, size[0] - x * span), (int) Math.min(span, size[1] - y * span));
+
+        byte[] jpeg = encodeJpeg(toRgb(ImageDecodeUtils.readRegion(imageBytes, region, step)));
+
+        Files.createDirectories(tileFile.getParent());
+        // Temp file + atomic move so concurrent requests for the same tile never read a partial file
+        Path temp = Files.createTempFile(tileFile.getParent(), x + "_" + y, ".tmp");
+        try {
+            Files.write(temp, jpeg);
+            Files.move(temp, tileFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return jpeg;
+    }
+
+    // Smallest level at which the whole image is shown at full resolution
+    private int maxZoom(int width, int height) {
+        int longestEdge = Math.max(width, height);
+        int zoom = 0;
+        while ((long) tileSize << zoom < longestEdge) {
+            zoom++;
+        }
+        return zoom;
+    }
+
+    private byte[] loadImage(String imageHash) throws IOException {
+        return plateImageStorageService.load(imageHash)
+                .orElseThrow(() -> new ResourceNotFoundException("Stored image not found: " + imageHash));
+    }
+
+    // JPEG has no alpha channel, so decoded tiles are flattened onto an RGB buffer first
+    private static BufferedImage toRgb(BufferedImage image) {
+        if (image.getType() == BufferedImage.TYPE_INT_RGB || image.getType() == BufferedImage.TYPE_3BYTE_BGR) {
+            return image;
+        }
+        BufferedImage rgb = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = rgb.createGraphics();
+        try {
+            g.drawImage(image, 0, 0, null);
+        } finally {
+            g.dispose();
+        }
+        return rgb;
+    }
+
+    private byte[] encodeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(ios);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+}
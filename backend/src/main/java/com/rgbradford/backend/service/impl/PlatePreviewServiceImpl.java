@@ -0,0 +1,339 @@
+package com.rgbradford.backend.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rgbradford.backend.dto.RegressionResultDto;
+import com.rgbradford.backend.dto.StandardCurveDto;
+import com.rgbradford.backend.dto.projection.WellAnalysisRow;
+import com.rgbradford.backend.dto.request.PlateAnalysisParams;
+import com.rgbradford.backend.dto.response.PlatePreview;
+import com.rgbradford.backend.entity.PlateLayout;
+import com.rgbradford.backend.exception.ResourceNotFoundException;
+import com.rgbradford.backend.repository.PlateLayoutRepository;
+import com.rgbradford.backend.service.interfaces.PlateImageStorageService;
+import com.rgbradford.backend.service.interfaces.PlatePreviewService;
+import com.rgbradford.backend.service.interfaces.PlateResultSnapshotService;
+import com.rgbradford.backend.service.interfaces.StandardCurveService;
+import com.rgbradford.backend.util.ImageDecodeUtils;
+import com.rgbradford.backend.util.PlateGrid;
+import com.rgbradford.backend.util.StandardCurveModels;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.geom.Ellipse2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Service
+public class PlatePreviewServiceImpl implements PlatePreviewService {
+
+    // Requested sizes are rounded up to these, so arbitrary maxSize values cannot multiply the cached files
+    private static final int[] SIZES = {256, 512, 1024, 2048};
+    private static final int LEGEND_HEIGHT = 28;
+
+    private final PlateLayoutRepository plateLayoutRepository;
+    private final PlateResultSnapshotService plateResultSnapshotService;
+    private final StandardCurveService standardCurveService;
+    private final PlateImageStorageService plateImageStorageService;
+    private final ObjectMapper objectMapper;
+    private final int maxFilesPerImage;
+
+    public PlatePreviewServiceImpl(PlateLayoutRepository plateLayoutRepository, PlateResultSnapshotService plateResultSnapshotService,
+                                   StandardCurveService standardCurveService, PlateImageStorageService plateImageStorageService,
+                                   ObjectMapper objectMapper,
+                                   @Value("${plate-images.previews.max-per-image:24}") int maxFilesPerImage) {
+        this.plateLayoutRepository = plateLayoutRepository;
+        this.plateResultSnapshotService = plateResultSnapshotService;
+        this.standardCurveService = standardCurveService;
+        this.plateImageStorageService = plateImageStorageService;
+        this.objectMapper = objectMapper;
+        this.maxFilesPerImage = maxFilesPerImage;
+    }
+
+    // Not transactional: each lookup runs in its own short transaction, so no connection is held while
+    // the image is decoded, drawn and encoded
+    @Override
+    public PlatePreview renderRoiOverlay(Long plateLayoutId, int maxSize) throws IOException {
+        PlateLayout plateLayout = findAnalyzedPlate(plateLayoutId);
+        int size = previewSize(maxSize);
+        // The overlay only depends on the image and the grid, so re-analysis with the same grid reuses it
+        String key = "roi-" + cacheKey(plateLayout.getImageHash(), plateLayout.getAnalysisParams(), size);
+
+        return cached(plateLayout.getImageHash(), key, () -> {
+            BackgroundImage background = loadBackground(plateLayout, size);
+            PlateGrid grid = new PlateGrid(readParams(plateLayout));
+            Graphics2D g = background.image.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+                g.setStroke(new BasicStroke(2f));
+                g.setColor(new Color(0, 255, 120));
+                for (int row = 0; row < grid.getRows(); row++) {
+                    for (int col = 0; col < grid.getColumns(); col++) {
+                        g.draw(background.toPreview(grid.roiBounds(row, col)));
+                    }
+                }
+            } finally {
+                g.dispose();
+            }
+            return background.image;
+        });
+    }
+
+    @Override
+    public PlatePreview renderHeatmap(Long plateLayoutId, String metric, int maxSize) throws IOException {
+        boolean concentration;
+        if ("ratio".equalsIgnoreCase(metric)) {
+            concentration = false;
+        } else if ("concentration".equalsIgnoreCase(metric)) {
+            concentration = true;
+        } else {
+            throw new IllegalArgumentException("Unknown heatmap metric: " + metric + " (expected 'ratio' or 'concentration')");
+        }
+
+        PlateLayout plateLayout = findAnalyzedPlate(plateLayoutId);
+        int size = previewSize(maxSize);
+        // The curve that produced the stored concentrations: the attached reference curve, else the plate's own
+        StandardCurveDto curveDto = concentration ? standardCurveService.getEffectiveStoredCurve(plateLayoutId) : null;
+        RegressionResultDto curve = curveDto != null ? curveDto.getRegression() : null;
+
+        // Results change with every analysis run, concentrations also with every curve fit or reference curve edit
+        String keySource = plateLayout.getAnalysisParams() + "|" + plateLayout.getAnalysisVersion();
+        if (concentration) {
+            keySource += "|" + plateLayout.getConcentrationVersion();
+        }
+        if (curve != null) {
+            keySource += "|" + curveDto.getReferenceCurveId()
+                    + "|" + curve.getModel() + "|" + Arrays.toString(curve.getParameters());
+        }
+        String key = (concentration ? "conc-" : "ratio-") + cacheKey(plateLayout.getImageHash(), keySource, size);
+
+        return cached(plateLayout.getImageHash(), key, () -> {
+            PlateGrid grid = new PlateGrid(readParams(plateLayout));
+            // Rows are read before the image is decoded, so nothing below touches the database
+            Double[][] values = collectValues(plateLayoutId, grid, concentration, curve);
+            BackgroundImage background = loadBackground(plateLayout, size);
+            return drawHeatmap(background, grid, values, concentration ? "Concentration" : "Blue/Green ratio");
+        });
+    }
+
+    private Double[][] collectValues(Long plateLayoutId, PlateGrid grid, boolean concentration, RegressionResultDto curve) {
+        Double[][] values = new Double[grid.getRows()][grid.getColumns()];
+        for (WellAnalysisRow wa : plateResultSnapshotService.getRows(plateLayoutId)) {
+            int row = wa.getRow();
+            int col = wa.getColumn();
+            if (row < 0 || row >= grid.getRows() || col < 0 || col >= grid.getColumns()) {
+                continue;
+            }
+            Double ratio = wa.getBlueToGreenRatio();
+            if (!concentration) {
+                values[row][col] = ratio;
+            } else if (wa.getCalculatedConcentration() != null) {
+                values[row][col] = wa.getCalculatedConcentration();
+            } else if (curve != null && ratio != null) {
+                // Rows analyzed before concentrations were stored: same model evaluation as the CSV export;
+                // ratios outside a nonlinear curve's range stay blank
+                double value = StandardCurveModels.concentration(curve, ratio);
+                values[row][col] = Double.isNaN(value) ? null : value;
+            }
+        }
+        return values;
+    }
+
+    private BufferedImage drawHeatmap(BackgroundImage background, PlateGrid grid, Double[][] values, String label) {
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (Double[] row : values) {
+            for (Double v : row) {
+                if (v != null && Double.isFinite(v)) {
+                    min = Math.min(min, v);
+                    max = Math.max(max, v);
+                }
+            }
+        }
+
+        BufferedImage plate = background.image;
+        BufferedImage canvas = new BufferedImage(plate.getWidth(), plate.getHeight() + LEGEND_HEIGHT, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = canvas.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g.drawImage(plate, 0, 0, null);
+            // Dim the photo so the well colors stand out
+            g.setColor(new Color(0, 0, 0, 150));
+            g.fillRect(0, 0, plate.getWidth(), plate.getHeight());
+
+            for (int row = 0; row < grid.getRows(); row++) {
+                for (int col = 0; col < grid.getColumns(); col++) {
+                    Double v = values[row][col];
+                    if (v == null || !Double.isFinite(v)) {
+                        continue;
+                    }
+                    double t = max > min ? (v - min) / (max - min) : 0.5;
+                    g.setColor(heatColor(t));
+                    g.fill(background.toPreview(grid.roiBounds(row, col)));
+                }
+            }
+
+            drawLegend(g, plate.getHeight(), canvas.getWidth(), label, min, max);
+        } finally {
+            g.dispose();
+        }
+        return canvas;
+    }
+
+    private void drawLegend(Graphics2D g, int top, int width, String label, double min, double max) {
+        g.setColor(Color.WHITE);
+        g.fillRect(0, top, width, LEGEND_HEIGHT);
+
+        int barX = 8;
+        int barWidth = Math.max(16, width / 3);
+        for (int x = 0; x < barWidth; x++) {
+            g.setColor(heatColor((double) x / (barWidth - 1)));
+            g.fillRect(barX + x, top + 6, 1, LEGEND_HEIGHT - 12);
+        }
+
+        g.setColor(Color.BLACK);
+        g.setFont(new Font(Font.SANS_SERIF, Font.PLAIN, 11));
+        String range = Double.isFinite(min) ? String.format("%s: %.3f - %.3f", label, min, max) : label + ": no data";
+        g.drawString(range, barX + barWidth + 8, top + LEGEND_HEIGHT - 10);
+    }
+
+    // Blue (low) -> green -> red (high)
+    private static Color heatColor(double t) {
+        float hue = (float) (0.66 * (1.0 - Math.max(0.0, Math.min(1.0, t))));
+        return Color.getHSBColor(hue, 0.9f, 1.0f);
+    }
+
+    private PlateLayout findAnalyzedPlate(Long plateLayoutId) {
+        PlateLayout plateLayout = plateLayoutRepository.findById(plateLayoutId)
+                .orElseThrow(() -> new ResourceNotFoundException("Plate layout not found with id: " + plateLayoutId));
+        if (plateLayout.getImageHash() == null || plateLayout.getAnalysisParams() == null) {
+            throw new ResourceNotFoundException("No analyzed image stored for plate layout: " + plateLayoutId);
+        }
+        return plateLayout;
+    }
+
+    private PlateAnalysisParams readParams(PlateLayout plateLayout) throws IOException {
+        return objectMapper.readValue(plateLayout.getAnalysisParams(), PlateAnalysisParams.class);
+    }
+
+    // Decodes the stored image subsampled to the preview size and copies it into a drawable RGB buffer
+    private BackgroundImage loadBackground(PlateLayout plateLayout, int size) throws IOException {
+        byte[] imageBytes = plateImageStorageService.load(plateLayout.getImageHash())
+                .orElseThrow(() -> new ResourceNotFoundException("Stored image missing for plate layout: " + plateLayout.getId()));
+        ImageDecodeUtils.SubsampledImage decoded = ImageDecodeUtils.readSubsampled(imageBytes, size);
+        BufferedImage source = decoded.getImage();
+        BufferedImage rgb = new BufferedImage(source.getWidth(), source.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = rgb.createGraphics();
+        try {
+            g.drawImage(source, 0, 0, null);
+        } finally {
+            g.dispose();
+        }
+        return new BackgroundImage(rgb, decoded.getStep());
+    }
+
+    private PlatePreview cached(String imageHash, String key, Renderer renderer) throws IOException {
+        Path directory = plateImageStorageService.cacheDirectory(imageHash, "previews");
+        Path file = directory.resolve(key + ".png");
+        if (Files.exists(file)) {
+            try {
+                byte[] png = Files.readAllBytes(file);
+                // The modification time doubles as last access time for the eviction below
+                Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+                return new PlatePreview(png, key);
+            } catch (NoSuchFileException e) {
+                // Evicted by a concurrent request: render it again
+            }
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(renderer.render(), "png", out);
+        byte[] png = out.toByteArray();
+
+        // Temp file + atomic move so concurrent requests never read a half-written preview
+        Path temp = Files.createTempFile(file.getParent(), key, ".tmp");
+        try {
+            Files.write(temp, png);
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        evictLeastRecentlyUsed(directory);
+        return new PlatePreview(png, key);
+    }
+
+    // Every analysis run or curve fit produces new keys, so without a cap the previews of superseded
+    // versions would stay on disk forever. Keeps the most recently used files of one image
+    private void evictLeastRecentlyUsed(Path directory) throws IOException {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = new ArrayList<>(listing.filter(f -> f.getFileName().toString().endsWith(".png")).toList());
+        }
+        if (files.size() <= maxFilesPerImage) {
+            return;
+        }
+        files.sort(Comparator.comparingLong(PlatePreviewServiceImpl::lastModified).reversed());
+        for (Path stale : files.subList(maxFilesPerImage, files.size())) {
+            Files.deleteIfExists(stale);
+        }
+    }
+
+    private static long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            // Already deleted: sorts as the oldest
+            return 0L;
+        }
+    }
+
+    // Keys double as ETags, so they must cover the image too: files are stored per image, ETags are not
+    private static String cacheKey(String imageHash, String source, int size) {
+        return DigestUtils.md5DigestAsHex((imageHash + "|" + source + "|" + size).getBytes(StandardCharsets.UTF_8)) + "-" + size;
+    }
+
+    // Smallest fixed size that covers the request; larger requests get the largest one
+    private static int previewSize(int maxSize) {
+        for (int size : SIZES) {
+            if (maxSize <= size) {
+                return size;
+            }
+        }
+        return SIZES[SIZES.length - 1];
+    }
+
+    @FunctionalInterface
+    private interface Renderer {
+        BufferedImage render() throws IOException;
+    }
+
+    // Subsampled plate image plus the factor needed to map original pixel coordinates onto it
+    private static class BackgroundImage {
+        private final BufferedImage image;
+        private final int step;
+
+        private BackgroundImage(BufferedImage image, int step) {
+            this.image = image;
+            this.step = step;
+        }
+
+        private Shape toPreview(Rectangle bounds) {
+            return new Ellipse2D.Double((double) bounds.x / step, (double) bounds.y / step,
+                    (double) bounds.width / step, (double) bounds.height / step);
+        }
+    }
+}
@@ -0,0 +1,280 @@
+package com.rgbradford.backend.service.impl;
+
+import com.rgbradford.backend.dto.RegressionResultDto;
+import com.rgbradford.backend.dto.StandardCurveDto;
+import com.rgbradford.backend.dto.StandardCurvePointDto;
+import com.rgbradford.backend.dto.projection.WellAnalysisRow;
+import com.rgbradford.backend.dto.response.ReplicateGroupStatistics;
+import com.rgbradford.backend.dto.response.WellAnalysisCsvWriter;
+import com.rgbradford.backend.entity.CurveModelType;
+import com.rgbradford.backend.repository.WellAnalysisRepository;
+import com.rgbradford.backend.service.interfaces.PlateResultExportService;
+import com.rgbradford.backend.util.StandardCurveModels;
+import com.rgbradford.backend.util.XlsxColumnWidths;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Service
+public class PlateResultExportServiceImpl implements PlateResultExportService {
+
+    private static final int WRITE_BUFFER_CHARS = 16 * 1024;
+
+    // Spreadsheet rows kept in memory per sheet; older rows are flushed to a temporary file
+    private static final int XLSX_ROW_WINDOW = 100;
+
+    private static final String NUMBER_FORMAT = "0.0000";
+    private static final int NUMBER_DECIMALS = 4;
+
+    private final WellAnalysisRepository wellAnalysisRepository;
+
+    public PlateResultExportServiceImpl(WellAnalysisRepository wellAnalysisRepository) {
+        this.wellAnalysisRepository = wellAnalysisRepository;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void writeCsv(Long plateLayoutId, StandardCurveDto curve, ReplicateGroupStatistics replicates,
+                         OutputStream out) throws IOException {
+        // Not closed: closing would close the servlet stream, which the container owns
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITE_BUFFER_CHARS);
+        try (Stream<WellAnalysisRow> rows = wellAnalysisRepository.streamRowsByPlateLayoutId(plateLayoutId)) {
+            WellAnalysisCsvWriter.write(writer, rows, curve, replicates);
+        }
+        writer.flush();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void writeXlsx(Long plateLayoutId, StandardCurveDto curve, ReplicateGroupStatistics replicates,
+                          OutputStream out) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(XLSX_ROW_WINDOW);
+        workbook.setCompressTempFiles(true);
+        try {
+            // Create styles
+            CellStyle headerStyle = workbook.createCellStyle();
+            Font headerFont = workbook.createFont();
+            headerFont.setBold(true);
+            headerStyle.setFont(headerFont);
+
+            CellStyle numberStyle = workbook.createCellStyle();
+            numberStyle.setDataFormat(workbook.createDataFormat().getFormat(NUMBER_FORMAT));
+
+            // Nonlinear models have no spreadsheet equivalent; their concentrations are written as values
+            RegressionResultDto regression = curve != null ? curve.getRegression() : null;
+            boolean nonlinear = regression != null && regression.getModel() != null
+                    && regression.getModel() != CurveModelType.LINEAR;
+
+            writeCalibrationSheet(workbook, curve, nonlinear, headerStyle, numberStyle);
+            // EMPTY wells are filtered by the query
+            try (Stream<WellAnalysisRow> rows = wellAnalysisRepository.streamRowsByPlateLayoutId(plateLayoutId)) {
+                writeWellSheet(workbook, rows.iterator(), regression, nonlinear, headerStyle, numberStyle);
+            }
+            if (replicates != null && replicates.getGroups() != null && !replicates.getGroups().isEmpty()) {
+                writeReplicateSheet(workbook, replicates, headerStyle, numberStyle);
+            }
+
+            workbook.write(out);
+            out.flush();
+        } finally {
+            // Deletes the temporary sheet files
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+
+    // Sheet 1: Calibration Points, with slope (m) and intercept (b) in C2:D2: computed by Excel functions from
+    // the points, or for a reference curve its stored parameters, which produced the concentrations
+    private void writeCalibrationSheet(SXSSFWorkbook workbook, StandardCurveDto curve, boolean nonlinear,
+                                       CellStyle headerStyle, CellStyle numberStyle) {
+        Sheet sheet = workbook.createSheet("Calibration Points");
+        XlsxColumnWidths widths = new XlsxColumnWidths(6);
+        List<StandardCurvePointDto> points = curve != null && curve.getPoints() != null ? curve.getPoints() : List.of();
+        RegressionResultDto regression = curve != null ? curve.getRegression() : null;
+        boolean reference = curve != null && curve.getReferenceCurveId() != null;
+
+        // Headers, plus the formula labels in C1:D1
+        Row headerRow = sheet.createRow(0);
+        setHeader(headerRow, 0, "Blue/Green Ratio (x)", headerStyle, widths);
+        setHeader(headerRow, 1, "Concentration (y)", headerStyle, widths);
+        setText(headerRow, 2, "Slope (m)", widths);
+        setText(headerRow, 3, "Intercept (b)", widths);
+        if (nonlinear) {
+            setText(headerRow, 4, "Model", widths);
+        }
+        if (reference) {
+            setText(headerRow, 5, "Reference Curve", widths);
+        }
+
+        // Data rows are 2..points.size()+1. Streamed rows are written in order, so the formulas go into
+        // row 2 together with the first point (which also exists when there are no points)
+        String xRange = String.format("A2:A%d", points.size() + 1);
+        String yRange = String.format("B2:B%d", points.size() + 1);
+        for (int i = 0; i < Math.max(points.size(), 1); i++) {
+            Row row = sheet.createRow(i + 1);
+            if (i < points.size()) {
+                StandardCurvePointDto p = points.get(i);
+                setNumber(row, 0, p.getBlueToGreenRatio(), numberStyle, widths);
+                setNumber(row, 1, p.getConcentration(), numberStyle, widths);
+            }
+            if (i == 0) {
+                if (reference) {
+                    // Blank for nonlinear reference curves, which have no linear slope/intercept
+                    setNumber(row, 2, finiteOrNull(regression.getSlope()), numberStyle, widths);
+                    setNumber(row, 3, finiteOrNull(regression.getIntercept()), numberStyle, widths);
+                    setText(row, 5, curve.getReferenceCurveName(), widths);
+                } else {
+                    Cell slopeCell = row.createCell(2);
+                    slopeCell.setCellFormula(String.format("IF(COUNTA(%s)>=2,SLOPE(%s,%s),\"\")", xRange, yRange, xRange));
+                    slopeCell.setCellStyle(numberStyle);
+                    Cell interceptCell = row.createCell(3);
+                    interceptCell.setCellFormula(String.format("IF(COUNTA(%s)>=2,INTERCEPT(%s,%s),\"\")", xRange, yRange, xRange));
+                    interceptCell.setCellStyle(numberStyle);
+                    if (regression != null) {
+                        // Formula results are only known to Excel; the fitted values have the same magnitude
+                        widths.number(2, regression.getSlope(), NUMBER_DECIMALS);
+                        widths.number(3, regression.getIntercept(), NUMBER_DECIMALS);
+                    }
+                }
+                if (nonlinear) {
+                    setText(row, 4, regression.getModel().name(), widths);
+                }
+            }
+        }
+        widths.applyTo(sheet);
+    }
+
+    // Sheet 2: Well Analysis (with Dilution Factor columns)
+    private void writeWellSheet(SXSSFWorkbook workbook, Iterator<WellAnalysisRow> results,
+                                RegressionResultDto regression, boolean nonlinear,
+                                CellStyle headerStyle, CellStyle numberStyle) {
+        Sheet wellSheet = workbook.createSheet("Well Analysis");
+        String[] wellHeaders = {
+                "Row", "Column", "Green", "Blue", "Blue/Green Ratio",
+                nonlinear ? "Calculated Concentration (" + regression.getModel() + ")" : "Calculated Concentration (m*x+b)",
+                "Dilution Factor", "Adjusted Concentration"
+        };
+        XlsxColumnWidths widths = new XlsxColumnWidths(wellHeaders.length);
+        Row wellHeaderRow = wellSheet.createRow(0);
+        for (int i = 0; i < wellHeaders.length; i++) {
+            setHeader(wellHeaderRow, i, wellHeaders[i], headerStyle, widths);
+        }
+
+        int wr = 1;
+        while (results.hasNext()) {
+            WellAnalysisRow wa = results.next();
+            Row row = wellSheet.createRow(wr);
+            setInteger(row, 0, wa.getRow(), widths);
+            setInteger(row, 1, wa.getColumn(), widths);
+            setInteger(row, 2, wa.getGreenValue() != null ? wa.getGreenValue() : 0, widths);
+            setInteger(row, 3, wa.getBlueValue() != null ? wa.getBlueValue() : 0, widths);
+            setNumber(row, 4, wa.getBlueToGreenRatio() != null ? wa.getBlueToGreenRatio() : 0.0, numberStyle, widths);
+
+            Cell cCalc = row.createCell(5);
+            int excelRow = wr + 1; // current wellSheet row number in Excel
+            if (nonlinear) {
+                double concentration = wa.getBlueToGreenRatio() != null
+                        ? StandardCurveModels.concentration(regression, wa.getBlueToGreenRatio()) : Double.NaN;
+                if (!Double.isNaN(concentration)) {
+                    cCalc.setCellValue(concentration);
+                    widths.number(5, concentration, NUMBER_DECIMALS);
+                }
+            } else {
+                // Formula: m*x + b using slope/intercept from Calibration Points!C2 and D2
+                String calcFormula = String.format("IFERROR('Calibration Points'!$C$2*E%d + 'Calibration Points'!$D$2, \"\")", excelRow);
+                cCalc.setCellFormula(calcFormula);
+                if (wa.getCalculatedConcentration() != null) {
+                    widths.number(5, wa.getCalculatedConcentration(), NUMBER_DECIMALS);
+                }
+            }
+            cCalc.setCellStyle(numberStyle);
+
+            // Column 6 (index 6): Dilution Factor - left blank for user input
+            row.createCell(6); // intentionally blank
+
+            // Column 7 (index 7): Adjusted Concentration = Calculated * DilutionFactor (if provided)
+            Cell cAdj = row.createCell(7);
+            String adjFormula = String.format("IFERROR(F%d*G%d, \"\")", excelRow, excelRow);
+            cAdj.setCellFormula(adjFormula);
+            cAdj.setCellStyle(numberStyle);
+
+            wr++;
+        }
+        widths.applyTo(wellSheet);
+    }
+
+    // Sheet 3: Replicate Groups (values from the cached statistics)
+    private void writeReplicateSheet(SXSSFWorkbook workbook, ReplicateGroupStatistics replicates,
+                                     CellStyle headerStyle, CellStyle numberStyle) {
+        Sheet groupSheet = workbook.createSheet("Replicate Groups");
+        String[] groupHeaders = {
+                "Group", "N", "Mean Ratio", "SD Ratio", "CV Ratio (%)",
+                "Mean Concentration", "SD Concentration", "CV Concentration (%)",
+                "Mean Adjusted Concentration", "SD Adjusted Concentration", "Outliers"
+        };
+        XlsxColumnWidths widths = new XlsxColumnWidths(groupHeaders.length);
+        Row groupHeaderRow = groupSheet.createRow(0);
+        for (int i = 0; i < groupHeaders.length; i++) {
+            setHeader(groupHeaderRow, i, groupHeaders[i], headerStyle, widths);
+        }
+        int gr = 1;
+        for (ReplicateGroupStatistics.Group group : replicates.getGroups()) {
+            Row row = groupSheet.createRow(gr++);
+            setText(row, 0, group.getReplicateGroup(), widths);
+            setInteger(row, 1, group.getWellCount(), widths);
+            setNumber(row, 2, group.getRatio().getMean(), numberStyle, widths);
+            setNumber(row, 3, group.getRatio().getSd(), numberStyle, widths);
+            setNumber(row, 4, group.getRatio().getCvPercent(), numberStyle, widths);
+            setNumber(row, 5, group.getConcentration().getMean(), numberStyle, widths);
+            setNumber(row, 6, group.getConcentration().getSd(), numberStyle, widths);
+            setNumber(row, 7, group.getConcentration().getCvPercent(), numberStyle, widths);
+            setNumber(row, 8, group.getAdjustedConcentration().getMean(), numberStyle, widths);
+            setNumber(row, 9, group.getAdjustedConcentration().getSd(), numberStyle, widths);
+            setText(row, 10, String.join(" ", group.getOutlierPositions()), widths);
+        }
+        widths.applyTo(groupSheet);
+    }
+
+    private static void setHeader(Row row, int column, String value, CellStyle style, XlsxColumnWidths widths) {
+        setText(row, column, value, widths);
+        row.getCell(column).setCellStyle(style);
+    }
+
+    private static void setText(Row row, int column, String value, XlsxColumnWidths widths) {
+        row.createCell(column).setCellValue(value);
+        widths.text(column, value);
+    }
+
+    private static void setInteger(Row row, int column, int value, XlsxColumnWidths widths) {
+        row.createCell(column).setCellValue(value);
+        widths.number(column, value, 0);
+    }
+
+    private static Double finiteOrNull(double value) {
+        return Double.isFinite(value) ? value : null;
+    }
+
+    private static void setNumber(Row row, int column, Double value, CellStyle style, XlsxColumnWidths widths) {
+        Cell cell = row.createCell(column);
+        if (value != null) {
+            cell.setCellValue(value);
+            cell.setCellStyle(style);
+            widths.number(column, value, NUMBER_DECIMALS);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.rgbradford.backend.service.impl;
+
+import com.rgbradford.backend.dto.projection.WellAnalysisRow;
+import com.rgbradford.backend.entity.PlateLayout;
+import com.rgbradford.backend.entity.PlateResultSnapshot;
+import com.rgbradford.backend.event.PlateDataChangedEvent;
+import com.rgbradford.backend.repository.PlateLayoutRepository;
+import com.rgbradford.backend.repository.PlateResultSnapshotRepository;
+import com.rgbradford.backend.repository.WellAnalysisRepository;
+import com.rgbradford.backend.service.interfaces.PlateResultSnapshotService;
+import com.rgbradford.backend.util.PlateResultSnapshotCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+
+@Service
+public class PlateResultSnapshotServiceImpl implements PlateResultSnapshotService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PlateResultSnapshotServiceImpl.class);
+
+    private final PlateResultSnapshotRepository plateResultSnapshotRepository;
+    private final PlateLayoutRepository plateLayoutRepository;
+    private final WellAnalysisRepository wellAnalysisRepository;
+    private final TransactionTemplate writeTransaction;
+
+    @Value("${plate-results.snapshots.enabled:true}")
+    private boolean enabled;
+
+    public PlateResultSnapshotServiceImpl(PlateResultSnapshotRepository plateResultSnapshotRepository,
+                                          PlateLayoutRepository plateLayoutRepository,
+                                          WellAnalysisRepository wellAnalysisRepository,
+                                          PlatformTransactionManager transactionManager) {
+        this.plateResultSnapshotRepository = plateResultSnapshotRepository;
+        this.plateLayoutRepository = plateLayoutRepository;
+        this.wellAnalysisRepository = wellAnalysisRepository;
+        // Snapshots are written from read paths, so they get their own short transaction
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public List<WellAnalysisRow> getRows(Long plateLayoutId) {
+        if (!enabled) {
+            return wellAnalysisRepository.findRowsByPlateLayoutId(plateLayoutId);
+        }
+
+        Optional<PlateResultSnapshot> current = plateResultSnapshotRepository.findCurrent(plateLayoutId);
+        if (current.isPresent() && current.get().getFormatVersion() == PlateResultSnapshotCodec.FORMAT_VERSION) {
+            try {
+                return PlateResultSnapshotCodec.decode(current.get().getData());
+            } catch (IllegalArgumentException e) {
+                logger.warn("Discarding unreadable result snapshot of plate layout {}: {}", plateLayoutId, e.getMessage());
+            }
+        }
+
+        // Versions first, rows second: if an analysis or a concentration update lands in between, the snapshot
+        // is stored under the older versions and is simply never matched, instead of pinning old rows to the new ones
+        Optional<PlateLayout> plateLayout = plateLayoutRepository.findById(plateLayoutId);
+        Long version = plateLayout.map(PlateLayout::getAnalysisVersion).orElse(null);
+        Long concentrationVersion = plateLayout.map(PlateLayout::getConcentrationVersion).orElse(null);
+        List<WellAnalysisRow> rows = wellAnalysisRepository.findRowsByPlateLayoutId(plateLayoutId);
+        if (version != null && !rows.isEmpty()) {
+            store(plateLayoutId, version, concentrationVersion, rows);
+        }
+        return rows;
+    }
+
+    @Override
+    public void invalidate(Long plateLayoutId) {
+        plateResultSnapshotRepository.deleteByPlateLayoutId(plateLayoutId);
+    }
+
+    // Snapshots embed well metadata; analysis runs need no eviction since they bump the version checked on read
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onPlateDataChanged(PlateDataChangedEvent event) {
+        if (event.getChange() == PlateDataChangedEvent.Change.WELLS || event.getChange() == PlateDataChangedEvent.Change.PLATE_DELETED) {
+            invalidate(event.getPlateLayoutId());
+        }
+    }
+
+    private void store(Long plateLayoutId, Long version, Long concentrationVersion, List<WellAnalysisRow> rows) {
+        byte[] data = PlateResultSnapshotCodec.encode(rows);
+        try {
+            writeTransaction.executeWithoutResult(status -> {
+                PlateResultSnapshot snapshot = plateResultSnapshotRepository.findByPlateLayoutId(plateLayoutId)
+                        .orElseGet(() -> PlateResultSnapshot.builder().plateLayoutId(plateLayoutId).build());
+                snapshot.setAnalysisVersion(version);
+                snapshot.setConcentrationVersion(concentrationVersion);
+                snapshot.setFormatVersion(PlateResultSnapshotCodec.FORMAT_VERSION);
+                snapshot.setWellCount(rows.size());
+                snapshot.setData(data);
+                plateResultSnapshotRepository.save(snapshot);
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Another request stored the snapshot concurrently; the rows read here are still valid
+            logger.debug("Result snapshot of plate layout {} was written concurrently", plateLayoutId);
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.rgbradford.backend.service.impl;
+
+import com.rgbradford.backend.dto.response.RecalculationJobResponse;
+import com.rgbradford.backend.entity.CurveModelType;
+import com.rgbradford.backend.entity.RecalculationJob;
+import com.rgbradford.backend.entity.RecalculationJobStatus;
+import com.rgbradford.backend.repository.PlateLayoutRepository;
+import com.rgbradford.backend.repository.ProjectRepository;
+import com.rgbradford.backend.repository.RecalculationJobRepository;
+import com.rgbradford.backend.service.interfaces.RecalculationJobService;
+import com.rgbradford.backend.service.interfaces.StandardCurveService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+@Service
+public class RecalculationJobServiceImpl implements RecalculationJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecalculationJobServiceImpl.class);
+
+    private static final Set<RecalculationJobStatus> UNFINISHED =
+            EnumSet.of(RecalculationJobStatus.QUEUED, RecalculationJobStatus.RUNNING);
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final RecalculationJobRepository recalculationJobRepository;
+    private final PlateLayoutRepository plateLayoutRepository;
+    private final ProjectRepository projectRepository;
+    private final StandardCurveService standardCurveService;
+    private final int chunkSize;
+    // Jobs run one at a time; each fans its current chunk out over a fixed number of workers, so the
+    // number of concurrent curve transactions (and pooled connections) never exceeds the parallelism
+    private final ExecutorService coordinator;
+    private final ExecutorService workers;
+
+    public RecalculationJobServiceImpl(RecalculationJobRepository recalculationJobRepository,
+                                       PlateLayoutRepository plateLayoutRepository,
+                                       ProjectRepository projectRepository,
+                                       StandardCurveService standardCurveService,
+                                       @Value("${standard-curves.recalculation.parallelism:4}") int parallelism,
+                                       @Value("${standard-curves.recalculation.chunk-size:50}") int chunkSize) {
+        this.recalculationJobRepository = recalculationJobRepository;
+        this.plateLayoutRepository = plateLayoutRepository;
+        this.projectRepository = projectRepository;
+        this.standardCurveService = standardCurveService;
+        this.chunkSize = chunkSize;
+        this.coordinator = Executors.newSingleThreadExecutor();
+        this.workers = Executors.newFixedThreadPool(parallelism);
+    }
+
+    @Override
+    public RecalculationJobResponse startJob(Long userId, Long projectId, CurveModelType model) {
+        if (projectId != null && !projectRepository.existsByIdAndUserId(projectId, userId)) {
+            throw new IllegalArgumentException("Project not found");
+        }
+        RecalculationJob running = recalculationJobRepository
+                .findFirstByUserIdAndProjectIdAndStatusIn(userId, projectId, UNFINISHED)
+                .filter(job -> job.getModelType() == model)
+                .orElse(null);
+        if (running != null) {
+            return convertToResponse(running);
+        }
+
+        RecalculationJob job = recalculationJobRepository.save(RecalculationJob.builder()
+                .userId(userId)
+                .projectId(projectId)
+                .modelType(model)
+                .status(RecalculationJobStatus.QUEUED)
+                .totalPlates((int) plateLayoutRepository.countByOwner(userId, projectId))
+                .lastPlateLayoutId(0L)
+                .build());
+        // Submitted after the insert has committed so the worker always finds the row
+        coordinator.submit(() -> run(job.getId()));
+        logger.info("Queued recalculation job {} for {} plate layouts", job.getId(), job.getTotalPlates());
+        return convertToResponse(job);
+    }
+
+    @Override
+    public RecalculationJobResponse getJob(Long jobId, Long userId) {
+        return recalculationJobRepository.findByIdAndUserId(jobId, userId)
+                .map(this::convertToResponse)
+                .orElseThrow(() -> new IllegalArgumentException("Recalculation job not found"));
+    }
+
+    @Override
+    public List<RecalculationJobResponse> getJobs(Long userId) {
+        return recalculationJobRepository.findByUserIdOrderByIdDesc(userId).stream()
+                .map(this::convertToResponse)
+                .collect(Collectors.toList());
+    }
+
+    // Jobs interrupted by a shutdown continue after their last saved chunk
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeUnfinishedJobs() {
+        for (RecalculationJob job : recalculationJobRepository.findByStatusInOrderByIdAsc(UNFINISHED)) {
+            logger.info("Resuming recalculation job {} after plate layout {}", job.getId(), job.getLastPlateLayoutId());
+            coordinator.submit(() -> run(job.getId()));
+        }
+    }
+
+    private void run(Long jobId) {
+        RecalculationJob job = recalculationJobRepository.findById(jobId).orElse(null);
+        if (job == null || !UNFINISHED.contains(job.getStatus())) {
+            return;
+        }
+        job.setStatus(RecalculationJobStatus.RUNNING);
+        job = recalculationJobRepository.save(job);
+
+        try {
+            CurveModelType model = job.getModelType();
+            Long cursor = job.getLastPlateLayoutId() != null ? job.getLastPlateLayoutId() : 0L;
+            List<Long> chunk;
+            while (!(chunk = plateLayoutRepository.findIdsByOwnerAfter(job.getUserId(), job.getProjectId(), cursor,
+                    PageRequest.of(0, chunkSize))).isEmpty()) {
+                List<Future<String>> results = new ArrayList<>(chunk.size());
+                for (Long plateLayoutId : chunk) {
+                    results.add(workers.submit(() -> recalculate(plateLayoutId, model)));
+                }
+                int failed = 0;
+                String lastError = null;
+                for (Future<String> result : results) {
+                    String error = result.get();
+                    if (error != null) {
+                        failed++;
+                        lastError = error;
+                    }
+                }
+
+                // Each plate committed on its own; the cursor moves once the whole chunk is done, so a
+                // restart repeats at most one chunk (refitting a curve is idempotent)
+                cursor = chunk.get(chunk.size() - 1);
+                job.setLastPlateLayoutId(cursor);
+                job.setProcessedPlates(job.getProcessedPlates() + chunk.size());
+                job.setFailedPlates(job.getFailedPlates() + failed);
+                if (lastError != null) {
+                    job.setLastError(truncate(lastError));
+                }
+                job = recalculationJobRepository.save(job);
+            }
+            job.setStatus(RecalculationJobStatus.COMPLETED);
+        } catch (InterruptedException e) {
+            // Shutting down: the job stays RUNNING and is resumed on the next startup
+            Thread.currentThread().interrupt();
+            return;
+        } catch (ExecutionException | RuntimeException e) {
+            logger.error("Recalculation job {} failed", jobId, e);
+            job.setStatus(RecalculationJobStatus.FAILED);
+            job.setLastError(truncate(String.valueOf(e.getMessage())));
+        }
+        job.setFinishedAt(LocalDateTime.now());
+        recalculationJobRepository.save(job);
+        logger.info("Recalculation job {} {}: {} plate layouts, {} failed", jobId, job.getStatus(),
+                job.getProcessedPlates(), job.getFailedPlates());
+    }
+
+    // Runs in its own transaction; returns the failure message of plates whose curve cannot be fitted
+    private String recalculate(Long plateLayoutId, CurveModelType model) {
+        try {
+            standardCurveService.calculateAndStoreStandardCurve(plateLayoutId, model);
+            return null;
+        } catch (RuntimeException e) {
+            logger.debug("Recalculation of plate layout {} failed: {}", plateLayoutId, e.getMessage());
+            return "Plate layout " + plateLayoutId + ": " + e.getMessage();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        coordinator.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    private static String truncate(String message) {
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+
+    private RecalculationJobResponse convertToResponse(RecalculationJob job) {
+        return RecalculationJobResponse.builder()
+                .id(job.getId())
+                .projectId(job.getProjectId())
+                .model(job.getModelType())
+                .status(job.getStatus())
+                .totalPlates(job.getTotalPlates())
+                .processedPlates(job.getProcessedPlates())
+                .failedPlates(job.getFailedPlates())
+                .lastError(job.getLastError())
+                .createdAt(job.getCreatedAt())
+                .updatedAt(job.getUpdatedAt())
+                .finishedAt(job.getFinishedAt())
+                .build();
+    }
+}
@@ -0,0 +1,200 @@
+package com.rgbradford.backend.service.impl;
+
+import com.rgbradford.backend.dto.request.ReferenceCurveRequest;
+import com.rgbradford.backend.dto.response.ReferenceCurveResponse;
+import com.rgbradford.backend.entity.CalibrationCurve;
+import com.rgbradford.backend.entity.CurveModelType;
+import com.rgbradford.backend.entity.PlateLayout;
+import com.rgbradford.backend.entity.ReferenceCurve;
+import com.rgbradford.backend.event.PlateDataChangedEvent;
+import com.rgbradford.backend.repository.CalibrationCurveRepository;
+import com.rgbradford.backend.repository.PlateLayoutRepository;
+import com.rgbradford.backend.repository.ProjectRepository;
+import com.rgbradford.backend.repository.ReferenceCurveRepository;
+import com.rgbradford.backend.service.interfaces.ConcentrationService;
+import com.rgbradford.backend.service.interfaces.ReferenceCurveService;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@Transactional
+public class ReferenceCurveServiceImpl implements ReferenceCurveService {
+
+    private final ReferenceCurveRepository referenceCurveRepository;
+    private final PlateLayoutRepository plateLayoutRepository;
+    private final ProjectRepository projectRepository;
+    private final CalibrationCurveRepository calibrationCurveRepository;
+    private final ConcentrationService concentrationService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ReferenceCurveServiceImpl(ReferenceCurveRepository referenceCurveRepository,
+                                     PlateLayoutRepository plateLayoutRepository,
+                                     ProjectRepository projectRepository,
+                                     CalibrationCurveRepository calibrationCurveRepository,
+                                     ConcentrationService concentrationService,
+                                     ApplicationEventPublisher eventPublisher) {
+        this.referenceCurveRepository = referenceCurveRepository;
+        this.plateLayoutRepository = plateLayoutRepository;
+        this.projectRepository = projectRepository;
+        this.calibrationCurveRepository = calibrationCurveRepository;
+        this.concentrationService = concentrationService;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public ReferenceCurveResponse createReferenceCurve(Long userId, ReferenceCurveRequest request) {
+        ReferenceCurve curve = ReferenceCurve.builder().userId(userId).build();
+        applyRequest(curve, userId, request);
+        return convertToResponse(referenceCurveRepository.save(curve), List.of());
+    }
+
+    @Override
+    public ReferenceCurveResponse updateReferenceCurve(Long referenceCurveId, Long userId, ReferenceCurveRequest request) {
+        ReferenceCurve curve = findOwned(referenceCurveId, userId);
+        List<Long> attached = plateLayoutRepository.findIdsByReferenceCurveId(referenceCurveId);
+        if (request.getProjectId() != null && plateLayoutRepository.findAllById(attached).stream()
+                .anyMatch(plate -> !request.getProjectId().equals(plate.getProject().getId()))) {
+            throw new IllegalArgumentException("Reference curve is attached to plate layouts of other projects");
+        }
+        applyRequest(curve, userId, request);
+        referenceCurveRepository.save(curve);
+
+        // Dependent plates only need their concentrations rewritten, not a refit
+        List<Long> updated = concentrationService.applyReferenceCurve(curve);
+        updated.forEach(this::publishCurveChanged);
+        return convertToResponse(curve, updated);
+    }
+
+    @Override
+    public void deleteReferenceCurve(Long referenceCurveId, Long userId) {
+        ReferenceCurve curve = findOwned(referenceCurveId, userId);
+        List<PlateLayout> attached = plateLayoutRepository.findAllById(
+                plateLayoutRepository.findIdsByReferenceCurveId(referenceCurveId));
+        attached.forEach(plate -> plate.setReferenceCurveId(null));
+        plateLayoutRepository.saveAll(attached);
+        referenceCurveRepository.delete(curve);
+
+        for (PlateLayout plate : attached) {
+            concentrationService.applyStoredCurve(plate.getId());
+            publishCurveChanged(plate.getId());
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ReferenceCurveResponse getReferenceCurve(Long referenceCurveId, Long userId) {
+        ReferenceCurve curve = findOwned(referenceCurveId, userId);
+        return convertToResponse(curve, plateLayoutRepository.findIdsByReferenceCurveId(referenceCurveId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ReferenceCurveResponse> getReferenceCurves(Long userId, Long projectId) {
+        return referenceCurveRepository.findAvailable(userId, projectId).stream()
+                .map(curve -> convertToResponse(curve, plateLayoutRepository.findIdsByReferenceCurveId(curve.getId())))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public ReferenceCurveResponse attachPlate(Long referenceCurveId, Long plateLayoutId, Long userId) {
+        ReferenceCurve curve = findOwned(referenceCurveId, userId);
+        PlateLayout plate = findOwnedPlate(plateLayoutId, userId);
+        if (curve.getProjectId() != null && !curve.getProjectId().equals(plate.getProject().getId())) {
+            throw new IllegalArgumentException("Reference curve belongs to another project");
+        }
+        plate.setReferenceCurveId(referenceCurveId);
+        plateLayoutRepository.save(plate);
+
+        concentrationService.applyStoredCurve(plateLayoutId);
+        publishCurveChanged(plateLayoutId);
+        return convertToResponse(curve, plateLayoutRepository.findIdsByReferenceCurveId(referenceCurveId));
+    }
+
+    @Override
+    public void detachPlate(Long referenceCurveId, Long plateLayoutId, Long userId) {
+        findOwned(referenceCurveId, userId);
+        PlateLayout plate = findOwnedPlate(plateLayoutId, userId);
+        if (!referenceCurveId.equals(plate.getReferenceCurveId())) {
+            throw new IllegalArgumentException("Plate layout is not attached to this reference curve");
+        }
+        plate.setReferenceCurveId(null);
+        plateLayoutRepository.save(plate);
+
+        concentrationService.applyStoredCurve(plateLayoutId);
+        publishCurveChanged(plateLayoutId);
+    }
+
+    private void applyRequest(ReferenceCurve curve, Long userId, ReferenceCurveRequest request) {
+        if (request.getName() == null || request.getName().isBlank()) {
+            throw new IllegalArgumentException("Name is required");
+        }
+        if (request.getProjectId() != null && !projectRepository.existsByIdAndUserId(request.getProjectId(), userId)) {
+            throw new IllegalArgumentException("Project not found");
+        }
+
+        CurveModelType model;
+        double[] parameters;
+        if (request.getSourcePlateLayoutId() != null) {
+            findOwnedPlate(request.getSourcePlateLayoutId(), userId);
+            CalibrationCurve source = calibrationCurveRepository.findByPlateLayoutId(request.getSourcePlateLayoutId())
+                    .orElseThrow(() -> new IllegalArgumentException("Source plate layout has no standard curve"));
+            // Curves stored before model selection are linear
+            boolean modeled = source.getModelType() != null && source.getModelParameters() != null;
+            model = modeled ? source.getModelType() : CurveModelType.LINEAR;
+            parameters = modeled ? source.getModelParameters() : new double[]{source.getSlope(), source.getIntercept()};
+        } else {
+            model = request.getModel();
+            parameters = request.getParameters();
+            if (model == null || parameters == null || parameters.length != model.getParameterCount()) {
+                throw new IllegalArgumentException("Either a source plate layout or a model with its parameters is required");
+            }
+            if (Arrays.stream(parameters).anyMatch(p -> !Double.isFinite(p))) {
+                throw new IllegalArgumentException("Curve parameters must be finite");
+            }
+        }
+
+        curve.setName(request.getName().trim());
+        curve.setProjectId(request.getProjectId());
+        curve.setModelType(model);
+        curve.setModelParameters(parameters.clone());
+        curve.setSourcePlateLayoutId(request.getSourcePlateLayoutId());
+    }
+
+    private ReferenceCurve findOwned(Long referenceCurveId, Long userId) {
+        return referenceCurveRepository.findByIdAndUserId(referenceCurveId, userId)
+                .orElseThrow(() -> new IllegalArgumentException("Reference curve not found"));
+    }
+
+    private PlateLayout findOwnedPlate(Long plateLayoutId, Long userId) {
+        if (!plateLayoutRepository.existsByIdAndProjectUserId(plateLayoutId, userId)) {
+            throw new IllegalArgumentException("Plate layout not found");
+        }
+        return plateLayoutRepository.findById(plateLayoutId)
+                .orElseThrow(() -> new IllegalArgumentException("Plate layout not found"));
+    }
+
+    // Curve-derived caches (standard curves, confidence intervals) drop the plate; its results snapshot
+    // was already invalidated by ConcentrationService
+    private void publishCurveChanged(Long plateLayoutId) {
+        eventPublisher.publishEvent(new PlateDataChangedEvent(plateLayoutId, PlateDataChangedEvent.Change.CALIBRATION_CURVE));
+    }
+
+    private ReferenceCurveResponse convertToResponse(ReferenceCurve curve, List<Long> plateLayoutIds) {
+        return ReferenceCurveResponse.builder()
+                .id(curve.getId())
+                .name(curve.getName())
+                .projectId(curve.getProjectId())
+                .model(curve.getModelType())
+                .parameters(curve.getModelParameters())
+                .sourcePlateLayoutId(curve.getSourcePlateLayoutId())
+                .plateLayoutIds(plateLayoutIds)
+                .createdAt(curve.getCreatedAt())
+                .updatedAt(curve.getUpdatedAt())
+                .build();
+    }
+}
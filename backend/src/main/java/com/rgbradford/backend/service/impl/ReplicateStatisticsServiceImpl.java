@@ -0,0 +1,64 @@
+package com.rgbradford.backend.service.impl;
+
+import com.rgbradford.backend.dto.projection.WellAnalysisRow;
+import com.rgbradford.backend.dto.response.ReplicateGroupStatistics;
+import com.rgbradford.backend.entity.PlateLayout;
+import com.rgbradford.backend.event.PlateDataChangedEvent;
+import com.rgbradford.backend.repository.PlateLayoutRepository;
+import com.rgbradford.backend.service.interfaces.PlateResultSnapshotService;
+import com.rgbradford.backend.service.interfaces.ReplicateStatisticsService;
+import com.rgbradford.backend.util.ReplicateStatistics;
+import com.rgbradford.backend.util.VersionedPlateCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Optional;
+
+@Service
+public class ReplicateStatisticsServiceImpl implements ReplicateStatisticsService {
+
+    private final PlateLayoutRepository plateLayoutRepository;
+    private final PlateResultSnapshotService plateResultSnapshotService;
+    private final VersionedPlateCache<ReplicateGroupStatistics> results;
+
+    public ReplicateStatisticsServiceImpl(PlateLayoutRepository plateLayoutRepository,
+                                          PlateResultSnapshotService plateResultSnapshotService,
+                                          @Value("${replicate-statistics.cache.max-plates:2000}") long maxPlates) {
+        this.plateLayoutRepository = plateLayoutRepository;
+        this.plateResultSnapshotService = plateResultSnapshotService;
+        this.results = new VersionedPlateCache<>(maxPlates);
+    }
+
+    @Override
+    public Optional<ReplicateGroupStatistics> getStatistics(Long plateLayoutId) {
+        Optional<PlateLayout> plateLayout = plateLayoutRepository.findById(plateLayoutId);
+        if (plateLayout.isEmpty()) {
+            return Optional.empty();
+        }
+        Long version = plateLayout.get().getAnalysisVersion();
+        Versions versions = new Versions(version, plateLayout.get().getConcentrationVersion());
+        ReplicateGroupStatistics statistics = results.get(plateLayoutId, versions, () -> {
+            List<WellAnalysisRow> rows = plateResultSnapshotService.getRows(plateLayoutId);
+            if (rows.isEmpty()) {
+                return null;
+            }
+            return ReplicateGroupStatistics.builder()
+                    .plateLayoutId(plateLayoutId)
+                    .analysisVersion(version)
+                    .groups(ReplicateStatistics.compute(rows))
+                    .build();
+        });
+        return Optional.ofNullable(statistics);
+    }
+
+    // Well edits can change replicate groups without touching either version
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPlateDataChanged(PlateDataChangedEvent event) {
+        results.evict(event.getPlateLayoutId());
+    }
+
+    private record Versions(Long analysisVersion, Long concentrationVersion) {
+    }
+}
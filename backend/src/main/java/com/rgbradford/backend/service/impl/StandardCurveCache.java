@@ -0,0 +1,53 @@
+package com.rgbradford.backend.service.impl;
+
+import com.rgbradford.backend.dto.StandardCurveDto;
+import com.rgbradford.backend.event.PlateDataChangedEvent;
+import com.rgbradford.backend.util.VersionedPlateCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.function.Supplier;
+
+/**
+ * In-memory standard curves keyed by plate layout and the plate's analysis and concentration versions.
+ *
+ * A newer version replaces the cached curve even if no event was seen. Every stored curve fit rewrites the
+ * concentrations, so a curve loaded before a recalculation committed can only be cached under the old
+ * concentration version. Edits that bump neither version (well metadata) evict through {@link PlateDataChangedEvent}.
+ * Concurrent misses for the same plate share one computation (see {@link VersionedPlateCache}).
+ * Cached DTOs are shared between callers and must not be modified.
+ */
+@Component
+public class StandardCurveCache {
+
+    private final VersionedPlateCache<StandardCurveDto> curves;
+
+    public StandardCurveCache(@Value("${standard-curves.cache.max-plates:2000}") long maxPlates) {
+        this.curves = new VersionedPlateCache<>(maxPlates);
+    }
+
+    /**
+     * @param plateLayoutId The plate layout the curve belongs to
+     * @param analysisVersion The plate's current analysis version (may be null for never analyzed plates)
+     * @param concentrationVersion The plate's current concentration version (may be null)
+     * @param loader Computes the curve on a miss; runs on the calling thread
+     * @return The cached or freshly computed curve
+     */
+    public StandardCurveDto get(Long plateLayoutId, Long analysisVersion, Long concentrationVersion,
+                                Supplier<StandardCurveDto> loader) {
+        return curves.get(plateLayoutId, new Versions(analysisVersion, concentrationVersion), loader);
+    }
+
+    public void evict(Long plateLayoutId) {
+        curves.evict(plateLayoutId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPlateDataChanged(PlateDataChangedEvent event) {
+        evict(event.getPlateLayoutId());
+    }
+
+    private record Versions(Long analysisVersion, Long concentrationVersion) {
+    }
+}
@@ -0,0 +1,171 @@
+package com.rgbradford.backend.service.impl;
+
+import com.rgbradford.backend.dto.RegressionResultDto;
+import com.rgbradford.backend.dto.StandardCurveDto;
+import com.rgbradford.backend.dto.StandardCurvePointDto;
+import com.rgbradford.backend.dto.projection.WellAnalysisRow;
+import com.rgbradford.backend.dto.response.StandardCurveConfidence;
+import com.rgbradford.backend.entity.CurveModelType;
+import com.rgbradford.backend.entity.PlateLayout;
+import com.rgbradford.backend.entity.WellType;
+import com.rgbradford.backend.event.PlateDataChangedEvent;
+import com.rgbradford.backend.repository.PlateLayoutRepository;
+import com.rgbradford.backend.service.interfaces.PlateResultSnapshotService;
+import com.rgbradford.backend.service.interfaces.StandardCurveConfidenceService;
+import com.rgbradford.backend.service.interfaces.StandardCurveService;
+import com.rgbradford.backend.util.StandardCurveBootstrap;
+import com.rgbradford.backend.util.StandardCurveModels;
+import com.rgbradford.backend.util.VersionedPlateCache;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+@Service
+public class StandardCurveConfidenceServiceImpl implements StandardCurveConfidenceService {
+
+    private static final int MIN_ITERATIONS = 100;
+    private static final int BAND_POINTS = 25;
+
+    private final StandardCurveService standardCurveService;
+    private final PlateLayoutRepository plateLayoutRepository;
+    private final PlateResultSnapshotService plateResultSnapshotService;
+    private final int maxIterations;
+    // Dedicated pool so bootstrap refits never occupy the common pool used by parallel streams
+    private final ForkJoinPool pool;
+    private final VersionedPlateCache<StandardCurveConfidence> results;
+
+    public StandardCurveConfidenceServiceImpl(StandardCurveService standardCurveService,
+                                              PlateLayoutRepository plateLayoutRepository,
+                                              PlateResultSnapshotService plateResultSnapshotService,
+                                              @Value("${standard-curves.bootstrap.parallelism:0}") int parallelism,
+                                              @Value("${standard-curves.bootstrap.max-iterations:5000}") int maxIterations,
+                                              @Value("${standard-curves.bootstrap.cache.max-plates:500}") long maxPlates) {
+        this.standardCurveService = standardCurveService;
+        this.plateLayoutRepository = plateLayoutRepository;
+        this.plateResultSnapshotService = plateResultSnapshotService;
+        this.maxIterations = maxIterations;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.results = new VersionedPlateCache<>(maxPlates);
+    }
+
+    @Override
+    public StandardCurveConfidence getConfidence(Long plateLayoutId, int iterations, double level) {
+        if (iterations < MIN_ITERATIONS || iterations > maxIterations) {
+            throw new IllegalArgumentException("iterations must be between " + MIN_ITERATIONS + " and " + maxIterations);
+        }
+        if (!(level >= 0.5 && level < 1.0)) {
+            throw new IllegalArgumentException("level must be at least 0.5 and below 1");
+        }
+
+        PlateLayout plateLayout = plateLayoutRepository.findById(plateLayoutId)
+                .orElseThrow(() -> new IllegalArgumentException("Plate layout not found"));
+        // The intervals come from refitting the plate's own standards, so they would not describe the
+        // concentrations a reference curve produced
+        if (plateLayout.getReferenceCurveId() != null) {
+            throw new IllegalArgumentException("Plate layout " + plateLayoutId + " uses reference curve "
+                    + plateLayout.getReferenceCurveId() + "; confidence intervals are only available for plates "
+                    + "using their own standard curve");
+        }
+        Long version = plateLayout.getAnalysisVersion();
+        StandardCurveDto curve = standardCurveService.getStandardCurve(plateLayoutId);
+        RegressionResultDto regression = curve.getRegression();
+        if (regression == null || regression.getModel() == null || regression.getParameters() == null) {
+            throw new IllegalArgumentException("No standard curve available for plate layout " + plateLayoutId);
+        }
+        if (curve.getPoints().size() <= regression.getModel().getParameterCount()) {
+            throw new IllegalArgumentException("Bootstrap intervals need more standard concentrations than the "
+                    + regression.getModel() + " model has parameters");
+        }
+
+        // The curve's model and parameters identify its version; samples change with the analysis version
+        Key key = new Key(regression.getModel(), Arrays.toString(regression.getParameters()), iterations, level);
+        return results.get(plateLayoutId, version, key, () -> compute(plateLayoutId, curve, iterations, level));
+    }
+
+    private StandardCurveConfidence compute(Long plateLayoutId, StandardCurveDto curve, int iterations, double level) {
+        RegressionResultDto regression = curve.getRegression();
+        CurveModelType model = regression.getModel();
+        List<StandardCurvePointDto> points = curve.getPoints();
+        double[] ratios = points.stream().mapToDouble(StandardCurvePointDto::getBlueToGreenRatio).toArray();
+        double[] concentrations = points.stream().mapToDouble(StandardCurvePointDto::getConcentration).toArray();
+
+        // Seeded by the curve so a recomputation after cache eviction reproduces the same intervals
+        long seed = 31L * plateLayoutId + Arrays.hashCode(regression.getParameters());
+        double[] replicates = StandardCurveBootstrap.replicates(model, ratios, concentrations,
+                regression.getParameters(), iterations, seed, pool);
+        int k = model.getParameterCount();
+        int successful = 0;
+        for (int i = 0; i < iterations; i++) {
+            if (!Double.isNaN(replicates[i * k])) {
+                successful++;
+            }
+        }
+
+        double[] buffer = new double[iterations];
+        double minRatio = Arrays.stream(ratios).min().orElse(0.0);
+        double maxRatio = Arrays.stream(ratios).max().orElse(0.0);
+        List<StandardCurveConfidence.Interval> band = new ArrayList<>(BAND_POINTS);
+        for (int i = 0; i < BAND_POINTS; i++) {
+            double ratio = minRatio + (maxRatio - minRatio) * i / (BAND_POINTS - 1);
+            double[] bounds = StandardCurveBootstrap.interval(model, replicates, ratio, level, buffer);
+            band.add(StandardCurveConfidence.Interval.builder()
+                    .blueToGreenRatio(ratio)
+                    .concentration(valueOrNull(StandardCurveModels.concentration(regression, ratio)))
+                    .lower(bounds != null ? bounds[0] : null)
+                    .upper(bounds != null ? bounds[1] : null)
+                    .build());
+        }
+
+        List<StandardCurveConfidence.SampleInterval> samples = new ArrayList<>();
+        for (WellAnalysisRow row : plateResultSnapshotService.getRows(plateLayoutId)) {
+            if (row.getWellType() != WellType.SAMPLE || row.getBlueToGreenRatio() == null) {
+                continue;
+            }
+            double ratio = row.getBlueToGreenRatio();
+            double[] bounds = StandardCurveBootstrap.interval(model, replicates, ratio, level, buffer);
+            samples.add(StandardCurveConfidence.SampleInterval.builder()
+                    .wellId(row.getWellId())
+                    .position(row.getPosition())
+                    .sampleName(row.getSampleName())
+                    .blueToGreenRatio(ratio)
+                    .concentration(valueOrNull(StandardCurveModels.concentration(regression, ratio)))
+                    .lower(bounds != null ? bounds[0] : null)
+                    .upper(bounds != null ? bounds[1] : null)
+                    .build());
+        }
+
+        return StandardCurveConfidence.builder()
+                .plateLayoutId(plateLayoutId)
+                .model(model)
+                .confidenceLevel(level)
+                .iterations(iterations)
+                .successfulIterations(successful)
+                .band(band)
+                .samples(samples)
+                .build();
+    }
+
+    // Sample metadata edits do not change the curve version, so drop everything cached for the plate
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPlateDataChanged(PlateDataChangedEvent event) {
+        results.evict(event.getPlateLayoutId());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private static Double valueOrNull(double value) {
+        return Double.isNaN(value) ? null : value;
+    }
+
+    private record Key(CurveModelType model, String parameters, int iterations, double level) {
+    }
+}
@@ -4,12 +4,19 @@ import com.rgbradford.backend.dto.RegressionResultDto;
 import com.rgbradford.backend.dto.StandardCurveDto;
 import com.rgbradford.backend.dto.StandardCurvePointDto;
 import com.rgbradford.backend.entity.*;
+import com.rgbradford.backend.event.PlateDataChangedEvent;
 import com.rgbradford.backend.repository.CalibrationCurveRepository;
 import com.rgbradford.backend.repository.PlateLayoutRepository;
+import com.rgbradford.backend.repository.ReferenceCurveRepository;
 import com.rgbradford.backend.repository.WellRepository;
+import com.rgbradford.backend.service.interfaces.ConcentrationService;
 import com.rgbradford.backend.service.interfaces.StandardCurveService;
-import org.apache.commons.math3.fitting.PolynomialCurveFitter;
-import org.apache.commons.math3.fitting.WeightedObservedPoints;
+import com.rgbradford.backend.util.LinearRegressionAccumulator;
+import com.rgbradford.backend.util.NonlinearCurveFitter;
+import org.apache.commons.math3.exception.MathIllegalStateException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,30 +27,72 @@ import java.util.stream.Collectors;
 @Transactional
 public class StandardCurveServiceImpl implements StandardCurveService {
 
+    private static final Logger logger = LoggerFactory.getLogger(StandardCurveServiceImpl.class);
+
     private final WellRepository wellRepository;
     private final CalibrationCurveRepository calibrationCurveRepository;
     private final PlateLayoutRepository plateLayoutRepository;
+    private final StandardCurveCache standardCurveCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ConcentrationService concentrationService;
+    private final ReferenceCurveRepository referenceCurveRepository;
 
     public StandardCurveServiceImpl(WellRepository wellRepository,
                                   CalibrationCurveRepository calibrationCurveRepository,
-                                  PlateLayoutRepository plateLayoutRepository) {
+                                  PlateLayoutRepository plateLayoutRepository,
+                                  StandardCurveCache standardCurveCache,
+                                  ApplicationEventPublisher eventPublisher,
+                                  ConcentrationService concentrationService,
+                                  ReferenceCurveRepository referenceCurveRepository) {
         this.wellRepository = wellRepository;
         this.calibrationCurveRepository = calibrationCurveRepository;
         this.plateLayoutRepository = plateLayoutRepository;
+        this.standardCurveCache = standardCurveCache;
+        this.eventPublisher = eventPublisher;
+        this.concentrationService = concentrationService;
+        this.referenceCurveRepository = referenceCurveRepository;
     }
     
     @Override
     public StandardCurveDto getStandardCurve(Long plateLayoutId) {
-        // First try to get from database
-        StandardCurveDto storedCurve = getStoredStandardCurve(plateLayoutId);
-        if (storedCurve != null) {
-            return storedCurve;
-        }
-        
-        // If not found, calculate and store a new one
-        return calculateAndStoreStandardCurve(plateLayoutId);
+        // Plate layouts come from the second-level cache, so the version lookup is usually free. Versions are
+        // read before the curve: a recalculation committing in between leaves the result under the old versions
+        Optional<PlateLayout> plateLayout = plateLayoutRepository.findById(plateLayoutId);
+        Long analysisVersion = plateLayout.map(PlateLayout::getAnalysisVersion).orElse(null);
+        Long concentrationVersion = plateLayout.map(PlateLayout::getConcentrationVersion).orElse(null);
+
+        return standardCurveCache.get(plateLayoutId, analysisVersion, concentrationVersion, () -> {
+            // First try to get from database
+            StandardCurveDto storedCurve = getStoredStandardCurve(plateLayoutId);
+            if (storedCurve != null) {
+                return storedCurve;
+            }
+
+            // If not found, calculate and store a new one
+            return calculateAndStore(plateLayoutId, null);
+        });
     }
     
+    @Override
+    public StandardCurveDto getEffectiveStandardCurve(Long plateLayoutId) {
+        return findReferenceCurve(plateLayoutId)
+                .map(this::convertToDto)
+                .orElseGet(() -> getStandardCurve(plateLayoutId));
+    }
+
+    @Override
+    public StandardCurveDto getEffectiveStoredCurve(Long plateLayoutId) {
+        return findReferenceCurve(plateLayoutId)
+                .map(this::convertToDto)
+                .orElseGet(() -> getStoredStandardCurve(plateLayoutId));
+    }
+
+    private Optional<ReferenceCurve> findReferenceCurve(Long plateLayoutId) {
+        return plateLayoutRepository.findById(plateLayoutId)
+                .map(PlateLayout::getReferenceCurveId)
+                .flatMap(referenceCurveRepository::findById);
+    }
+
     @Override
     public StandardCurveDto getStoredStandardCurve(Long plateLayoutId) {
         return calibrationCurveRepository.findByPlateLayoutId(plateLayoutId)
@@ -78,19 +127,55 @@ public class StandardCurveServiceImpl implements StandardCurveService {
                 .sorted(Comparator.comparingDouble(StandardCurvePointDto::getBlueToGreenRatio))
                 .collect(Collectors.toList());
 
+        // Curves stored before model selection are linear with parameters [m, b]
+        boolean modeled = curve.getModelType() != null && curve.getModelParameters() != null;
         return new StandardCurveDto(
             pointDtos,
             new RegressionResultDto(
                 curve.getSlope(),
                 curve.getIntercept(),
-                curve.getRSquared()
+                curve.getRSquared(),
+                curve.getStandardError(),
+                modeled ? curve.getModelType() : CurveModelType.LINEAR,
+                modeled ? curve.getModelParameters() : new double[]{curve.getSlope(), curve.getIntercept()}
             )
         );
     }
 
+    // A reference curve has no points or goodness of fit; a nonlinear one has no linear slope/intercept either
+    private StandardCurveDto convertToDto(ReferenceCurve curve) {
+        double[] parameters = curve.getModelParameters();
+        boolean linear = curve.getModelType() == CurveModelType.LINEAR;
+        return new StandardCurveDto(
+            List.of(),
+            new RegressionResultDto(
+                linear ? parameters[0] : Double.NaN,
+                linear ? parameters[1] : Double.NaN,
+                Double.NaN,
+                null,
+                curve.getModelType(),
+                parameters
+            ),
+            curve.getId(),
+            curve.getName()
+        );
+    }
+
     @Override
     @Transactional
     public StandardCurveDto calculateAndStoreStandardCurve(Long plateLayoutId) {
+        return calculateAndStoreStandardCurve(plateLayoutId, null);
+    }
+
+    @Override
+    @Transactional
+    public StandardCurveDto calculateAndStoreStandardCurve(Long plateLayoutId, CurveModelType model) {
+        StandardCurveDto result = calculateAndStore(plateLayoutId, model);
+        eventPublisher.publishEvent(new PlateDataChangedEvent(plateLayoutId, PlateDataChangedEvent.Change.CALIBRATION_CURVE));
+        return result;
+    }
+
+    private StandardCurveDto calculateAndStore(Long plateLayoutId, CurveModelType requestedModel) {
         // Get all standard wells for this plate layout with their analyses
         List<Well> standardWellsList = wellRepository.findByPlateLayoutIdAndType(plateLayoutId, WellType.STANDARD);
         
@@ -140,26 +225,45 @@ public class StandardCurveServiceImpl implements StandardCurveService {
         // Sort points by x (blueToGreenRatio) ascending
         points.sort(Comparator.comparingDouble(StandardCurvePointDto::getBlueToGreenRatio));
         
-        // Calculate linear regression if we have enough points
+        CalibrationCurve existing = calibrationCurveRepository.findByPlateLayoutId(plateLayoutId).orElse(null);
+        PlateLayout plateLayout = plateLayoutRepository.findById(plateLayoutId)
+                .orElseThrow(() -> new IllegalArgumentException("Plate layout not found"));
+        // Without an explicit choice a refit keeps the plate's current model
+        CurveModelType model = requestedModel != null ? requestedModel
+                : existing != null && existing.getModelType() != null ? existing.getModelType()
+                : CurveModelType.LINEAR;
+        if (model != CurveModelType.LINEAR && points.size() < model.getParameterCount()) {
+            throw new IllegalArgumentException("A " + model + " standard curve needs at least "
+                    + model.getParameterCount() + " standard concentrations, found " + points.size());
+        }
+
+        // Calculate linear regression if we have enough points (at least two distinct ratios)
+        // Closed-form least squares y = m*x + b where x = blueToGreenRatio, y = concentration
+        // It is kept for every model so slope/intercept stay meaningful for m*x+b clients
         RegressionResultDto regression = null;
-        
-        if (points.size() >= 2) {
-            // Prepare data for curve fitting
-            WeightedObservedPoints obs = new WeightedObservedPoints();
-            // Regression will model y = m*x + b where x = blueToGreenRatio, y = concentration
-            points.forEach(point -> obs.add(point.getBlueToGreenRatio(), point.getConcentration()));
-            
-            // Fit a first degree polynomial (linear regression)
-            double[] coefficients = PolynomialCurveFitter.create(1).fit(obs.toList());
-            
-            // Calculate R²
-            double rSquared = calculateRSquared(points, coefficients);
-            
-            // Create regression result
+        LinearRegressionAccumulator accumulator = new LinearRegressionAccumulator();
+        for (StandardCurvePointDto point : points) {
+            accumulator.add(point.getBlueToGreenRatio(), point.getConcentration());
+        }
+        LinearRegressionAccumulator.Result fit = accumulator.result();
+        if (fit != null && model == CurveModelType.LINEAR) {
+            regression = new RegressionResultDto(
+                fit.getSlope(),
+                fit.getIntercept(),
+                fit.getRSquared(),
+                Double.isNaN(fit.getStandardError()) ? null : fit.getStandardError(),
+                CurveModelType.LINEAR,
+                new double[]{fit.getSlope(), fit.getIntercept()}
+            );
+        } else if (fit != null) {
+            NonlinearCurveFitter.Fit curveFit = fitNonlinear(model, points, warmStart(model, existing, plateLayout));
             regression = new RegressionResultDto(
-                coefficients[1], // slope (dy/dx)
-                coefficients[0], // intercept
-                rSquared
+                fit.getSlope(),
+                fit.getIntercept(),
+                curveFit.getRSquared(),
+                Double.isNaN(curveFit.getStandardError()) ? null : curveFit.getStandardError(),
+                model,
+                curveFit.getParameters()
             );
         }
         
@@ -167,20 +271,21 @@ public class StandardCurveServiceImpl implements StandardCurveService {
         
         // Store the calibration curve in the database
         if (regression != null) {
-            PlateLayout plateLayout = plateLayoutRepository.findById(plateLayoutId)
-                    .orElseThrow(() -> new IllegalArgumentException("Plate layout not found"));
-            
             // Upsert calibration curve for this plate layout
-            CalibrationCurve curve = calibrationCurveRepository.findByPlateLayoutId(plateLayoutId)
-                    .orElseGet(() -> CalibrationCurve.builder().plateLayout(plateLayout).build());
+            CalibrationCurve curve = existing != null ? existing
+                    : CalibrationCurve.builder().plateLayout(plateLayout).build();
 
             curve.setSlope(regression.getSlope());
             curve.setIntercept(regression.getIntercept());
+            curve.setModelType(regression.getModel());
+            curve.setModelParameters(regression.getParameters());
             curve.setRSquared(regression.getRSquared());
+            curve.setStandardError(regression.getStandardError());
             curve.setDataPointCount(points.size());
             curve.setCalibrationWells(standardWellsList);
 
-            // Rebuild points and attach (orphanRemoval=true will clean up old ones)
+            // Rebuild points in place (orphanRemoval=true will clean up old ones; replacing the
+            // managed collection itself is rejected by Hibernate)
             // Persist with entity fields unchanged: concentration & blueToGreenRatio
             List<CalibrationCurvePoint> persistedPoints = points.stream()
                     .map(p -> CalibrationCurvePoint.builder()
@@ -189,37 +294,59 @@ public class StandardCurveServiceImpl implements StandardCurveService {
                             .blueToGreenRatio(p.getBlueToGreenRatio())
                             .build())
                     .collect(Collectors.toList());
-            curve.setPoints(persistedPoints);
+            if (curve.getPoints() == null) {
+                curve.setPoints(new ArrayList<>());
+            } else {
+                curve.getPoints().clear();
+            }
+            curve.getPoints().addAll(persistedPoints);
 
             calibrationCurveRepository.save(curve);
+
+            // Every read path gets the concentrations of the curve just fitted, unless the plate's
+            // concentrations come from an attached reference curve
+            if (plateLayout.getReferenceCurveId() == null) {
+                concentrationService.applyCurve(plateLayoutId, regression.getModel(), regression.getParameters());
+            } else {
+                // Concentrations stay with the reference curve, but cached copies of the plate's own curve are
+                // keyed by this version and must not outlive the refit
+                long previousVersion = plateLayout.getConcentrationVersion() != null ? plateLayout.getConcentrationVersion() : 0L;
+                plateLayout.setConcentrationVersion(previousVersion + 1);
+            }
         }
         
         return result;
     }
-    
-    private Double calculateRSquared(List<StandardCurvePointDto> points, double[] coefficients) {
-        if (points.size() < 2) return null;
-        
-        double a = coefficients[1]; // slope
-        double b = coefficients[0]; // intercept
-        
-        // Calculate mean of y values
-        double yMean = points.stream()
-                .mapToDouble(StandardCurvePointDto::getConcentration)
-                .average()
-                .orElse(0);
-        
-        double ssTot = 0;  // Total sum of squares
-        double ssRes = 0;  // Residual sum of squares
-        
-        for (StandardCurvePointDto point : points) {
-            double y = point.getConcentration();
-            double yPred = a * point.getBlueToGreenRatio() + b;
-            
-            ssTot += Math.pow(y - yMean, 2);
-            ssRes += Math.pow(y - yPred, 2);
+
+    // The plate's previous parameters when it was already fitted with the same model, else those of its
+    // reference curve (fitted on a sister plate of the same assay) when the models match
+    private double[] warmStart(CurveModelType model, CalibrationCurve existing, PlateLayout plateLayout) {
+        if (existing != null && model == existing.getModelType() && existing.getModelParameters() != null) {
+            return existing.getModelParameters();
+        }
+        if (plateLayout.getReferenceCurveId() != null) {
+            return referenceCurveRepository.findById(plateLayout.getReferenceCurveId())
+                    .filter(reference -> reference.getModelType() == model)
+                    .map(ReferenceCurve::getModelParameters)
+                    .orElse(null);
+        }
+        return null;
+    }
+
+    private NonlinearCurveFitter.Fit fitNonlinear(CurveModelType model, List<StandardCurvePointDto> points, double[] start) {
+        double[] concentrations = points.stream().mapToDouble(StandardCurvePointDto::getConcentration).toArray();
+        double[] ratios = points.stream().mapToDouble(StandardCurvePointDto::getBlueToGreenRatio).toArray();
+        try {
+            NonlinearCurveFitter.Fit fit = NonlinearCurveFitter.fit(model, concentrations, ratios, start);
+            logger.debug("{} standard curve converged in {} iterations ({} start)", model, fit.getIterations(),
+                    start != null ? "warm" : "cold");
+            return fit;
+        } catch (MathIllegalStateException e) {
+            if (start != null) {
+                // A stale start (standards changed a lot since the last fit) can stall; retry from the generic guess
+                return fitNonlinear(model, points, null);
+            }
+            throw new IllegalArgumentException("The " + model + " standard curve did not converge for these standards", e);
         }
-        
-        return 1 - (ssRes / ssTot);
     }
 }
@@ -0,0 +1,59 @@
+package com.rgbradford.backend.service.impl;
+
+import com.rgbradford.backend.dto.projection.WellHistogramRow;
+import com.rgbradford.backend.dto.response.WellHistogramStats;
+import com.rgbradford.backend.repository.WellAnalysisRepository;
+import com.rgbradford.backend.service.interfaces.WellHistogramService;
+import com.rgbradford.backend.util.HistogramCodec;
+import com.rgbradford.backend.util.HistogramStatistics;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+public class WellHistogramServiceImpl implements WellHistogramService {
+
+    // Same limits as the image quality gate
+    private static final int CLIP_LOW = 5;
+    private static final int CLIP_HIGH = 250;
+
+    private final WellAnalysisRepository wellAnalysisRepository;
+
+    public WellHistogramServiceImpl(WellAnalysisRepository wellAnalysisRepository) {
+        this.wellAnalysisRepository = wellAnalysisRepository;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<WellHistogramStats> getHistogramStats(Long plateLayoutId, boolean includeBins) {
+        List<WellHistogramStats> stats = new ArrayList<>();
+        for (WellHistogramRow row : wellAnalysisRepository.findHistogramsByPlateLayoutId(plateLayoutId)) {
+            stats.add(WellHistogramStats.builder()
+                    .wellId(row.getWellId())
+                    .row(row.getRow())
+                    .column(row.getColumn())
+                    .position(row.getPosition())
+                    .green(channelStats(HistogramCodec.decode(row.getGreenHistogram()), includeBins))
+                    .blue(channelStats(HistogramCodec.decode(row.getBlueHistogram()), includeBins))
+                    .build());
+        }
+        return stats;
+    }
+
+    private static WellHistogramStats.ChannelStats channelStats(int[] histogram, boolean includeBins) {
+        double mean = HistogramStatistics.mean(histogram);
+        return WellHistogramStats.ChannelStats.builder()
+                .pixelCount(HistogramStatistics.total(histogram))
+                .mean(mean)
+                .median(HistogramStatistics.median(histogram))
+                .p05(HistogramStatistics.percentile(histogram, 0.05))
+                .p95(HistogramStatistics.percentile(histogram, 0.95))
+                .clippedFraction(HistogramStatistics.clippedFraction(histogram, CLIP_LOW, CLIP_HIGH))
+                .absorbanceOfMean(mean > 0 ? -Math.log10(mean / 255.0) : 0.0)
+                .meanAbsorbance(HistogramStatistics.meanAbsorbance(histogram))
+                .bins(includeBins ? histogram : null)
+                .build();
+    }
+}
@@ -0,0 +1,23 @@
+package com.rgbradford.backend.service.interfaces;
+
+import com.rgbradford.backend.dto.response.PlateAnalysisSummary;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+public interface AnalysisSummaryService {
+    /**
+     * Summarizes the analysis results of a plate with aggregate queries (no per-well rows are loaded).
+     * @param plateLayoutId The ID of the analyzed plate layout
+     * @return The summary, or empty if the plate has no analyzed non-empty wells
+     */
+    Optional<PlateAnalysisSummary> getSummary(Long plateLayoutId);
+
+    /**
+     * Summarizes many plates at once, e.g. for project dashboards.
+     * @param plateLayoutIds IDs of the plate layouts to summarize
+     * @return Summaries keyed by plate layout ID, in request order; plates without results are omitted
+     */
+    Map<Long, PlateAnalysisSummary> getSummaries(Collection<Long> plateLayoutIds);
+}
@@ -0,0 +1,36 @@
+package com.rgbradford.backend.service.interfaces;
+
+import com.rgbradford.backend.entity.CurveModelType;
+import com.rgbradford.backend.entity.ReferenceCurve;
+
+import java.util.List;
+
+public interface ConcentrationService {
+    /**
+     * Writes the calculated and dilution-adjusted concentrations of all analyzed wells of a plate.
+     * Linear curves are applied with one set-based UPDATE; nonlinear curves are evaluated in Java and
+     * written as one JDBC batch. Must run inside a transaction; the persistence context is cleared and
+     * the plate's concentration version is bumped in the same transaction.
+     * @param plateLayoutId The ID of the plate layout
+     * @param model The curve model
+     * @param parameters The curve parameters (LINEAR: m, b)
+     */
+    void applyCurve(Long plateLayoutId, CurveModelType model, double[] parameters);
+
+    /**
+     * Re-applies the plate's curve, e.g. after new measurements or dilution factor edits: its attached
+     * reference curve if it has one, otherwise its own stored standard curve. Clears the concentrations
+     * if the plate has neither.
+     * @param plateLayoutId The ID of the plate layout
+     */
+    void applyStoredCurve(Long plateLayoutId);
+
+    /**
+     * Writes the concentrations of every plate attached to a reference curve with one bulk statement
+     * (linear) or one JDBC batch (nonlinear). Same transaction and persistence context rules as
+     * {@link #applyCurve}.
+     * @param referenceCurve The reference curve
+     * @return The IDs of the updated plate layouts
+     */
+    List<Long> applyReferenceCurve(ReferenceCurve referenceCurve);
+}
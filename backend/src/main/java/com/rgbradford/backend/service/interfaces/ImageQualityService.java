@@ -0,0 +1,27 @@
+package com.rgbradford.backend.service.interfaces;
+
+import com.rgbradford.backend.dto.response.ImageQualityReport;
+
+import java.awt.Rectangle;
+import java.io.IOException;
+
+public interface ImageQualityService {
+    /**
+     * Scores sharpness, exposure and clipping of a whole plate photo on a subsampled decode.
+     * @param imageBytes The encoded image as uploaded
+     * @return Report with the scores and a PASS / WARN / REJECT verdict based on the configured thresholds;
+     *         REJECT only if rejection is enabled, otherwise such findings are reported as WARN
+     * @throws IOException if the image cannot be decoded
+     */
+    ImageQualityReport assess(byte[] imageBytes) throws IOException;
+
+    /**
+     * Scores only the part of the photo covered by the plate.
+     * @param imageBytes The encoded image as uploaded
+     * @param plateRegion Region of the wells in original image pixels (see PlateGrid.plateBounds), or null
+     *                    for the whole photo; a region outside the image also falls back to the whole photo
+     * @return Report as for {@link #assess(byte[])}
+     * @throws IOException if the image cannot be decoded
+     */
+    ImageQualityReport assess(byte[] imageBytes, Rectangle plateRegion) throws IOException;
+}
@@ -0,0 +1,40 @@
+package com.rgbradford.backend.service.interfaces;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Optional;
+
+public interface PlateImageStorageService {
+    /**
+     * Stores an uploaded plate image on disk, addressed by the SHA-256 of its content.
+     * Storing the same image twice is a no-op.
+     * @param imageBytes The encoded image as uploaded
+     * @return Hex SHA-256 hash identifying the stored image
+     * @throws IOException if the image cannot be written
+     */
+    String store(byte[] imageBytes) throws IOException;
+
+    /**
+     * Loads a previously stored image.
+     * @param imageHash Hash returned by {@link #store(byte[])}
+     * @return The encoded image bytes, or empty if no image with that hash is stored
+     * @throws IOException if the file exists but cannot be read
+     */
+    Optional<byte[]> load(String imageHash) throws IOException;
+
+    /**
+     * Checks whether an image with the given hash is stored.
+     * @param imageHash Hash returned by {@link #store(byte[])}
+     * @return true if the image exists; false for unknown or malformed hashes
+     */
+    boolean exists(String imageHash);
+
+    /**
+     * Directory for derived files (previews, tiles) of one stored image. Created on demand.
+     * @param imageHash Hash of the stored image
+     * @param kind Sub-directory name, e.g. "previews"
+     * @return Path of the cache directory
+     * @throws IOException if the directory cannot be created
+     */
+    Path cacheDirectory(String imageHash, String kind) throws IOException;
+}
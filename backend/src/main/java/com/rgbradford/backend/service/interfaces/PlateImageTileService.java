@@ -0,0 +1,29 @@
+package com.rgbradford.backend.service.interfaces;
+
+import com.rgbradford.backend.dto.response.PlateImageInfo;
+
+import java.io.IOException;
+
+public interface PlateImageTileService {
+    /**
+     * Describes the tile pyramid of the image last analyzed for a plate layout.
+     * @param plateLayoutId The ID of the plate layout
+     * @return Image size, tile size and zoom range of the pyramid
+     * @throws com.rgbradford.backend.exception.ResourceNotFoundException if the plate has no stored image
+     * @throws IOException if the stored image cannot be read
+     */
+    PlateImageInfo getImageInfo(Long plateLayoutId) throws IOException;
+
+    /**
+     * Returns one JPEG tile of a stored image, rendering and caching it on first request.
+     * At zoom z a tile covers tileSize * 2^(maxZoom - z) original pixels in each direction.
+     * @param imageHash Hash of the stored image
+     * @param zoom Zoom level (0..maxZoom)
+     * @param x Tile column at that level
+     * @param y Tile row at that level
+     * @return Encoded JPEG tile
+     * @throws com.rgbradford.backend.exception.ResourceNotFoundException if the image or tile does not exist
+     * @throws IOException if the tile cannot be rendered or cached
+     */
+    byte[] getTile(String imageHash, int zoom, int x, int y) throws IOException;
+}
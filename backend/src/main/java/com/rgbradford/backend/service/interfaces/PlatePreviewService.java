@@ -0,0 +1,29 @@
+package com.rgbradford.backend.service.interfaces;
+
+import com.rgbradford.backend.dto.response.PlatePreview;
+
+import java.io.IOException;
+
+public interface PlatePreviewService {
+    /**
+     * Renders a downscaled copy of the analyzed plate image with the measured well regions outlined.
+     * @param plateLayoutId The ID of the analyzed plate layout
+     * @param maxSize Longest edge of the preview in pixels, rounded up to a fixed preview size
+     * @return PNG preview and its cache key
+     * @throws com.rgbradford.backend.exception.ResourceNotFoundException if the plate has no stored image
+     * @throws IOException if the stored image cannot be decoded
+     */
+    PlatePreview renderRoiOverlay(Long plateLayoutId, int maxSize) throws IOException;
+
+    /**
+     * Renders a heatmap of the per-well results on top of a dimmed, downscaled plate image.
+     * @param plateLayoutId The ID of the analyzed plate layout
+     * @param metric "ratio" (blue/green ratio) or "concentration"
+     * @param maxSize Longest edge of the preview in pixels, rounded up to a fixed preview size
+     * @return PNG preview and its cache key
+     * @throws com.rgbradford.backend.exception.ResourceNotFoundException if the plate has no stored image
+     * @throws IllegalArgumentException if the metric is unknown
+     * @throws IOException if the stored image cannot be decoded
+     */
+    PlatePreview renderHeatmap(Long plateLayoutId, String metric, int maxSize) throws IOException;
+}
@@ -0,0 +1,33 @@
+package com.rgbradford.backend.service.interfaces;
+
+import com.rgbradford.backend.dto.StandardCurveDto;
+import com.rgbradford.backend.dto.response.ReplicateGroupStatistics;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface PlateResultExportService {
+    /**
+     * Writes the plate's results as UTF-8 CSV. Rows are read through a database cursor inside a read-only
+     * transaction and written as they arrive, so memory use does not grow with the size of the plate.
+     * @param plateLayoutId The ID of the plate layout
+     * @param curve The curve behind the plate's stored concentrations (reference curve if attached), or null
+     * @param replicates The plate's replicate group statistics, or null
+     * @param out Destination; flushed but not closed
+     */
+    void writeCsv(Long plateLayoutId, StandardCurveDto curve, ReplicateGroupStatistics replicates,
+                  OutputStream out) throws IOException;
+
+    /**
+     * Writes the plate's results as an XLSX workbook: Calibration Points, Well Analysis with concentration
+     * formulas and, when wells are grouped, Replicate Groups. Rows are read through the same cursor as
+     * {@link #writeCsv}; only a small window of spreadsheet rows is kept in memory and the rest is spooled
+     * to compressed temporary files until the workbook is written.
+     * @param plateLayoutId The ID of the plate layout
+     * @param curve The curve behind the plate's stored concentrations (reference curve if attached), or null
+     * @param replicates The plate's replicate group statistics, or null
+     * @param out Destination; flushed but not closed
+     */
+    void writeXlsx(Long plateLayoutId, StandardCurveDto curve, ReplicateGroupStatistics replicates,
+                   OutputStream out) throws IOException;
+}
@@ -0,0 +1,23 @@
+package com.rgbradford.backend.service.interfaces;
+
+import com.rgbradford.backend.dto.projection.WellAnalysisRow;
+
+import java.util.List;
+
+public interface PlateResultSnapshotService {
+    /**
+     * Returns the analyzed non-empty wells of a plate, ordered by row and column. Served from the
+     * plate's result snapshot when it matches the current analysis version; otherwise the rows are
+     * read from well_analyses and a new snapshot is written for the next read.
+     * @param plateLayoutId The ID of the plate layout
+     * @return The analyzed wells, empty if the plate has no results
+     */
+    List<WellAnalysisRow> getRows(Long plateLayoutId);
+
+    /**
+     * Drops the plate's snapshot. Happens automatically on {@code PlateDataChangedEvent}s for well edits
+     * and plate deletion (analysis runs bump the version and make the old snapshot unreachable).
+     * @param plateLayoutId The ID of the plate layout
+     */
+    void invalidate(Long plateLayoutId);
+}
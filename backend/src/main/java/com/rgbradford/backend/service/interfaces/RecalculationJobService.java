@@ -0,0 +1,36 @@
+package com.rgbradford.backend.service.interfaces;
+
+import com.rgbradford.backend.dto.response.RecalculationJobResponse;
+import com.rgbradford.backend.entity.CurveModelType;
+
+import java.util.List;
+
+public interface RecalculationJobService {
+    /**
+     * Queues a background job that refits the standard curve (and with it the stored concentrations) of
+     * every plate layout in scope. If the user already has an unfinished job for the same scope and model,
+     * that job is returned instead of starting another one.
+     * @param userId The ID of the user who owns the plate layouts
+     * @param projectId The project to recalculate, or null for all of the user's projects
+     * @param model The model to refit with, or null to keep each plate's current model
+     * @return The queued (or already running) job
+     * @throws IllegalArgumentException if the project does not exist or belongs to another user
+     */
+    RecalculationJobResponse startJob(Long userId, Long projectId, CurveModelType model);
+
+    /**
+     * Progress of one of the user's jobs.
+     * @param jobId The ID of the job
+     * @param userId The ID of the user who started it
+     * @return The job
+     * @throws IllegalArgumentException if the job does not exist or belongs to another user
+     */
+    RecalculationJobResponse getJob(Long jobId, Long userId);
+
+    /**
+     * All of the user's jobs, newest first.
+     * @param userId The ID of the user
+     * @return The jobs
+     */
+    List<RecalculationJobResponse> getJobs(Long userId);
+}
@@ -0,0 +1,72 @@
+package com.rgbradford.backend.service.interfaces;
+
+import com.rgbradford.backend.dto.request.ReferenceCurveRequest;
+import com.rgbradford.backend.dto.response.ReferenceCurveResponse;
+
+import java.util.List;
+
+public interface ReferenceCurveService {
+    /**
+     * Stores a named reference curve, copied from a plate's fitted standard curve or given explicitly.
+     * @param userId The ID of the owner
+     * @param request Name, optional project and the curve source
+     * @return The stored curve
+     * @throws IllegalArgumentException if the name is blank, the project or source plate is not the
+     *         user's, the source plate has no curve or the parameters do not match the model
+     */
+    ReferenceCurveResponse createReferenceCurve(Long userId, ReferenceCurveRequest request);
+
+    /**
+     * Replaces a reference curve and rewrites the concentrations of all attached plates in bulk,
+     * without refitting them.
+     * @param referenceCurveId The ID of the reference curve
+     * @param userId The ID of the owner
+     * @param request New name, project and curve source
+     * @return The updated curve
+     * @throws IllegalArgumentException as for {@link #createReferenceCurve}, or if the curve is not found
+     */
+    ReferenceCurveResponse updateReferenceCurve(Long referenceCurveId, Long userId, ReferenceCurveRequest request);
+
+    /**
+     * Deletes a reference curve; attached plates go back to their own standard curves.
+     * @param referenceCurveId The ID of the reference curve
+     * @param userId The ID of the owner
+     * @throws IllegalArgumentException if the curve is not found
+     */
+    void deleteReferenceCurve(Long referenceCurveId, Long userId);
+
+    /**
+     * @param referenceCurveId The ID of the reference curve
+     * @param userId The ID of the owner
+     * @return The curve and its attached plates
+     * @throws IllegalArgumentException if the curve is not found
+     */
+    ReferenceCurveResponse getReferenceCurve(Long referenceCurveId, Long userId);
+
+    /**
+     * The user's reference curves, by name.
+     * @param userId The ID of the owner
+     * @param projectId Only curves usable in this project (its own and user-wide ones); null for all
+     * @return The curves
+     */
+    List<ReferenceCurveResponse> getReferenceCurves(Long userId, Long projectId);
+
+    /**
+     * Computes the plate's concentrations from the reference curve instead of its own standard curve.
+     * @param referenceCurveId The ID of the reference curve
+     * @param plateLayoutId The ID of the plate layout
+     * @param userId The ID of the owner of both
+     * @return The curve and its attached plates
+     * @throws IllegalArgumentException if either is not found or the curve belongs to another project
+     */
+    ReferenceCurveResponse attachPlate(Long referenceCurveId, Long plateLayoutId, Long userId);
+
+    /**
+     * Detaches the plate from its reference curve; it goes back to its own standard curve.
+     * @param referenceCurveId The ID of the reference curve
+     * @param plateLayoutId The ID of the plate layout
+     * @param userId The ID of the owner of both
+     * @throws IllegalArgumentException if either is not found or the plate is not attached to the curve
+     */
+    void detachPlate(Long referenceCurveId, Long plateLayoutId, Long userId);
+}
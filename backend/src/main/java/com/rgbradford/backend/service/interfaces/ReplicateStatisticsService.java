@@ -0,0 +1,16 @@
+package com.rgbradford.backend.service.interfaces;
+
+import com.rgbradford.backend.dto.response.ReplicateGroupStatistics;
+
+import java.util.Optional;
+
+public interface ReplicateStatisticsService {
+    /**
+     * Per-replicate-group n, mean, SD and CV of the ratios and concentrations of a plate, with outlier
+     * flags. Computed in one pass over the plate's result rows and cached per analysis version until
+     * the plate's wells or curve change.
+     * @param plateLayoutId The ID of the analyzed plate layout
+     * @return The statistics, or empty if the plate does not exist or has no analyzed non-empty wells
+     */
+    Optional<ReplicateGroupStatistics> getStatistics(Long plateLayoutId);
+}
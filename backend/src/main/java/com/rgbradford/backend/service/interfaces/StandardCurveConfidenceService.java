@@ -0,0 +1,17 @@
+package com.rgbradford.backend.service.interfaces;
+
+import com.rgbradford.backend.dto.response.StandardCurveConfidence;
+
+public interface StandardCurveConfidenceService {
+    /**
+     * Bootstrap confidence intervals for the plate's standard curve and its sample concentrations.
+     * Results are cached per curve version, so repeated requests for an unchanged curve are free.
+     * @param plateLayoutId The ID of the plate layout
+     * @param iterations Number of bootstrap refits
+     * @param level Confidence level, e.g. 0.95
+     * @return Curve band and per-sample intervals
+     * @throws IllegalArgumentException if the plate has no usable standard curve, too few standards to
+     *         resample, uses a reference curve, or the iteration count or level is out of range
+     */
+    StandardCurveConfidence getConfidence(Long plateLayoutId, int iterations, double level);
+}
@@ -1,6 +1,7 @@
 package com.rgbradford.backend.service.interfaces;
 
 import com.rgbradford.backend.dto.StandardCurveDto;
+import com.rgbradford.backend.entity.CurveModelType;
 import java.util.List;
 
 public interface StandardCurveService {
@@ -19,7 +20,35 @@ public interface StandardCurveService {
      * @throws IllegalArgumentException if no standard wells are found for the plate layout
      */
     StandardCurveDto calculateAndStoreStandardCurve(Long plateLayoutId);
+
+    /**
+     * Calculates and stores the standard curve with the given model. Nonlinear fits are warm-started
+     * from the plate's previous curve when it used the same model.
+     * @param plateLayoutId The ID of the plate layout containing standard wells
+     * @param model Curve model, or null to keep the plate's current model (LINEAR for new curves)
+     * @return StandardCurveDto containing the standard curve data points and statistics
+     * @throws IllegalArgumentException if there are too few standards for the model or the fit does not converge
+     */
+    StandardCurveDto calculateAndStoreStandardCurve(Long plateLayoutId, CurveModelType model);
     
+    /**
+     * Gets the curve that produced the plate's stored concentrations: its attached reference curve if it has
+     * one (no points, parameters as stored; slope, intercept and R^2 are NaN where the reference does not
+     * define them), otherwise {@link #getStandardCurve}.
+     * @param plateLayoutId The ID of the plate layout
+     * @return StandardCurveDto; referenceCurveId is set when it comes from a reference curve
+     * @throws IllegalArgumentException if no reference curve is attached and no standard wells are found
+     */
+    StandardCurveDto getEffectiveStandardCurve(Long plateLayoutId);
+
+    /**
+     * Like {@link #getEffectiveStandardCurve} but never fits a curve: without a reference curve it returns
+     * the plate's stored curve.
+     * @param plateLayoutId The ID of the plate layout
+     * @return StandardCurveDto, or null if the plate has neither a reference curve nor a stored curve
+     */
+    StandardCurveDto getEffectiveStoredCurve(Long plateLayoutId);
+
     /**
      * Retrieves a previously calculated standard curve for a plate layout.
      * @param plateLayoutId The ID of the plate layout
@@ -0,0 +1,16 @@
+package com.rgbradford.backend.service.interfaces;
+
+import com.rgbradford.backend.dto.response.WellHistogramStats;
+
+import java.util.List;
+
+public interface WellHistogramService {
+    /**
+     * Recomputes per-well channel statistics from the histograms stored with the analysis results.
+     * Wells analyzed before histograms were stored are skipped.
+     * @param plateLayoutId The ID of the analyzed plate layout
+     * @param includeBins Whether to include the raw 256-bin counts
+     * @return Statistics for every non-empty well that has stored histograms
+     */
+    List<WellHistogramStats> getHistogramStats(Long plateLayoutId, boolean includeBins);
+}
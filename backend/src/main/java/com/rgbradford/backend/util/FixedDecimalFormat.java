@@ -0,0 +1,67 @@
+package com.rgbradford.backend.util;
+
+import java.util.Locale;
+
+/**
+ * Allocation-free fixed-precision formatting of doubles for bulk exports.
+ *
+ * Output is identical to {@code String.format(Locale.ROOT, "%." + decimals + "f", value)}: HALF_UP
+ * rounding, a minus sign on negative values that round to zero, NaN and Infinity spelled out.
+ * The value is scaled to a long and its digits are written directly. Values too large for that, and
+ * values whose scaled fraction lies within rounding error of one half (where the result depends on
+ * the shortest decimal representation), fall back to {@link String#format}.
+ */
+public final class FixedDecimalFormat {
+
+    private static final long[] POWERS_OF_TEN = {
+            1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L
+    };
+
+    // Scaled values stay far below 2^53, so the scaled double has a fractional part to inspect
+    private static final double MAX_SCALED = 1e14;
+
+    private FixedDecimalFormat() {
+    }
+
+    /**
+     * @param target Buffer to append to
+     * @param value Value to format
+     * @param decimals Number of fraction digits (0-8)
+     */
+    public static void append(StringBuilder target, double value, int decimals) {
+        if (decimals < 0 || decimals >= POWERS_OF_TEN.length) {
+            throw new IllegalArgumentException("Decimals must be between 0 and " + (POWERS_OF_TEN.length - 1));
+        }
+        long power = POWERS_OF_TEN[decimals];
+        double scaled = Math.abs(value) * power;
+        if (!(scaled < MAX_SCALED)) {
+            // NaN, infinities and huge values
+            appendSlow(target, value, decimals);
+            return;
+        }
+        double floor = Math.floor(scaled);
+        double fraction = scaled - floor;
+        if (Math.abs(fraction - 0.5) <= 4 * Math.ulp(scaled)) {
+            appendSlow(target, value, decimals);
+            return;
+        }
+        long digits = (long) floor + (fraction > 0.5 ? 1 : 0);
+
+        // The sign bit also covers -0.0 and negative values that round to zero, as String.format does
+        if (Double.doubleToRawLongBits(value) < 0) {
+            target.append('-');
+        }
+        target.append(digits / power);
+        if (decimals > 0) {
+            target.append('.');
+            long fractionDigits = digits % power;
+            for (long p = power / 10; p > 0; p /= 10) {
+                target.append((char) ('0' + fractionDigits / p % 10));
+            }
+        }
+    }
+
+    private static void appendSlow(StringBuilder target, double value, int decimals) {
+        target.append(String.format(Locale.ROOT, "%." + decimals + "f", value));
+    }
+}
@@ -0,0 +1,106 @@
+package com.rgbradford.backend.util;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * Compact binary encoding for 256-bin channel histograms.
+ *
+ * Layout: one format byte, then one token per bin or run of bins.
+ * A non-zero count is written as an unsigned LEB128 varint. A run of empty bins is written as
+ * a 0 varint followed by the run length minus one. Well histograms occupy a narrow band of
+ * intensities, so a typical 256-bin histogram encodes to well under 200 bytes.
+ */
+public class HistogramCodec {
+
+    public static final int BINS = 256;
+
+    private static final int FORMAT_VERSION = 1;
+
+    /**
+     * @param histogram 256 non-negative bin counts
+     * @return Encoded histogram
+     */
+    public static byte[] encode(int[] histogram) {
+        if (histogram == null || histogram.length != BINS) {
+            throw new IllegalArgumentException("Histogram must have " + BINS + " bins");
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64);
+        out.write(FORMAT_VERSION);
+        int bin = 0;
+        while (bin < BINS) {
+            int count = histogram[bin];
+            if (count < 0) {
+                throw new IllegalArgumentException("Negative count in bin " + bin);
+            }
+            if (count == 0) {
+                int runEnd = bin;
+                while (runEnd < BINS && histogram[runEnd] == 0) {
+                    runEnd++;
+                }
+                writeVarint(out, 0);
+                writeVarint(out, runEnd - bin - 1);
+                bin = runEnd;
+            } else {
+                writeVarint(out, count);
+                bin++;
+            }
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * @param encoded Bytes produced by {@link #encode(int[])}
+     * @return The 256 bin counts
+     * @throws IllegalArgumentException if the data is truncated, malformed or of an unknown format version
+     */
+    public static int[] decode(byte[] encoded) {
+        if (encoded == null || encoded.length == 0) {
+            throw new IllegalArgumentException("Empty histogram data");
+        }
+        if (encoded[0] != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported histogram format: " + encoded[0]);
+        }
+        int[] histogram = new int[BINS];
+        int[] position = {1};
+        int bin = 0;
+        while (bin < BINS) {
+            int count = readVarint(encoded, position);
+            if (count == 0) {
+                int run = readVarint(encoded, position) + 1;
+                if (bin + run > BINS) {
+                    throw new IllegalArgumentException("Histogram run exceeds " + BINS + " bins");
+                }
+                bin += run;
+            } else {
+                histogram[bin++] = count;
+            }
+        }
+        if (position[0] != encoded.length) {
+            throw new IllegalArgumentException("Trailing bytes after histogram");
+        }
+        return histogram;
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int readVarint(byte[] data, int[] position) {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            if (position[0] >= data.length) {
+                throw new IllegalArgumentException("Truncated histogram data");
+            }
+            int b = data[position[0]++] & 0xFF;
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint in histogram data");
+    }
+}
@@ -0,0 +1,87 @@
+package com.rgbradford.backend.util;
+
+/**
+ * Statistics derived from a 256-bin channel histogram (see {@link HistogramCodec}).
+ * All methods are O(256) and need neither the image nor the individual pixels.
+ */
+public class HistogramStatistics {
+
+    public static long total(int[] histogram) {
+        long total = 0;
+        for (int count : histogram) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * @return Mean intensity, or 0 for an empty histogram
+     */
+    public static double mean(int[] histogram) {
+        long total = 0;
+        long weighted = 0;
+        for (int value = 0; value < histogram.length; value++) {
+            total += histogram[value];
+            weighted += (long) value * histogram[value];
+        }
+        return total > 0 ? (double) weighted / total : 0.0;
+    }
+
+    /**
+     * Lowest intensity at or below which at least the given fraction of pixels lie.
+     * @param fraction Between 0 and 1; 0.5 gives the median
+     * @return The percentile intensity, or 0 for an empty histogram
+     */
+    public static int percentile(int[] histogram, double fraction) {
+        long total = total(histogram);
+        if (total == 0) {
+            return 0;
+        }
+        double target = Math.max(1.0, Math.ceil(fraction * total));
+        long cumulative = 0;
+        for (int value = 0; value < histogram.length; value++) {
+            cumulative += histogram[value];
+            if (cumulative >= target) {
+                return value;
+            }
+        }
+        return histogram.length - 1;
+    }
+
+    public static int median(int[] histogram) {
+        return percentile(histogram, 0.5);
+    }
+
+    /**
+     * Fraction of pixels at or below low or at or above high (saturated or black pixels).
+     */
+    public static double clippedFraction(int[] histogram, int low, int high) {
+        long total = total(histogram);
+        if (total == 0) {
+            return 0.0;
+        }
+        long clipped = 0;
+        for (int value = 0; value < histogram.length; value++) {
+            if (value <= low || value >= high) {
+                clipped += histogram[value];
+            }
+        }
+        return (double) clipped / total;
+    }
+
+    /**
+     * Mean of the per-pixel absorbance -log10(I/255). Unlike the absorbance of the mean intensity
+     * this is not biased by a few bright pixels; pixels at 0 are skipped since their absorbance is infinite.
+     */
+    public static double meanAbsorbance(int[] histogram) {
+        long total = 0;
+        double sum = 0;
+        for (int value = 1; value < histogram.length; value++) {
+            if (histogram[value] > 0) {
+                sum += histogram[value] * -Math.log10(value / 255.0);
+                total += histogram[value];
+            }
+        }
+        return total > 0 ? sum / total : 0.0;
+    }
+}
@@ -0,0 +1,126 @@
+package com.rgbradford.backend.util;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Iterator;
+
+/**
+ * Utility class for decoding plate images at reduced resolution.
+ * Subsampling is applied by the ImageIO reader itself, so only the sampled pixels are
+ * materialized instead of decoding the full photo and scaling it down afterwards.
+ */
+public class ImageDecodeUtils {
+
+    /**
+     * Decodes an image so that its longest edge is at most (roughly) maxDimension pixels.
+     *
+     * @param imageBytes   The encoded image (JPG, PNG, TIFF, ...)
+     * @param maxDimension Target size of the longest edge; the full image is decoded if it is already smaller
+     * @return The subsampled image together with the original dimensions and the subsampling step used
+     * @throws IOException if the image format is not supported or the data cannot be decoded
+     */
+    public static SubsampledImage readSubsampled(byte[] imageBytes, int maxDimension) throws IOException {
+        try (ImageInputStream iis = ImageIO.createImageInputStream(new ByteArrayInputStream(imageBytes))) {
+            ImageReader reader = openReader(iis);
+            try {
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                int step = subsamplingStep(width, height, maxDimension);
+
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                BufferedImage image = reader.read(0, param);
+                return new SubsampledImage(image, width, height, step);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Decodes one rectangular region of an image, optionally subsampled.
+     * Only the pixels of the region (at the given step) are materialized.
+     *
+     * @param imageBytes The encoded image
+     * @param region     Region in original image pixels; clipped to the image bounds by the reader
+     * @param step       Subsampling step applied in both directions (1 = full resolution)
+     * @return The decoded region
+     * @throws IOException if the image format is not supported or the data cannot be decoded
+     */
+    public static BufferedImage readRegion(byte[] imageBytes, Rectangle region, int step) throws IOException {
+        try (ImageInputStream iis = ImageIO.createImageInputStream(new ByteArrayInputStream(imageBytes))) {
+            ImageReader reader = openReader(iis);
+            try {
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceRegion(region);
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Reads only the dimensions of an image from its header.
+     *
+     * @param imageBytes The encoded image
+     * @return {width, height}
+     * @throws IOException if the image format is not supported
+     */
+    public static int[] readDimensions(byte[] imageBytes) throws IOException {
+        try (ImageInputStream iis = ImageIO.createImageInputStream(new ByteArrayInputStream(imageBytes))) {
+            ImageReader reader = openReader(iis);
+            try {
+                return new int[]{reader.getWidth(0), reader.getHeight(0)};
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Smallest integer step that brings the longest edge down to maxDimension.
+     */
+    public static int subsamplingStep(int width, int height, int maxDimension) {
+        int longestEdge = Math.max(width, height);
+        if (maxDimension <= 0 || longestEdge <= maxDimension) {
+            return 1;
+        }
+        return (longestEdge + maxDimension - 1) / maxDimension;
+    }
+
+    private static ImageReader openReader(ImageInputStream iis) throws IOException {
+        if (iis == null) {
+            throw new IOException("Could not open image stream");
+        }
+        Iterator<ImageReader> readers = ImageIO.getImageReaders(iis);
+        if (!readers.hasNext()) {
+            throw new IOException("Unsupported image format");
+        }
+        ImageReader reader = readers.next();
+        reader.setInput(iis, true, true);
+        return reader;
+    }
+
+    /**
+     * A decoded image plus the information needed to map its pixels back to the original photo.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class SubsampledImage {
+        private final BufferedImage image;
+        private final int originalWidth;
+        private final int originalHeight;
+        private final int step;
+    }
+}
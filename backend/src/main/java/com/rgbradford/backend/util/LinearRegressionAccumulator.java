@@ -0,0 +1,104 @@
+package com.rgbradford.backend.util;
+
+/**
+ * Single-pass ordinary least squares fit of y = slope * x + intercept.
+ *
+ * Keeps running means and centered co-moments (Welford's update), so it needs no point storage,
+ * allocates nothing per point and avoids the cancellation of naive sum-of-squares formulas when
+ * the x values are large relative to their spread.
+ */
+public class LinearRegressionAccumulator {
+
+    private long n;
+    private double meanX;
+    private double meanY;
+    // Centered sums: sum((x - meanX)^2), sum((y - meanY)^2), sum((x - meanX)(y - meanY))
+    private double sxx;
+    private double syy;
+    private double sxy;
+
+    public void add(double x, double y) {
+        n++;
+        double dx = x - meanX;
+        double dy = y - meanY;
+        meanX += dx / n;
+        meanY += dy / n;
+        // Old deviation times new deviation keeps the co-moments exact under the running mean shift
+        sxx += dx * (x - meanX);
+        syy += dy * (y - meanY);
+        sxy += dx * (y - meanY);
+    }
+
+    public long getCount() {
+        return n;
+    }
+
+    /**
+     * @return The fit, or null if fewer than two points were added or all x values are equal
+     */
+    public Result result() {
+        if (n < 2 || sxx == 0.0) {
+            return null;
+        }
+        double slope = sxy / sxx;
+        double intercept = meanY - slope * meanX;
+        // Residual sum of squares of the least-squares line, derived from the co-moments
+        double ssRes = Math.max(0.0, syy - slope * sxy);
+        // Same definition as before (1 - SSres/SStot); undefined when all y values are equal
+        double rSquared = 1.0 - ssRes / syy;
+        // Standard error of the estimate; needs at least one residual degree of freedom
+        double standardError = n > 2 ? Math.sqrt(ssRes / (n - 2)) : Double.NaN;
+        return new Result(slope, intercept, rSquared, standardError, ssRes, n);
+    }
+
+    public static final class Result {
+        private final double slope;
+        private final double intercept;
+        private final double rSquared;
+        private final double standardError;
+        private final double residualSumOfSquares;
+        private final long count;
+
+        private Result(double slope, double intercept, double rSquared, double standardError,
+                       double residualSumOfSquares, long count) {
+            this.slope = slope;
+            this.intercept = intercept;
+            this.rSquared = rSquared;
+            this.standardError = standardError;
+            this.residualSumOfSquares = residualSumOfSquares;
+            this.count = count;
+        }
+
+        public double getSlope() {
+            return slope;
+        }
+
+        public double getIntercept() {
+            return intercept;
+        }
+
+        public double getRSquared() {
+            return rSquared;
+        }
+
+        public double getStandardError() {
+            return standardError;
+        }
+
+        public double getResidualSumOfSquares() {
+            return residualSumOfSquares;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public double predict(double x) {
+            return slope * x + intercept;
+        }
+
+        public double residual(double x, double y) {
+            return y - predict(x);
+        }
+    }
+}
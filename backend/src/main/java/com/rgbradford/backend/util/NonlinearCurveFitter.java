@@ -0,0 +1,158 @@
+package com.rgbradford.backend.util;
+
+import com.rgbradford.backend.entity.CurveModelType;
+import org.apache.commons.math3.fitting.leastsquares.LeastSquaresBuilder;
+import org.apache.commons.math3.fitting.leastsquares.LeastSquaresOptimizer;
+import org.apache.commons.math3.fitting.leastsquares.LeastSquaresProblem;
+import org.apache.commons.math3.fitting.leastsquares.LevenbergMarquardtOptimizer;
+import org.apache.commons.math3.fitting.leastsquares.MultivariateJacobianFunction;
+import org.apache.commons.math3.linear.Array2DRowRealMatrix;
+import org.apache.commons.math3.linear.ArrayRealVector;
+import org.apache.commons.math3.linear.RealVector;
+import org.apache.commons.math3.util.Pair;
+
+import java.util.Arrays;
+
+/**
+ * Levenberg-Marquardt fit of the nonlinear standard curve models (ratio as a function of concentration).
+ *
+ * Fits start from caller-supplied parameters when available, typically the plate's previous curve:
+ * a refit after a small data change then converges in a few iterations instead of walking in from
+ * the generic initial guess.
+ */
+public class NonlinearCurveFitter {
+
+    private static final int MAX_ITERATIONS = 200;
+
+    /**
+     * @param concentrations Standard concentrations (x)
+     * @param ratios Measured blue/green ratios (y), same length
+     * @param start Warm-start parameters, or null (or the wrong length) to use {@link #initialGuess}
+     * @return The converged fit
+     * @throws org.apache.commons.math3.exception.MathIllegalStateException if the fit does not converge
+     */
+    public static Fit fit(CurveModelType type, double[] concentrations, double[] ratios, double[] start) {
+        int k = type.getParameterCount();
+        if (type == CurveModelType.LINEAR) {
+            throw new IllegalArgumentException("LINEAR curves are fitted in closed form");
+        }
+        if (concentrations.length < k) {
+            throw new IllegalArgumentException("A " + type + " curve needs at least " + k + " standard concentrations");
+        }
+        double[] initial = start != null && start.length == k ? constrain(type, start.clone())
+                : initialGuess(type, concentrations, ratios);
+
+        int n = concentrations.length;
+        MultivariateJacobianFunction model = point -> {
+            double[] p = point.toArray();
+            double[] values = new double[n];
+            double[][] jacobian = new double[n][k];
+            for (int i = 0; i < n; i++) {
+                values[i] = StandardCurveModels.response(type, p, concentrations[i]);
+                StandardCurveModels.gradient(type, p, concentrations[i], jacobian[i]);
+            }
+            return new Pair<>(new ArrayRealVector(values, false), new Array2DRowRealMatrix(jacobian, false));
+        };
+
+        LeastSquaresProblem problem = new LeastSquaresBuilder()
+                .start(initial)
+                .model(model)
+                .target(ratios)
+                .parameterValidator(p -> new ArrayRealVector(constrain(type, p.toArray()), false))
+                .maxIterations(MAX_ITERATIONS)
+                .maxEvaluations(MAX_ITERATIONS * 4)
+                .build();
+        LeastSquaresOptimizer.Optimum optimum = new LevenbergMarquardtOptimizer().optimize(problem);
+
+        double[] parameters = optimum.getPoint().toArray();
+        RealVector residuals = optimum.getResiduals();
+        double rss = residuals.dotProduct(residuals);
+        double mean = Arrays.stream(ratios).average().orElse(0.0);
+        double sst = Arrays.stream(ratios).map(r -> (r - mean) * (r - mean)).sum();
+        return new Fit(parameters, 1.0 - rss / sst, n > k ? Math.sqrt(rss / (n - k)) : Double.NaN,
+                optimum.getIterations());
+    }
+
+    /**
+     * Generic starting point: linear trend for QUADRATIC; for the logistics, the lowest and
+     * (slightly extrapolated) highest standard as asymptotes, the geometric middle of the
+     * concentration range as inflection and unit slope/asymmetry.
+     */
+    public static double[] initialGuess(CurveModelType type, double[] concentrations, double[] ratios) {
+        int lowest = 0;
+        int highest = 0;
+        double minPositive = Double.POSITIVE_INFINITY;
+        LinearRegressionAccumulator trend = new LinearRegressionAccumulator();
+        for (int i = 0; i < concentrations.length; i++) {
+            if (concentrations[i] < concentrations[lowest]) {
+                lowest = i;
+            }
+            if (concentrations[i] > concentrations[highest]) {
+                highest = i;
+            }
+            if (concentrations[i] > 0.0) {
+                minPositive = Math.min(minPositive, concentrations[i]);
+            }
+            trend.add(concentrations[i], ratios[i]);
+        }
+
+        if (type == CurveModelType.QUADRATIC) {
+            LinearRegressionAccumulator.Result line = trend.result();
+            return line != null ? new double[]{line.getIntercept(), line.getSlope(), 0.0}
+                    : new double[]{ratios[0], 0.0, 0.0};
+        }
+
+        double a = ratios[lowest];
+        double d = ratios[highest] + 0.2 * (ratios[highest] - ratios[lowest]);
+        double c = Double.isFinite(minPositive) ? Math.sqrt(minPositive * concentrations[highest]) : 1.0;
+        return type == CurveModelType.FIVE_PL ? new double[]{a, 1.0, c, d, 1.0} : new double[]{a, 1.0, c, d};
+    }
+
+    // Keeps the logistic parameters where the model is defined: positive inflection, slope and asymmetry
+    private static double[] constrain(CurveModelType type, double[] p) {
+        if (type == CurveModelType.FOUR_PL || type == CurveModelType.FIVE_PL) {
+            p[1] = clamp(p[1], 0.05, 20.0);
+            p[2] = Math.max(p[2], 1e-9);
+            if (type == CurveModelType.FIVE_PL) {
+                p[4] = clamp(p[4], 0.05, 20.0);
+            }
+        }
+        return p;
+    }
+
+    private static double clamp(double value, double min, double max) {
+        return Double.isNaN(value) ? 1.0 : Math.max(min, Math.min(max, value));
+    }
+
+    public static final class Fit {
+        private final double[] parameters;
+        private final double rSquared;
+        private final double standardError;
+        private final int iterations;
+
+        private Fit(double[] parameters, double rSquared, double standardError, int iterations) {
+            this.parameters = parameters;
+            this.rSquared = rSquared;
+            this.standardError = standardError;
+            this.iterations = iterations;
+        }
+
+        public double[] getParameters() {
+            return parameters.clone();
+        }
+
+        // Computed on the ratios, the quantity the model predicts
+        public double getRSquared() {
+            return rSquared;
+        }
+
+        // Residual standard deviation in ratio units; NaN without spare degrees of freedom
+        public double getStandardError() {
+            return standardError;
+        }
+
+        public int getIterations() {
+            return iterations;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.rgbradford.backend.util;
+
+import com.rgbradford.backend.dto.request.PlateAnalysisParams;
+
+import java.awt.Rectangle;
+
+/**
+ * Geometry of the measured well grid for a set of analysis parameters.
+ * Shared by the analysis itself and by anything that has to show which pixels were measured.
+ */
+public class PlateGrid {
+
+    // Only the central part of each well is measured, to stay clear of the well walls
+    public static final double MEASURED_DIAMETER_FRACTION = 0.55;
+
+    private final int rows;
+    private final int columns;
+    private final int xOrigin;
+    private final int yOrigin;
+    private final double wellSpacingX;
+    private final double wellSpacingY;
+    private final int roiSize;
+    private final int wellDiameter;
+
+    public PlateGrid(PlateAnalysisParams params) {
+        this.rows = params.getRows();
+        this.columns = params.getColumns();
+        this.xOrigin = params.getXOrigin();
+        this.yOrigin = params.getYOrigin();
+        this.wellSpacingX = (double)(params.getXEnd() - xOrigin) / (columns - 1);
+        this.wellSpacingY = (double)(params.getYEnd() - yOrigin) / (rows - 1);
+        this.roiSize = (int) Math.round(params.getWellDiameter() * MEASURED_DIAMETER_FRACTION);
+        this.wellDiameter = params.getWellDiameter();
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public int getRoiSize() {
+        return roiSize;
+    }
+
+    public int centerX(int col) {
+        return (int)(xOrigin + col * wellSpacingX);
+    }
+
+    public int centerY(int row) {
+        return (int)(yOrigin + row * wellSpacingY);
+    }
+
+    /**
+     * Bounding box of the circular region measured for a well, in original image pixels.
+     */
+    public Rectangle roiBounds(int row, int col) {
+        return new Rectangle(centerX(col) - roiSize / 2, centerY(row) - roiSize / 2, roiSize, roiSize);
+    }
+
+    /**
+     * Bounding box of all wells at their full diameter, in original image pixels. May extend past the image.
+     */
+    public Rectangle plateBounds() {
+        int left = centerX(0) - wellDiameter / 2;
+        int top = centerY(0) - wellDiameter / 2;
+        return new Rectangle(left, top, centerX(columns - 1) + wellDiameter / 2 + 1 - left,
+                centerY(rows - 1) + wellDiameter / 2 + 1 - top);
+    }
+}
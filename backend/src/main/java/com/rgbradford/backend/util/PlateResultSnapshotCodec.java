@@ -0,0 +1,189 @@
+package com.rgbradford.backend.util;
+
+import com.rgbradford.backend.dto.projection.WellAnalysisRow;
+import com.rgbradford.backend.entity.WellType;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipException;
+
+/**
+ * Columnar binary encoding of all analyzed wells of a plate, stored as one snapshot row.
+ *
+ * Layout: one uncompressed format byte, then a Deflate stream holding the row count followed by
+ * one packed array per field (all values of a field are written together, which compresses far
+ * better than row-by-row). Nullable fields are preceded by a presence bitmap. Grid coordinates
+ * and 8-bit channel values are stored as shorts, well types as their ordinal; measured doubles
+ * are stored at full precision so snapshot reads return exactly what the row table holds.
+ */
+public class PlateResultSnapshotCodec {
+
+    public static final int FORMAT_VERSION = 2;
+
+    /**
+     * @param rows Analyzed wells in display order
+     * @return Encoded snapshot
+     */
+    public static byte[] encode(List<WellAnalysisRow> rows) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + rows.size() * 16);
+        bytes.write(FORMAT_VERSION);
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try (DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(bytes, deflater))) {
+            out.writeInt(rows.size());
+            writeLongs(out, rows, WellAnalysisRow::getId);
+            writeLongs(out, rows, WellAnalysisRow::getWellId);
+            for (WellAnalysisRow row : rows) {
+                out.writeShort(row.getRow());
+            }
+            for (WellAnalysisRow row : rows) {
+                out.writeShort(row.getColumn());
+            }
+            writeNullable(out, rows, WellAnalysisRow::getWellType, (o, v) -> o.writeByte(v.ordinal()));
+            writeNullable(out, rows, WellAnalysisRow::getPosition, DataOutputStream::writeUTF);
+            writeNullable(out, rows, WellAnalysisRow::getSampleName, DataOutputStream::writeUTF);
+            writeDoubles(out, rows, WellAnalysisRow::getDilutionFactor);
+            writeNullable(out, rows, WellAnalysisRow::getReplicateGroup, DataOutputStream::writeUTF);
+            writeNullable(out, rows, WellAnalysisRow::getGreenValue, DataOutputStream::writeShort);
+            writeNullable(out, rows, WellAnalysisRow::getBlueValue, DataOutputStream::writeShort);
+            writeDoubles(out, rows, WellAnalysisRow::getBlueToGreenRatio);
+            writeDoubles(out, rows, WellAnalysisRow::getCalculatedConcentration);
+            writeDoubles(out, rows, WellAnalysisRow::getAdjustedConcentration);
+            writeDoubles(out, rows, WellAnalysisRow::getGreenAbsorbance);
+            writeDoubles(out, rows, WellAnalysisRow::getBlueAbsorbance);
+            writeDoubles(out, rows, WellAnalysisRow::getAbsorbanceRatio);
+            writeNullable(out, rows, WellAnalysisRow::getPixelCount, DataOutputStream::writeInt);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            deflater.end();
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @param encoded Bytes produced by {@link #encode(List)}
+     * @return The analyzed wells in the order they were encoded
+     * @throws IllegalArgumentException if the data is truncated, malformed or of an unknown format version
+     */
+    public static List<WellAnalysisRow> decode(byte[] encoded) {
+        if (encoded == null || encoded.length == 0) {
+            throw new IllegalArgumentException("Empty snapshot data");
+        }
+        if (encoded[0] != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported snapshot format version: " + encoded[0]);
+        }
+        ByteArrayInputStream bytes = new ByteArrayInputStream(encoded, 1, encoded.length - 1);
+        try (DataInputStream in = new DataInputStream(new InflaterInputStream(bytes))) {
+            int n = in.readInt();
+            if (n < 0) {
+                throw new IllegalArgumentException("Negative row count in snapshot");
+            }
+            List<WellAnalysisRow> rows = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                rows.add(new WellAnalysisRow());
+            }
+            readLongs(in, rows, WellAnalysisRow::setId);
+            readLongs(in, rows, WellAnalysisRow::setWellId);
+            for (WellAnalysisRow row : rows) {
+                row.setRow(in.readShort());
+            }
+            for (WellAnalysisRow row : rows) {
+                row.setColumn(in.readShort());
+            }
+            WellType[] types = WellType.values();
+            readNullable(in, rows, WellAnalysisRow::setWellType, i -> types[i.readUnsignedByte()]);
+            readNullable(in, rows, WellAnalysisRow::setPosition, i -> i.readUTF());
+            readNullable(in, rows, WellAnalysisRow::setSampleName, i -> i.readUTF());
+            readNullable(in, rows, WellAnalysisRow::setDilutionFactor, DataInputStream::readDouble);
+            readNullable(in, rows, WellAnalysisRow::setReplicateGroup, i -> i.readUTF());
+            readNullable(in, rows, WellAnalysisRow::setGreenValue, i -> (int) i.readShort());
+            readNullable(in, rows, WellAnalysisRow::setBlueValue, i -> (int) i.readShort());
+            readNullable(in, rows, WellAnalysisRow::setBlueToGreenRatio, DataInputStream::readDouble);
+            readNullable(in, rows, WellAnalysisRow::setCalculatedConcentration, DataInputStream::readDouble);
+            readNullable(in, rows, WellAnalysisRow::setAdjustedConcentration, DataInputStream::readDouble);
+            readNullable(in, rows, WellAnalysisRow::setGreenAbsorbance, DataInputStream::readDouble);
+            readNullable(in, rows, WellAnalysisRow::setBlueAbsorbance, DataInputStream::readDouble);
+            readNullable(in, rows, WellAnalysisRow::setAbsorbanceRatio, DataInputStream::readDouble);
+            readNullable(in, rows, WellAnalysisRow::setPixelCount, DataInputStream::readInt);
+            return rows;
+        } catch (ZipException e) {
+            throw new IllegalArgumentException("Corrupt snapshot data", e);
+        } catch (IOException | ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Truncated or malformed snapshot data", e);
+        }
+    }
+
+    private static void writeLongs(DataOutputStream out, List<WellAnalysisRow> rows,
+                                   Function<WellAnalysisRow, Long> getter) throws IOException {
+        writeNullable(out, rows, getter, DataOutputStream::writeLong);
+    }
+
+    private static void writeDoubles(DataOutputStream out, List<WellAnalysisRow> rows,
+                                     Function<WellAnalysisRow, Double> getter) throws IOException {
+        writeNullable(out, rows, getter, DataOutputStream::writeDouble);
+    }
+
+    // Presence bitmap (length-prefixed) followed by the non-null values only
+    private static <T> void writeNullable(DataOutputStream out, List<WellAnalysisRow> rows,
+                                          Function<WellAnalysisRow, T> getter,
+                                          Writer<T> writer) throws IOException {
+        BitSet present = new BitSet(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            if (getter.apply(rows.get(i)) != null) {
+                present.set(i);
+            }
+        }
+        byte[] bitmap = present.toByteArray();
+        out.writeInt(bitmap.length);
+        out.write(bitmap);
+        for (WellAnalysisRow row : rows) {
+            T value = getter.apply(row);
+            if (value != null) {
+                writer.write(out, value);
+            }
+        }
+    }
+
+    private static void readLongs(DataInputStream in, List<WellAnalysisRow> rows,
+                                      BiConsumer<WellAnalysisRow, Long> setter) throws IOException {
+        readNullable(in, rows, setter, DataInputStream::readLong);
+    }
+
+    private static <T> void readNullable(DataInputStream in, List<WellAnalysisRow> rows,
+                                         BiConsumer<WellAnalysisRow, T> setter, Reader<T> reader) throws IOException {
+        int bitmapLength = in.readInt();
+        if (bitmapLength < 0 || bitmapLength > (rows.size() + 7) / 8) {
+            throw new IllegalArgumentException("Malformed presence bitmap in snapshot");
+        }
+        byte[] bitmap = new byte[bitmapLength];
+        in.readFully(bitmap);
+        BitSet present = BitSet.valueOf(bitmap);
+        for (int i = 0; i < rows.size(); i++) {
+            if (present.get(i)) {
+                setter.accept(rows.get(i), reader.read(in));
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface Writer<T> {
+        void write(DataOutputStream out, T value) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface Reader<T> {
+        T read(DataInputStream in) throws IOException;
+    }
+}
@@ -0,0 +1,147 @@
+package com.rgbradford.backend.util;
+
+import com.rgbradford.backend.dto.projection.WellAnalysisRow;
+import com.rgbradford.backend.dto.response.ReplicateGroupStatistics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Per-replicate-group statistics of a plate's analyzed wells, computed in one pass over the rows.
+ *
+ * Mean and standard deviation are accumulated with Welford's update, so no group is iterated twice.
+ * Outliers are flagged with the modified z-score of Iglewicz and Hoaglin,
+ * {@code 0.6745 * (x - median) / MAD}, on the blue/green ratios; it stays robust in groups of three
+ * or four replicates where the outlier itself would dominate an ordinary z-score.
+ */
+public class ReplicateStatistics {
+
+    public static final double OUTLIER_THRESHOLD = 3.5;
+    private static final double MAD_SCALE = 0.6745;
+    private static final int MIN_OUTLIER_GROUP_SIZE = 3;
+
+    /**
+     * @param rows Analyzed wells in any order; rows without a replicate group are ignored
+     * @return One entry per replicate group, ordered by group name
+     */
+    public static List<ReplicateGroupStatistics.Group> compute(List<WellAnalysisRow> rows) {
+        Map<String, GroupAccumulator> groups = new TreeMap<>();
+        for (WellAnalysisRow row : rows) {
+            String name = row.getReplicateGroup();
+            if (name == null || name.isBlank()) {
+                continue;
+            }
+            groups.computeIfAbsent(name, k -> new GroupAccumulator()).add(row);
+        }
+
+        List<ReplicateGroupStatistics.Group> result = new ArrayList<>(groups.size());
+        for (Map.Entry<String, GroupAccumulator> entry : groups.entrySet()) {
+            GroupAccumulator group = entry.getValue();
+            result.add(ReplicateGroupStatistics.Group.builder()
+                    .replicateGroup(entry.getKey())
+                    .wellCount(group.wellCount)
+                    .ratio(group.ratio.stats())
+                    .concentration(group.concentration.stats())
+                    .adjustedConcentration(group.adjustedConcentration.stats())
+                    .outlierPositions(group.outliers())
+                    .build());
+        }
+        return result;
+    }
+
+    /**
+     * Modified z-scores of the values; all zero when the median absolute deviation is zero.
+     */
+    static double[] modifiedZScores(double[] values, int n) {
+        double median = median(Arrays.copyOf(values, n));
+        double[] deviations = new double[n];
+        for (int i = 0; i < n; i++) {
+            deviations[i] = Math.abs(values[i] - median);
+        }
+        double mad = median(deviations);
+        double[] scores = new double[n];
+        if (mad > 0.0) {
+            for (int i = 0; i < n; i++) {
+                scores[i] = MAD_SCALE * (values[i] - median) / mad;
+            }
+        }
+        return scores;
+    }
+
+    // Sorts its argument
+    private static double median(double[] values) {
+        Arrays.sort(values);
+        int middle = values.length / 2;
+        return values.length % 2 == 1 ? values[middle] : (values[middle - 1] + values[middle]) / 2.0;
+    }
+
+    private static class GroupAccumulator {
+        private int wellCount;
+        private final Welford ratio = new Welford();
+        private final Welford concentration = new Welford();
+        private final Welford adjustedConcentration = new Welford();
+        // Ratios and positions are kept for the median-based outlier test
+        private double[] ratios = new double[4];
+        private String[] positions = new String[4];
+
+        private void add(WellAnalysisRow row) {
+            wellCount++;
+            concentration.add(row.getCalculatedConcentration());
+            adjustedConcentration.add(row.getAdjustedConcentration());
+            Double value = row.getBlueToGreenRatio();
+            if (value == null || !Double.isFinite(value)) {
+                return;
+            }
+            if (ratio.n == ratios.length) {
+                ratios = Arrays.copyOf(ratios, ratio.n * 2);
+                positions = Arrays.copyOf(positions, ratio.n * 2);
+            }
+            ratios[ratio.n] = value;
+            positions[ratio.n] = row.getPosition();
+            ratio.add(value);
+        }
+
+        private List<String> outliers() {
+            List<String> outliers = new ArrayList<>();
+            if (ratio.n < MIN_OUTLIER_GROUP_SIZE) {
+                return outliers;
+            }
+            double[] scores = modifiedZScores(ratios, ratio.n);
+            for (int i = 0; i < ratio.n; i++) {
+                if (Math.abs(scores[i]) > OUTLIER_THRESHOLD) {
+                    outliers.add(positions[i]);
+                }
+            }
+            return outliers;
+        }
+    }
+
+    private static class Welford {
+        private int n;
+        private double mean;
+        private double m2;
+
+        private void add(Double value) {
+            if (value == null || !Double.isFinite(value)) {
+                return;
+            }
+            n++;
+            double delta = value - mean;
+            mean += delta / n;
+            m2 += delta * (value - mean);
+        }
+
+        private ReplicateGroupStatistics.Stats stats() {
+            Double sd = n > 1 ? Math.sqrt(m2 / (n - 1)) : null;
+            return ReplicateGroupStatistics.Stats.builder()
+                    .n(n)
+                    .mean(n > 0 ? mean : null)
+                    .sd(sd)
+                    .cvPercent(sd != null && mean != 0.0 ? 100.0 * sd / Math.abs(mean) : null)
+                    .build();
+        }
+    }
+}
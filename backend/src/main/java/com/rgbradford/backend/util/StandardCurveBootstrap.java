@@ -0,0 +1,156 @@
+package com.rgbradford.backend.util;
+
+import com.rgbradford.backend.entity.CurveModelType;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Residual bootstrap of a fitted standard curve.
+ *
+ * Each replicate adds resampled residuals of the original fit to its fitted values and refits the
+ * model, warm-started from the original parameters. Replicates run on a fork/join pool and are
+ * written into one flat array of parameters; every replicate draws from its own generator seeded by
+ * its index, so results do not depend on how the pool splits the work.
+ */
+public class StandardCurveBootstrap {
+
+    // Replicates per fork/join leaf task
+    private static final int LEAF_SIZE = 16;
+
+    /**
+     * @param ratios Blue/green ratios of the standards
+     * @param concentrations Concentrations of the standards, same length
+     * @param parameters Parameters of the fitted curve
+     * @param iterations Number of bootstrap refits
+     * @param seed Base seed; the same inputs and seed give the same replicates
+     * @return Replicate parameters, {@code iterations * parameterCount} values with replicate i at
+     *         offset {@code i * parameterCount}; failed refits are all NaN
+     */
+    public static double[] replicates(CurveModelType type, double[] ratios, double[] concentrations, double[] parameters,
+                                      int iterations, long seed, ForkJoinPool pool) {
+        boolean linear = type == CurveModelType.LINEAR;
+        // The fitted variable: concentration for LINEAR, the ratio for the nonlinear models
+        double[] x = linear ? ratios : concentrations;
+        double[] y = linear ? concentrations : ratios;
+        int n = x.length;
+        int k = type.getParameterCount();
+
+        double[] fitted = new double[n];
+        double[] residuals = new double[n];
+        // Residuals underestimate the error by the fitted degrees of freedom
+        double inflation = n > k ? Math.sqrt((double) n / (n - k)) : 1.0;
+        for (int i = 0; i < n; i++) {
+            fitted[i] = linear ? parameters[0] * x[i] + parameters[1] : StandardCurveModels.response(type, parameters, x[i]);
+            residuals[i] = (y[i] - fitted[i]) * inflation;
+        }
+
+        double[] out = new double[iterations * k];
+        pool.invoke(new ReplicateTask(type, x, fitted, residuals, parameters, seed, out, 0, iterations));
+        return out;
+    }
+
+    /**
+     * Percentile interval of the concentration the replicate curves assign to a ratio.
+     * Replicates that failed or cannot produce the ratio are left out.
+     * @param buffer Scratch space of at least one value per replicate (reused across calls)
+     * @return {lower, upper}, or null if fewer than half of the replicates give a concentration
+     */
+    public static double[] interval(CurveModelType type, double[] replicates, double ratio, double level, double[] buffer) {
+        int k = type.getParameterCount();
+        int iterations = replicates.length / k;
+        double[] p = new double[k];
+        int count = 0;
+        for (int i = 0; i < iterations; i++) {
+            System.arraycopy(replicates, i * k, p, 0, k);
+            if (Double.isNaN(p[0])) {
+                continue;
+            }
+            double value = StandardCurveModels.concentration(type, p, ratio);
+            if (!Double.isNaN(value)) {
+                buffer[count++] = value;
+            }
+        }
+        if (count * 2 < iterations || count < 2) {
+            return null;
+        }
+        Arrays.sort(buffer, 0, count);
+        double tail = (1.0 - level) / 2.0;
+        return new double[]{percentile(buffer, count, tail), percentile(buffer, count, 1.0 - tail)};
+    }
+
+    // Linear interpolation between order statistics of the first count sorted values
+    static double percentile(double[] sorted, int count, double fraction) {
+        double position = fraction * (count - 1);
+        int lower = (int) Math.floor(position);
+        int upper = Math.min(lower + 1, count - 1);
+        return sorted[lower] + (position - lower) * (sorted[upper] - sorted[lower]);
+    }
+
+    private static class ReplicateTask extends RecursiveAction {
+        private final CurveModelType type;
+        private final double[] x;
+        private final double[] fitted;
+        private final double[] residuals;
+        private final double[] parameters;
+        private final long seed;
+        private final double[] out;
+        private final int from;
+        private final int to;
+
+        private ReplicateTask(CurveModelType type, double[] x, double[] fitted, double[] residuals, double[] parameters,
+                              long seed, double[] out, int from, int to) {
+            this.type = type;
+            this.x = x;
+            this.fitted = fitted;
+            this.residuals = residuals;
+            this.parameters = parameters;
+            this.seed = seed;
+            this.out = out;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > LEAF_SIZE) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new ReplicateTask(type, x, fitted, residuals, parameters, seed, out, from, middle),
+                        new ReplicateTask(type, x, fitted, residuals, parameters, seed, out, middle, to));
+                return;
+            }
+            int n = x.length;
+            int k = type.getParameterCount();
+            double[] y = new double[n];
+            for (int replicate = from; replicate < to; replicate++) {
+                SplittableRandom random = new SplittableRandom(seed + replicate);
+                for (int i = 0; i < n; i++) {
+                    y[i] = fitted[i] + residuals[random.nextInt(n)];
+                }
+                refit(y, replicate * k, k);
+            }
+        }
+
+        private void refit(double[] y, int offset, int k) {
+            if (type == CurveModelType.LINEAR) {
+                LinearRegressionAccumulator accumulator = new LinearRegressionAccumulator();
+                for (int i = 0; i < x.length; i++) {
+                    accumulator.add(x[i], y[i]);
+                }
+                LinearRegressionAccumulator.Result line = accumulator.result();
+                out[offset] = line != null ? line.getSlope() : Double.NaN;
+                out[offset + 1] = line != null ? line.getIntercept() : Double.NaN;
+                return;
+            }
+            try {
+                double[] p = NonlinearCurveFitter.fit(type, x, y, parameters).getParameters();
+                System.arraycopy(p, 0, out, offset, k);
+            } catch (RuntimeException e) {
+                // Non-converging resamples are dropped from the intervals
+                Arrays.fill(out, offset, offset + k, Double.NaN);
+            }
+        }
+    }
+}
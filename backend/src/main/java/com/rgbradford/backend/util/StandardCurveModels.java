@@ -0,0 +1,135 @@
+package com.rgbradford.backend.util;
+
+import com.rgbradford.backend.dto.RegressionResultDto;
+import com.rgbradford.backend.entity.CurveModelType;
+
+/**
+ * Evaluation of the standard curve models (parameter order as documented on {@link CurveModelType}).
+ *
+ * LINEAR maps a blue/green ratio straight to a concentration. The nonlinear models describe the
+ * ratio as a function of concentration; {@link #concentration} inverts them in closed form, so
+ * reading back a sample costs a handful of floating point operations and no iteration.
+ */
+public class StandardCurveModels {
+
+    /**
+     * @return Concentration for the ratio under the curve's model; y = mx + b for curves without one
+     */
+    public static double concentration(RegressionResultDto regression, double ratio) {
+        if (regression.getModel() == null || regression.getParameters() == null) {
+            return regression.getSlope() * ratio + regression.getIntercept();
+        }
+        return concentration(regression.getModel(), regression.getParameters(), ratio);
+    }
+
+    /**
+     * @param parameters Fitted parameters of the model
+     * @param ratio Measured blue/green ratio
+     * @return Concentration for the ratio, or NaN if the ratio lies outside the range the model can
+     *         produce (beyond a logistic asymptote, past the vertex of a quadratic)
+     */
+    public static double concentration(CurveModelType type, double[] parameters, double ratio) {
+        double[] p = parameters;
+        switch (type) {
+            case LINEAR:
+                return p[0] * ratio + p[1];
+            case QUADRATIC:
+                return quadraticInverse(p[0], p[1], p[2], ratio);
+            case FOUR_PL: {
+                double t = (p[0] - p[3]) / (ratio - p[3]) - 1.0;
+                return finiteOrNaN(p[2] * Math.pow(t, 1.0 / p[1]), t >= 0.0);
+            }
+            case FIVE_PL: {
+                double t = Math.pow((p[0] - p[3]) / (ratio - p[3]), 1.0 / p[4]) - 1.0;
+                return finiteOrNaN(p[2] * Math.pow(t, 1.0 / p[1]), t >= 0.0);
+            }
+            default:
+                throw new IllegalArgumentException("Unsupported curve model: " + type);
+        }
+    }
+
+    /**
+     * @return Ratio predicted by a nonlinear model at the given concentration
+     */
+    public static double response(CurveModelType type, double[] p, double concentration) {
+        switch (type) {
+            case QUADRATIC:
+                return p[0] + concentration * (p[1] + concentration * p[2]);
+            case FOUR_PL:
+                return p[3] + (p[0] - p[3]) / (1.0 + scaled(p, concentration));
+            case FIVE_PL:
+                return p[3] + (p[0] - p[3]) * Math.pow(1.0 + scaled(p, concentration), -p[4]);
+            default:
+                throw new IllegalArgumentException("Not a nonlinear curve model: " + type);
+        }
+    }
+
+    /**
+     * Partial derivatives of {@link #response} with respect to each parameter.
+     * @param gradient Receives one value per parameter
+     */
+    public static void gradient(CurveModelType type, double[] p, double concentration, double[] gradient) {
+        switch (type) {
+            case QUADRATIC:
+                gradient[0] = 1.0;
+                gradient[1] = concentration;
+                gradient[2] = concentration * concentration;
+                return;
+            case FOUR_PL: {
+                double u = scaled(p, concentration);
+                double inv = 1.0 / (1.0 + u);
+                double dfdu = -(p[0] - p[3]) * inv * inv;
+                gradient[0] = inv;
+                gradient[1] = dfdu * dudb(p, concentration, u);
+                gradient[2] = dfdu * -p[1] * u / p[2];
+                gradient[3] = 1.0 - inv;
+                return;
+            }
+            case FIVE_PL: {
+                double u = scaled(p, concentration);
+                double base = 1.0 + u;
+                double pow = Math.pow(base, -p[4]);
+                double dfdu = -p[4] * (p[0] - p[3]) * pow / base;
+                gradient[0] = pow;
+                gradient[1] = dfdu * dudb(p, concentration, u);
+                gradient[2] = dfdu * -p[1] * u / p[2];
+                gradient[3] = 1.0 - pow;
+                gradient[4] = -(p[0] - p[3]) * pow * Math.log(base);
+                return;
+            }
+            default:
+                throw new IllegalArgumentException("Not a nonlinear curve model: " + type);
+        }
+    }
+
+    // (x/c)^b of the logistic models; zero at and below zero concentration (blank standards)
+    private static double scaled(double[] p, double concentration) {
+        return concentration > 0.0 ? Math.pow(concentration / p[2], p[1]) : 0.0;
+    }
+
+    private static double dudb(double[] p, double concentration, double u) {
+        return concentration > 0.0 ? u * Math.log(concentration / p[2]) : 0.0;
+    }
+
+    // Root of c0 + c1*x + c2*x^2 = ratio on the branch through x = 0, where the standards start
+    private static double quadraticInverse(double c0, double c1, double c2, double ratio) {
+        double constant = c0 - ratio;
+        if (Math.abs(c2) <= 1e-12 * Math.abs(c1)) {
+            return -constant / c1;
+        }
+        double discriminant = c1 * c1 - 4.0 * c2 * constant;
+        if (discriminant < 0.0) {
+            return Double.NaN;
+        }
+        // Cancellation-free pair of roots
+        double q = -0.5 * (c1 + Math.copySign(Math.sqrt(discriminant), c1));
+        double r1 = q / c2;
+        double r2 = q != 0.0 ? constant / q : r1;
+        double vertex = -c1 / (2.0 * c2);
+        return vertex > 0.0 ? Math.min(r1, r2) : Math.max(r1, r2);
+    }
+
+    private static double finiteOrNaN(double value, boolean valid) {
+        return valid && Double.isFinite(value) ? value : Double.NaN;
+    }
+}
@@ -0,0 +1,102 @@
+package com.rgbradford.backend.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * In-memory values derived from a plate, keyed by plate layout, the plate's data version and an optional
+ * key within the plate (e.g. request parameters).
+ *
+ * Each plate holds the values of one version only: a request with a different version replaces all of
+ * them, so results of older analysis runs need no eviction. Edits that keep the version (well metadata,
+ * curve recalculation) call {@link #evict}, which drops a single plate without scanning the cache.
+ * Concurrent misses for the same key share one computation, which runs on the calling thread outside
+ * any cache lock. Failures are not cached. Cached values are shared between callers and must not be
+ * modified.
+ *
+ * @param <V> Cached value type; null values are cached like any other
+ */
+public class VersionedPlateCache<V> {
+
+    // Key for caches that hold a single value per plate
+    private static final Object SINGLE = new Object();
+
+    private final Cache<Long, PlateEntries<V>> plates;
+
+    /**
+     * @param maxPlates Number of plates kept; each plate counts once however many keys it holds
+     */
+    public VersionedPlateCache(long maxPlates) {
+        this.plates = Caffeine.newBuilder().maximumSize(maxPlates).build();
+    }
+
+    /**
+     * Single value per plate.
+     * @see #get(Long, Object, Object, Supplier)
+     */
+    public V get(Long plateLayoutId, Object version, Supplier<V> loader) {
+        return get(plateLayoutId, version, SINGLE, loader);
+    }
+
+    /**
+     * @param plateLayoutId The plate layout the value belongs to
+     * @param version The plate's current data version; compared with equals and may be null
+     * @param key Identifies the value within the plate and version
+     * @param loader Computes the value on a miss; runs on the calling thread
+     * @return The cached or freshly computed value
+     */
+    public V get(Long plateLayoutId, Object version, Object key, Supplier<V> loader) {
+        PlateEntries<V> entries = plates.getIfPresent(plateLayoutId);
+        if (entries == null || !Objects.equals(entries.version, version)) {
+            entries = plates.asMap().compute(plateLayoutId, (id, existing) ->
+                    existing != null && Objects.equals(existing.version, version) ? existing : new PlateEntries<>(version));
+        }
+
+        CompletableFuture<V> created = new CompletableFuture<>();
+        CompletableFuture<V> existing = entries.values.putIfAbsent(key, created);
+        if (existing != null) {
+            return await(existing);
+        }
+
+        try {
+            created.complete(loader.get());
+        } catch (RuntimeException e) {
+            // Failures are not cached; the next request retries
+            entries.values.remove(key, created);
+            created.completeExceptionally(e);
+            throw e;
+        }
+        return created.join();
+    }
+
+    public void evict(Long plateLayoutId) {
+        plates.invalidate(plateLayoutId);
+    }
+
+    private static <V> V await(CompletableFuture<V> value) {
+        try {
+            return value.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static class PlateEntries<V> {
+        private final Object version;
+        private final ConcurrentMap<Object, CompletableFuture<V>> values = new ConcurrentHashMap<>();
+
+        private PlateEntries(Object version) {
+            this.version = version;
+        }
+    }
+}
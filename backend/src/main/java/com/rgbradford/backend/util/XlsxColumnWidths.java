@@ -0,0 +1,72 @@
+package com.rgbradford.backend.util;
+
+import org.apache.poi.ss.usermodel.Sheet;
+
+/**
+ * Column widths for streamed spreadsheets, computed from the text each cell displays.
+ *
+ * Sheet.autoSizeColumn lays out every cell with AWT fonts, which is slow, and with a streaming (SXSSF)
+ * sheet it only sees the rows still in memory. Instead, writers report each cell's content as they write
+ * it and the widest cell of a column sets its width. Character counts are a close estimate for the default
+ * font; Excel widths are in 1/256 of a character.
+ */
+public class XlsxColumnWidths {
+
+    private static final int PADDING_CHARS = 2;
+
+    // Excel rejects wider columns
+    private static final int MAX_CHARS = 255;
+
+    private final int[] maxChars;
+    private final StringBuilder formatted = new StringBuilder(32);
+
+    /**
+     * @param columns Number of columns to track
+     */
+    public XlsxColumnWidths(int columns) {
+        this.maxChars = new int[columns];
+    }
+
+    public void text(int column, String value) {
+        if (value != null) {
+            update(column, value.length());
+        }
+    }
+
+    /**
+     * @param decimals Fraction digits of the cell's number format
+     */
+    public void number(int column, double value, int decimals) {
+        formatted.setLength(0);
+        FixedDecimalFormat.append(formatted, value, decimals);
+        update(column, formatted.length());
+    }
+
+    /**
+     * @return Width of the column in 1/256 of a character, 0 if nothing was reported for it
+     */
+    public int width(int column) {
+        if (maxChars[column] == 0) {
+            return 0;
+        }
+        return Math.min(MAX_CHARS, maxChars[column] + PADDING_CHARS) * 256;
+    }
+
+    /**
+     * Sets the width of every column that has content; other columns keep the sheet default.
+     */
+    public void applyTo(Sheet sheet) {
+        for (int column = 0; column < maxChars.length; column++) {
+            int width = width(column);
+            if (width > 0) {
+                sheet.setColumnWidth(column, width);
+            }
+        }
+    }
+
+    private void update(int column, int chars) {
+        if (chars > maxChars[column]) {
+            maxChars[column] = chars;
+        }
+    }
+}
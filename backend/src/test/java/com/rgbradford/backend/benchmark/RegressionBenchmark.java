@@ -0,0 +1,70 @@
+package com.rgbradford.backend.benchmark;
+
+import com.rgbradford.backend.util.LinearRegressionAccumulator;
+import org.apache.commons.math3.fitting.PolynomialCurveFitter;
+import org.apache.commons.math3.fitting.WeightedObservedPoints;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the single-pass accumulator used for standard curves with the iterative
+ * commons-math polynomial fitter it replaced.
+ *
+ * Not picked up by surefire; after {@code mvn test-compile}, run the main method from the IDE
+ * (or with java on the test classpath) to get the JMH report.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RegressionBenchmark {
+
+    // A typical standard curve has 6-12 concentrations; 96 covers a full plate of standards
+    @Param({"8", "96"})
+    private int points;
+
+    private double[] x;
+    private double[] y;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        x = new double[points];
+        y = new double[points];
+        for (int i = 0; i < points; i++) {
+            x[i] = 0.3 + i * 0.02;
+            y[i] = 180.0 * x[i] - 25.0 + random.nextGaussian();
+        }
+    }
+
+    @Benchmark
+    public double accumulator() {
+        LinearRegressionAccumulator accumulator = new LinearRegressionAccumulator();
+        for (int i = 0; i < points; i++) {
+            accumulator.add(x[i], y[i]);
+        }
+        return accumulator.result().getSlope();
+    }
+
+    @Benchmark
+    public double polynomialCurveFitter() {
+        WeightedObservedPoints observed = new WeightedObservedPoints();
+        for (int i = 0; i < points; i++) {
+            observed.add(x[i], y[i]);
+        }
+        return PolynomialCurveFitter.create(1).fit(observed.toList())[1];
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RegressionBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
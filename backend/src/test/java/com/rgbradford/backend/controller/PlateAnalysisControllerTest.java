@@ -0,0 +1,125 @@
+package com.rgbradford.backend.controller;
+
+import com.rgbradford.backend.entity.PlateLayout;
+import com.rgbradford.backend.entity.Project;
+import com.rgbradford.backend.entity.User;
+import com.rgbradford.backend.entity.Well;
+import com.rgbradford.backend.entity.WellAnalysis;
+import com.rgbradford.backend.entity.WellType;
+import com.rgbradford.backend.repository.PlateLayoutRepository;
+import com.rgbradford.backend.repository.ProjectRepository;
+import com.rgbradford.backend.repository.UserRepository;
+import com.rgbradford.backend.repository.WellAnalysisRepository;
+import com.rgbradford.backend.repository.WellRepository;
+import com.rgbradford.backend.security.JwtTokenProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class PlateAnalysisControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private PlateLayoutRepository plateLayoutRepository;
+
+    @Autowired
+    private WellRepository wellRepository;
+
+    @Autowired
+    private WellAnalysisRepository wellAnalysisRepository;
+
+    private PlateLayout plateLayout;
+
+    @BeforeEach
+    void setUp() {
+        // Clean up before each test
+        plateLayoutRepository.deleteAll();
+        projectRepository.deleteAll();
+        userRepository.deleteAll();
+
+        User user = new User();
+        user.setEmail("download@example.com");
+        user.setPassword("password");
+        user = userRepository.save(user);
+
+        Project project = new Project();
+        project.setName("Download Project");
+        project.setUser(user);
+        project = projectRepository.save(project);
+
+        plateLayout = new PlateLayout();
+        plateLayout.setRows(1);
+        plateLayout.setColumns(4);
+        plateLayout.setProject(project);
+        plateLayout = plateLayoutRepository.save(plateLayout);
+
+        // Three standards on a line and one sample between them
+        saveWell(0, WellType.STANDARD, 0.0, 100, 20);
+        saveWell(1, WellType.STANDARD, 10.0, 100, 40);
+        saveWell(2, WellType.STANDARD, 20.0, 100, 60);
+        saveWell(3, WellType.SAMPLE, null, 100, 50);
+    }
+
+    @Test
+    void downloadCsv_WithJwt_StreamsOnAsyncDispatch() throws Exception {
+        String token = jwtTokenProvider.generateToken("download@example.com");
+
+        // The body is written on the async dispatch, which runs the security filter chain again
+        MvcResult result = mockMvc.perform(get("/api/plate-analysis/" + plateLayout.getId() + "/csv")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, containsString(".csv")))
+                .andExpect(content().string(containsString("0,3,0.5000,15.0000")));
+    }
+
+    @Test
+    void downloadCsv_WithoutJwt_IsRejected() throws Exception {
+        mockMvc.perform(get("/api/plate-analysis/" + plateLayout.getId() + "/csv"))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isForbidden());
+    }
+
+    private void saveWell(int column, WellType type, Double concentration, int green, int blue) {
+        Well well = wellRepository.save(Well.builder()
+                .row(0)
+                .column(column)
+                .position("A" + (column + 1))
+                .type(type)
+                .standardConcentration(concentration)
+                .plateLayout(plateLayout)
+                .build());
+        wellAnalysisRepository.save(WellAnalysis.builder()
+                .well(well)
+                .greenValue(green)
+                .blueValue(blue)
+                .blueToGreenRatio((double) blue / green)
+                .pixelCount(50)
+                .build());
+    }
+}
@@ -0,0 +1,123 @@
+package com.rgbradford.backend.repository;
+
+import com.rgbradford.backend.dto.projection.WellAnalysisRow;
+import com.rgbradford.backend.entity.PlateLayout;
+import com.rgbradford.backend.entity.Project;
+import com.rgbradford.backend.entity.User;
+import com.rgbradford.backend.entity.Well;
+import com.rgbradford.backend.entity.WellAnalysis;
+import com.rgbradford.backend.entity.WellType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+public class WellAnalysisUpsertRepositoryTest {
+
+    @Autowired
+    private WellAnalysisUpsertRepository wellAnalysisUpsertRepository;
+
+    @Autowired
+    private WellAnalysisRepository wellAnalysisRepository;
+
+    @Autowired
+    private WellRepository wellRepository;
+
+    @Autowired
+    private PlateLayoutRepository plateLayoutRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private PlateLayout plateLayout;
+    private List<Well> wells;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setEmail("upsert@example.com");
+        user.setPassword("password");
+        user = userRepository.save(user);
+
+        Project project = new Project();
+        project.setName("Upsert Project");
+        project.setUser(user);
+        project = projectRepository.save(project);
+
+        plateLayout = new PlateLayout();
+        plateLayout.setRows(2);
+        plateLayout.setColumns(3);
+        plateLayout.setProject(project);
+        plateLayout = plateLayoutRepository.save(plateLayout);
+
+        wells = new ArrayList<>();
+        for (int row = 0; row < 2; row++) {
+            for (int col = 0; col < 3; col++) {
+                wells.add(Well.builder()
+                        .row(row)
+                        .column(col)
+                        .position(String.valueOf((char) ('A' + row)) + (col + 1))
+                        .type(WellType.SAMPLE)
+                        .plateLayout(plateLayout)
+                        .build());
+            }
+        }
+        wells = wellRepository.saveAll(wells);
+        // The upsert bypasses the persistence context, so the wells must be in the database first
+        entityManager.flush();
+    }
+
+    @Test
+    void upsert_SamePlateTwice_KeepsOneRowPerWellWithUpdatedValues() {
+        wellAnalysisUpsertRepository.upsert(analyses(100, 50));
+        wellAnalysisUpsertRepository.upsert(analyses(200, 120));
+        entityManager.clear();
+
+        List<WellAnalysisRow> rows = wellAnalysisRepository.findRowsByPlateLayoutId(plateLayout.getId());
+        assertEquals(wells.size(), rows.size());
+        Set<Long> wellIds = rows.stream().map(WellAnalysisRow::getWellId).collect(Collectors.toSet());
+        assertEquals(wells.stream().map(Well::getId).collect(Collectors.toSet()), wellIds);
+        for (WellAnalysisRow row : rows) {
+            int offset = row.getRow() * 3 + row.getColumn();
+            assertEquals(200 + offset, row.getGreenValue());
+            assertEquals(120 + offset, row.getBlueValue());
+            assertEquals((120.0 + offset) / (200 + offset), row.getBlueToGreenRatio(), 1e-12);
+        }
+    }
+
+    // New, ID-less analyses for every well, as a re-analysis produces them
+    private List<WellAnalysis> analyses(int greenBase, int blueBase) {
+        List<WellAnalysis> analyses = new ArrayList<>();
+        for (Well well : wells) {
+            int offset = well.getRow() * 3 + well.getColumn();
+            int green = greenBase + offset;
+            int blue = blueBase + offset;
+            analyses.add(WellAnalysis.builder()
+                    .well(well)
+                    .greenValue(green)
+                    .blueValue(blue)
+                    .blueToGreenRatio((double) blue / green)
+                    .pixelCount(50)
+                    .build());
+        }
+        return analyses;
+    }
+}
@@ -0,0 +1,201 @@
+package com.rgbradford.backend.service;
+
+import com.rgbradford.backend.dto.request.PlateAnalysisParams;
+import com.rgbradford.backend.dto.response.ImageQualityReport;
+import com.rgbradford.backend.service.impl.ImageQualityServiceImpl;
+import com.rgbradford.backend.util.PlateGrid;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.awt.image.ConvolveOp;
+import java.awt.image.Kernel;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the quality gate with the shipped thresholds (application.properties) on synthetic plate photos:
+ * a 12x8 plate on a blown-out light box, the same photo slightly and badly out of focus, and over-exposed.
+ */
+@SpringBootTest(classes = ImageQualityServiceImpl.class)
+public class ImageQualityServiceImplTest {
+
+    private static final int WIDTH = 1600;
+    private static final int HEIGHT = 1100;
+    private static final PlateAnalysisParams PARAMS = new PlateAnalysisParams();
+
+    private static byte[] sharp;
+    private static byte[] blurred;
+    private static byte[] badlyBlurred;
+    private static byte[] overexposed;
+    private static Rectangle plateRegion;
+
+    @Autowired
+    private ImageQualityServiceImpl imageQualityService;
+
+    @BeforeAll
+    static void createFixtures() throws IOException {
+        PARAMS.setColumns(12);
+        PARAMS.setRows(8);
+        PARAMS.setXOrigin(300);
+        PARAMS.setYOrigin(250);
+        PARAMS.setXEnd(1300);
+        PARAMS.setYEnd(850);
+        PARAMS.setWellDiameter(70);
+        plateRegion = new PlateGrid(PARAMS).plateBounds();
+
+        BufferedImage photo = platePhoto();
+        sharp = png(photo);
+        blurred = png(defocus(photo, 2));
+        badlyBlurred = png(defocus(photo, 4));
+        overexposed = png(scaleExposure(photo, 1.8));
+    }
+
+    @Test
+    void assess_SharpPlateRegion_Passes() throws IOException {
+        ImageQualityReport report = imageQualityService.assess(sharp, plateRegion);
+
+        assertEquals(ImageQualityReport.Status.PASS, report.getStatus(), report.getMessages().toString());
+        assertTrue(report.isPlateRegionOnly());
+    }
+
+    @Test
+    void assess_SharpWholeFrame_LightBoxOnlyWarns() throws IOException {
+        // More than 30% of the frame is the blown-out light box: beyond the reject threshold, but warn-only
+        ImageQualityReport report = imageQualityService.assess(sharp);
+
+        assertEquals(ImageQualityReport.Status.WARN, report.getStatus());
+        assertTrue(report.getClippedHighFraction() > 0.3);
+        assertFalse(report.isPlateRegionOnly());
+    }
+
+    @Test
+    void assess_Blurred_WarnsAboutFocus() throws IOException {
+        ImageQualityReport sharpReport = imageQualityService.assess(sharp, plateRegion);
+        ImageQualityReport report = imageQualityService.assess(blurred, plateRegion);
+
+        assertEquals(ImageQualityReport.Status.WARN, report.getStatus());
+        assertTrue(report.getSharpness() < sharpReport.getSharpness() / 4,
+                report.getSharpness() + " vs " + sharpReport.getSharpness());
+        assertTrue(report.getMessages().stream().anyMatch(m -> m.contains("blurry") || m.contains("out of focus")),
+                report.getMessages().toString());
+    }
+
+    @Test
+    void assess_Overexposed_WarnsAboutClipping() throws IOException {
+        ImageQualityReport report = imageQualityService.assess(overexposed, plateRegion);
+
+        assertEquals(ImageQualityReport.Status.WARN, report.getStatus());
+        assertTrue(report.getMessages().stream().anyMatch(m -> m.contains("clipped")), report.getMessages().toString());
+    }
+
+    @Test
+    void assess_RejectionEnabled_RejectsOnlyBeyondRejectThresholds() throws IOException {
+        ReflectionTestUtils.setField(imageQualityService, "rejectEnabled", true);
+        try {
+            assertEquals(ImageQualityReport.Status.PASS, imageQualityService.assess(sharp, plateRegion).getStatus());
+            assertEquals(ImageQualityReport.Status.WARN, imageQualityService.assess(blurred, plateRegion).getStatus());
+            assertEquals(ImageQualityReport.Status.REJECT, imageQualityService.assess(badlyBlurred, plateRegion).getStatus());
+            assertEquals(ImageQualityReport.Status.REJECT, imageQualityService.assess(overexposed, plateRegion).getStatus());
+        } finally {
+            ReflectionTestUtils.setField(imageQualityService, "rejectEnabled", false);
+        }
+    }
+
+    @Test
+    void assess_RegionOutsideImage_FallsBackToWholeFrame() throws IOException {
+        ImageQualityReport report = imageQualityService.assess(sharp, new Rectangle(WIDTH + 10, 0, 100, 100));
+
+        assertFalse(report.isPlateRegionOnly());
+    }
+
+    // Grey plate with textured plastic and tinted wells with dark rims, on a white light box
+    private static BufferedImage platePhoto() {
+        BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, WIDTH, HEIGHT);
+            g.setColor(new Color(170, 172, 168));
+            g.fill(plateRegion);
+
+            PlateGrid grid = new PlateGrid(PARAMS);
+            int diameter = PARAMS.getWellDiameter();
+            for (int row = 0; row < grid.getRows(); row++) {
+                for (int col = 0; col < grid.getColumns(); col++) {
+                    int x = grid.centerX(col) - diameter / 2;
+                    int y = grid.centerY(row) - diameter / 2;
+                    g.setColor(new Color(60, 60, 70));
+                    g.fillOval(x, y, diameter, diameter);
+                    g.setColor(new Color(80, 110 + col * 6, 150 - row * 8));
+                    g.fillOval(x + 5, y + 5, diameter - 10, diameter - 10);
+                }
+            }
+        } finally {
+            g.dispose();
+        }
+
+        // Sensor noise and plastic texture on the plate only; the light box is saturated
+        Random random = new Random(7);
+        for (int y = plateRegion.y; y < plateRegion.y + plateRegion.height; y++) {
+            for (int x = plateRegion.x; x < plateRegion.x + plateRegion.width; x++) {
+                int noise = (int) Math.round(random.nextGaussian() * 6);
+                int p = image.getRGB(x, y);
+                image.setRGB(x, y, rgb(((p >> 16) & 0xFF) + noise, ((p >> 8) & 0xFF) + noise, (p & 0xFF) + noise));
+            }
+        }
+        return image;
+    }
+
+    // Repeated separable box blurs approximate a Gaussian: sigma of about 3.6 px for two passes, 5.2 px for four
+    private static BufferedImage defocus(BufferedImage image, int passes) {
+        float[] box = new float[9];
+        Arrays.fill(box, 1f / box.length);
+        ConvolveOp horizontal = new ConvolveOp(new Kernel(box.length, 1, box), ConvolveOp.EDGE_NO_OP, null);
+        ConvolveOp vertical = new ConvolveOp(new Kernel(1, box.length, box), ConvolveOp.EDGE_NO_OP, null);
+        BufferedImage result = image;
+        for (int i = 0; i < passes; i++) {
+            result = vertical.filter(horizontal.filter(result, null), null);
+        }
+        return result;
+    }
+
+    private static BufferedImage scaleExposure(BufferedImage image, double factor) {
+        BufferedImage result = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                int p = image.getRGB(x, y);
+                result.setRGB(x, y, rgb((int) (((p >> 16) & 0xFF) * factor), (int) (((p >> 8) & 0xFF) * factor),
+                        (int) ((p & 0xFF) * factor)));
+            }
+        }
+        return result;
+    }
+
+    private static int rgb(int r, int g, int b) {
+        return (clamp(r) << 16) | (clamp(g) << 8) | clamp(b);
+    }
+
+    private static int clamp(int value) {
+        return Math.max(0, Math.min(255, value));
+    }
+
+    private static byte[] png(BufferedImage image) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
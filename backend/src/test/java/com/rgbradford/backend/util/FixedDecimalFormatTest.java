@@ -0,0 +1,62 @@
+package com.rgbradford.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FixedDecimalFormatTest {
+
+    private static String format(double value, int decimals) {
+        StringBuilder sb = new StringBuilder();
+        FixedDecimalFormat.append(sb, value, decimals);
+        return sb.toString();
+    }
+
+    private static void assertMatchesStringFormat(double value, int decimals) {
+        assertEquals(String.format(Locale.ROOT, "%." + decimals + "f", value), format(value, decimals),
+                "value " + value + " with " + decimals + " decimals");
+    }
+
+    @Test
+    void append_RandomValuesAcrossMagnitudes_MatchesStringFormat() {
+        Random random = new Random(42);
+        for (int i = 0; i < 50_000; i++) {
+            double magnitude = Math.pow(10, random.nextInt(16) - 6);
+            double value = (random.nextDouble() - 0.5) * magnitude;
+            assertMatchesStringFormat(value, 4);
+            assertMatchesStringFormat(value, random.nextInt(9));
+        }
+    }
+
+    @Test
+    void append_HalfwayValues_RoundHalfUpLikeStringFormat() {
+        double[] values = {0.00005, 1.00005, 2.50005, 0.12345, -0.12345, 1.23455, 99.99995, 0.5, 1.5, 2.5,
+                -2.5, 1e-5, 4.35, 1.0005, 123456.00005};
+        for (double value : values) {
+            for (int decimals = 0; decimals <= 8; decimals++) {
+                assertMatchesStringFormat(value, decimals);
+            }
+        }
+    }
+
+    @Test
+    void append_SpecialValues_MatchStringFormat() {
+        double[] values = {0.0, -0.0, -0.00001, 1e-300, Double.MIN_VALUE, Double.MAX_VALUE, -Double.MAX_VALUE,
+                1e14, 9.99999999999e9, Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY};
+        for (double value : values) {
+            assertMatchesStringFormat(value, 4);
+            assertMatchesStringFormat(value, 0);
+        }
+        assertEquals("-0.0000", format(-0.00001, 4));
+        assertEquals("1.0001", format(1.00005, 4));
+    }
+
+    @Test
+    void append_InvalidDecimals_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> format(1.0, -1));
+        assertThrows(IllegalArgumentException.class, () -> format(1.0, 9));
+    }
+}
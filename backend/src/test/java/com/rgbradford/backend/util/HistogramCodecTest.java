@@ -0,0 +1,63 @@
+package com.rgbradford.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HistogramCodecTest {
+
+    @Test
+    void encodeDecode_NarrowBandHistogram_RoundTripsCompactly() {
+        int[] histogram = new int[HistogramCodec.BINS];
+        Random random = new Random(42);
+        for (int i = 0; i < 5000; i++) {
+            histogram[Math.min(255, Math.max(0, (int) Math.round(180 + random.nextGaussian() * 6)))]++;
+        }
+
+        byte[] encoded = HistogramCodec.encode(histogram);
+
+        assertArrayEquals(histogram, HistogramCodec.decode(encoded));
+        assertTrue(encoded.length < 100, "encoded size was " + encoded.length);
+    }
+
+    @Test
+    void encodeDecode_EdgeCases_RoundTrip() {
+        int[] empty = new int[HistogramCodec.BINS];
+        int[] full = new int[HistogramCodec.BINS];
+        int[] ends = new int[HistogramCodec.BINS];
+        for (int i = 0; i < HistogramCodec.BINS; i++) {
+            full[i] = i * 1000 + 1;
+        }
+        ends[0] = 7;
+        ends[255] = Integer.MAX_VALUE;
+
+        assertArrayEquals(empty, HistogramCodec.decode(HistogramCodec.encode(empty)));
+        assertArrayEquals(full, HistogramCodec.decode(HistogramCodec.encode(full)));
+        assertArrayEquals(ends, HistogramCodec.decode(HistogramCodec.encode(ends)));
+    }
+
+    @Test
+    void decode_TruncatedData_Throws() {
+        int[] histogram = new int[HistogramCodec.BINS];
+        histogram[100] = 300;
+        byte[] encoded = HistogramCodec.encode(histogram);
+        byte[] truncated = java.util.Arrays.copyOf(encoded, encoded.length - 1);
+
+        assertThrows(IllegalArgumentException.class, () -> HistogramCodec.decode(truncated));
+    }
+
+    @Test
+    void statistics_MatchDirectComputation() {
+        int[] histogram = new int[HistogramCodec.BINS];
+        histogram[10] = 1;
+        histogram[20] = 2;
+        histogram[250] = 1;
+
+        assertEquals(4, HistogramStatistics.total(histogram));
+        assertEquals((10 + 40 + 250) / 4.0, HistogramStatistics.mean(histogram), 1e-12);
+        assertEquals(20, HistogramStatistics.median(histogram));
+        assertEquals(0.25, HistogramStatistics.clippedFraction(histogram, 5, 250), 1e-12);
+    }
+}
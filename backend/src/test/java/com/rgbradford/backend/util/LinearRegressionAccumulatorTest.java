@@ -0,0 +1,87 @@
+package com.rgbradford.backend.util;
+
+import org.apache.commons.math3.stat.regression.SimpleRegression;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LinearRegressionAccumulatorTest {
+
+    @Test
+    void result_NoisyPoints_MatchesReferenceRegression() {
+        LinearRegressionAccumulator accumulator = new LinearRegressionAccumulator();
+        SimpleRegression reference = new SimpleRegression();
+        Random random = new Random(7);
+        for (int i = 0; i < 12; i++) {
+            double x = 0.4 + i * 0.15;
+            double y = 250.0 * x - 40.0 + random.nextGaussian() * 5.0;
+            accumulator.add(x, y);
+            reference.addData(x, y);
+        }
+
+        LinearRegressionAccumulator.Result fit = accumulator.result();
+
+        assertNotNull(fit);
+        assertEquals(12, fit.getCount());
+        assertEquals(reference.getSlope(), fit.getSlope(), 1e-9);
+        assertEquals(reference.getIntercept(), fit.getIntercept(), 1e-9);
+        assertEquals(reference.getRSquare(), fit.getRSquared(), 1e-12);
+        assertEquals(reference.getSumSquaredErrors(), fit.getResidualSumOfSquares(), 1e-9);
+        assertEquals(Math.sqrt(reference.getMeanSquareError()), fit.getStandardError(), 1e-9);
+    }
+
+    @Test
+    void result_LargeOffsetX_StaysAccurate() {
+        // Naive sum-of-squares formulas lose most significant digits here
+        LinearRegressionAccumulator accumulator = new LinearRegressionAccumulator();
+        for (int i = 0; i < 100; i++) {
+            double x = 1e5 + i * 1e-3;
+            accumulator.add(x, 3.0 * (x - 1e5) + 2.0);
+        }
+
+        LinearRegressionAccumulator.Result fit = accumulator.result();
+
+        assertNotNull(fit);
+        assertEquals(3.0, fit.getSlope(), 1e-6);
+        assertEquals(1.0, fit.getRSquared(), 1e-9);
+        assertEquals(2.0, fit.predict(1e5), 1e-6);
+    }
+
+    @Test
+    void result_ExactLine_HasZeroResiduals() {
+        LinearRegressionAccumulator accumulator = new LinearRegressionAccumulator();
+        accumulator.add(1.0, 5.0);
+        accumulator.add(2.0, 7.0);
+        accumulator.add(3.0, 9.0);
+
+        LinearRegressionAccumulator.Result fit = accumulator.result();
+
+        assertEquals(2.0, fit.getSlope(), 1e-12);
+        assertEquals(3.0, fit.getIntercept(), 1e-12);
+        assertEquals(1.0, fit.getRSquared(), 1e-12);
+        assertEquals(0.0, fit.getStandardError(), 1e-12);
+        assertEquals(0.0, fit.residual(2.0, 7.0), 1e-12);
+        assertEquals(1.0, fit.residual(2.0, 8.0), 1e-12);
+    }
+
+    @Test
+    void result_DegenerateInput_ReturnsNullOrNaN() {
+        LinearRegressionAccumulator accumulator = new LinearRegressionAccumulator();
+        assertNull(accumulator.result());
+
+        accumulator.add(1.0, 1.0);
+        assertNull(accumulator.result());
+
+        // Two points fit exactly but leave no degrees of freedom for the standard error
+        accumulator.add(2.0, 3.0);
+        assertTrue(Double.isNaN(accumulator.result().getStandardError()));
+
+        LinearRegressionAccumulator sameX = new LinearRegressionAccumulator();
+        sameX.add(0.5, 1.0);
+        sameX.add(0.5, 2.0);
+        sameX.add(0.5, 3.0);
+        assertNull(sameX.result());
+    }
+}
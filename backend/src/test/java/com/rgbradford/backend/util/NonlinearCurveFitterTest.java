@@ -0,0 +1,96 @@
+package com.rgbradford.backend.util;
+
+import com.rgbradford.backend.entity.CurveModelType;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NonlinearCurveFitterTest {
+
+    // Typical BSA dilution series in ug/mL, including a blank
+    private static final double[] CONCENTRATIONS = {0, 25, 125, 250, 500, 750, 1000, 1500, 2000};
+
+    @Test
+    void fit_FourPlWithNoise_RecoversCurveAndInvertsSamples() {
+        double[] truth = {0.45, 1.3, 600.0, 1.9};
+        double[] ratios = sample(CurveModelType.FOUR_PL, truth, 0.004, 11);
+
+        NonlinearCurveFitter.Fit fit = NonlinearCurveFitter.fit(CurveModelType.FOUR_PL, CONCENTRATIONS, ratios, null);
+
+        assertTrue(fit.getRSquared() > 0.999, "R^2 was " + fit.getRSquared());
+        double[] p = fit.getParameters();
+        for (double concentration : new double[]{100, 400, 900, 1600}) {
+            double ratio = StandardCurveModels.response(CurveModelType.FOUR_PL, truth, concentration);
+            double estimate = StandardCurveModels.concentration(CurveModelType.FOUR_PL, p, ratio);
+            assertEquals(concentration, estimate, concentration * 0.05);
+        }
+    }
+
+    @Test
+    void fit_WarmStartFromPreviousCurve_ConvergesInFewerIterations() {
+        double[] truth = {0.45, 1.3, 600.0, 1.9};
+        double[] previous = NonlinearCurveFitter.fit(CurveModelType.FOUR_PL, CONCENTRATIONS,
+                sample(CurveModelType.FOUR_PL, truth, 0.004, 1), null).getParameters();
+        double[] refreshed = sample(CurveModelType.FOUR_PL, truth, 0.004, 2);
+
+        NonlinearCurveFitter.Fit cold = NonlinearCurveFitter.fit(CurveModelType.FOUR_PL, CONCENTRATIONS, refreshed, null);
+        NonlinearCurveFitter.Fit warm = NonlinearCurveFitter.fit(CurveModelType.FOUR_PL, CONCENTRATIONS, refreshed, previous);
+
+        assertTrue(warm.getIterations() < cold.getIterations(),
+                "warm " + warm.getIterations() + " vs cold " + cold.getIterations());
+        assertArrayEquals(cold.getParameters(), warm.getParameters(), 1e-3 * 600.0);
+    }
+
+    @Test
+    void fit_FivePlExactData_RoundTripsConcentrations() {
+        double[] truth = {0.5, 1.6, 450.0, 2.1, 0.7};
+        double[] ratios = sample(CurveModelType.FIVE_PL, truth, 0.0, 0);
+
+        NonlinearCurveFitter.Fit fit = NonlinearCurveFitter.fit(CurveModelType.FIVE_PL, CONCENTRATIONS, ratios, null);
+
+        for (int i = 1; i < CONCENTRATIONS.length; i++) {
+            double estimate = StandardCurveModels.concentration(CurveModelType.FIVE_PL, fit.getParameters(), ratios[i]);
+            assertEquals(CONCENTRATIONS[i], estimate, CONCENTRATIONS[i] * 1e-3);
+        }
+    }
+
+    @Test
+    void fit_QuadraticSaturating_InvertsOnRisingBranch() {
+        double[] truth = {0.5, 8e-4, -2e-7};
+        double[] ratios = sample(CurveModelType.QUADRATIC, truth, 0.0, 0);
+
+        NonlinearCurveFitter.Fit fit = NonlinearCurveFitter.fit(CurveModelType.QUADRATIC, CONCENTRATIONS, ratios, null);
+
+        assertEquals(1.0, fit.getRSquared(), 1e-9);
+        assertEquals(1000.0, StandardCurveModels.concentration(CurveModelType.QUADRATIC, fit.getParameters(),
+                StandardCurveModels.response(CurveModelType.QUADRATIC, truth, 1000.0)), 1e-3);
+        // Above the vertex ratio there is no concentration on the curve
+        assertTrue(Double.isNaN(StandardCurveModels.concentration(CurveModelType.QUADRATIC, truth, 2.0)));
+    }
+
+    @Test
+    void concentration_OutsideLogisticAsymptotes_IsNaN() {
+        double[] p = {0.45, 1.3, 600.0, 1.9};
+        assertTrue(Double.isNaN(StandardCurveModels.concentration(CurveModelType.FOUR_PL, p, 1.95)));
+        assertTrue(Double.isNaN(StandardCurveModels.concentration(CurveModelType.FOUR_PL, p, 0.40)));
+        assertEquals(0.0, StandardCurveModels.concentration(CurveModelType.FOUR_PL, p, 0.45), 1e-9);
+        assertEquals(600.0, StandardCurveModels.concentration(CurveModelType.FOUR_PL, p, (0.45 + 1.9) / 2), 1e-6);
+    }
+
+    @Test
+    void fit_TooFewStandards_IsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> NonlinearCurveFitter.fit(CurveModelType.FIVE_PL,
+                new double[]{0, 100, 200, 400}, new double[]{0.5, 0.7, 0.9, 1.1}, null));
+    }
+
+    private static double[] sample(CurveModelType type, double[] parameters, double noise, long seed) {
+        Random random = new Random(seed);
+        double[] ratios = new double[CONCENTRATIONS.length];
+        for (int i = 0; i < ratios.length; i++) {
+            ratios[i] = StandardCurveModels.response(type, parameters, CONCENTRATIONS[i]) + random.nextGaussian() * noise;
+        }
+        return ratios;
+    }
+}
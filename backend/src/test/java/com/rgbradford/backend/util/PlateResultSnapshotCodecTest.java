@@ -0,0 +1,58 @@
+package com.rgbradford.backend.util;
+
+import com.rgbradford.backend.dto.projection.WellAnalysisRow;
+import com.rgbradford.backend.entity.WellType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PlateResultSnapshotCodecTest {
+
+    @Test
+    void encodeDecode_FullPlate_RoundTripsExactly() {
+        List<WellAnalysisRow> rows = new ArrayList<>();
+        for (int row = 0; row < 32; row++) {
+            for (int col = 0; col < 48; col++) {
+                int green = 120 + (row * 7 + col) % 60;
+                int blue = 60 + (row + col * 3) % 90;
+                rows.add(new WellAnalysisRow(
+                        (long) (row * 48 + col + 1000), (long) (row * 48 + col + 1),
+                        row, col, WellPositionUtils.toPosition(row, col),
+                        col < 2 ? WellType.STANDARD : WellType.SAMPLE,
+                        col < 2 ? null : "S" + col, col < 2 ? null : 2.0, "G" + row,
+                        green, blue, (double) blue / green, col % 5 == 0 ? null : 0.01 * col, col % 5 == 0 ? null : 0.02 * col,
+                        -Math.log10(green / 255.0), -Math.log10(blue / 255.0), Math.log10(255.0 / blue) / Math.log10(255.0 / green),
+                        1200 + col));
+            }
+        }
+
+        byte[] encoded = PlateResultSnapshotCodec.encode(rows);
+
+        assertEquals(rows, PlateResultSnapshotCodec.decode(encoded));
+        assertTrue(encoded.length < rows.size() * 60, "encoded size was " + encoded.length);
+    }
+
+    @Test
+    void encodeDecode_EmptyAndAllNull_RoundTrip() {
+        WellAnalysisRow blank = new WellAnalysisRow();
+
+        assertEquals(List.of(), PlateResultSnapshotCodec.decode(PlateResultSnapshotCodec.encode(List.of())));
+        assertEquals(List.of(blank), PlateResultSnapshotCodec.decode(PlateResultSnapshotCodec.encode(List.of(blank))));
+    }
+
+    @Test
+    void decode_UnknownVersionOrCorruptData_Throws() {
+        byte[] encoded = PlateResultSnapshotCodec.encode(List.of(new WellAnalysisRow()));
+        byte[] wrongVersion = encoded.clone();
+        wrongVersion[0] = 99;
+        byte[] truncated = Arrays.copyOf(encoded, encoded.length / 2);
+
+        assertThrows(IllegalArgumentException.class, () -> PlateResultSnapshotCodec.decode(wrongVersion));
+        assertThrows(IllegalArgumentException.class, () -> PlateResultSnapshotCodec.decode(truncated));
+        assertThrows(IllegalArgumentException.class, () -> PlateResultSnapshotCodec.decode(new byte[0]));
+    }
+}
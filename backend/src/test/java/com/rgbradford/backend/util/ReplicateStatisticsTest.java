@@ -0,0 +1,96 @@
+package com.rgbradford.backend.util;
+
+import com.rgbradford.backend.dto.projection.WellAnalysisRow;
+import com.rgbradford.backend.dto.response.ReplicateGroupStatistics;
+import com.rgbradford.backend.entity.WellType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReplicateStatisticsTest {
+
+    private static WellAnalysisRow row(String position, String group, Double ratio, Double concentration) {
+        WellAnalysisRow row = new WellAnalysisRow();
+        row.setPosition(position);
+        row.setWellType(WellType.SAMPLE);
+        row.setReplicateGroup(group);
+        row.setBlueToGreenRatio(ratio);
+        row.setCalculatedConcentration(concentration);
+        row.setAdjustedConcentration(concentration != null ? concentration * 2.0 : null);
+        return row;
+    }
+
+    @Test
+    void compute_MeanSdAndCv_MatchTwoPassFormulas() {
+        List<WellAnalysisRow> rows = List.of(
+                row("A1", "G1", 1.0, 10.0),
+                row("A2", "G1", 1.2, 12.0),
+                row("A3", "G1", 1.4, null));
+
+        ReplicateGroupStatistics.Group group = ReplicateStatistics.compute(rows).get(0);
+
+        assertEquals(3, group.getWellCount());
+        assertEquals(3, group.getRatio().getN());
+        assertEquals(1.2, group.getRatio().getMean(), 1e-12);
+        assertEquals(0.2, group.getRatio().getSd(), 1e-12);
+        assertEquals(100.0 * 0.2 / 1.2, group.getRatio().getCvPercent(), 1e-9);
+        // Wells without a concentration only count for the ratio
+        assertEquals(2, group.getConcentration().getN());
+        assertEquals(11.0, group.getConcentration().getMean(), 1e-12);
+        assertEquals(Math.sqrt(2.0), group.getConcentration().getSd(), 1e-12);
+        assertEquals(22.0, group.getAdjustedConcentration().getMean(), 1e-12);
+        assertTrue(group.getOutlierPositions().isEmpty());
+    }
+
+    @Test
+    void compute_GroupsByNameAndSkipsUngroupedRows() {
+        List<WellAnalysisRow> rows = new ArrayList<>();
+        rows.add(row("B1", "b", 0.8, null));
+        rows.add(row("A1", "a", 0.9, null));
+        rows.add(row("C1", null, 1.0, null));
+        rows.add(row("D1", " ", 1.0, null));
+
+        List<ReplicateGroupStatistics.Group> groups = ReplicateStatistics.compute(rows);
+
+        assertEquals(List.of("a", "b"), groups.stream().map(ReplicateGroupStatistics.Group::getReplicateGroup).toList());
+        ReplicateGroupStatistics.Stats single = groups.get(0).getRatio();
+        assertEquals(0.9, single.getMean(), 1e-12);
+        assertNull(single.getSd());
+        assertNull(single.getCvPercent());
+        assertNull(groups.get(0).getConcentration().getMean());
+    }
+
+    @Test
+    void compute_FlagsOutlierByModifiedZScore() {
+        List<WellAnalysisRow> rows = List.of(
+                row("A1", "G", 1.00, null),
+                row("A2", "G", 1.02, null),
+                row("A3", "G", 0.98, null),
+                row("A4", "G", 1.01, null),
+                row("A5", "G", 1.60, null));
+
+        assertEquals(List.of("A5"), ReplicateStatistics.compute(rows).get(0).getOutlierPositions());
+    }
+
+    @Test
+    void compute_TwoReplicates_NeverFlagsOutliers() {
+        List<WellAnalysisRow> rows = List.of(row("A1", "G", 1.0, null), row("A2", "G", 5.0, null));
+        assertTrue(ReplicateStatistics.compute(rows).get(0).getOutlierPositions().isEmpty());
+    }
+
+    @Test
+    void modifiedZScores_ZeroMedianAbsoluteDeviation_ReturnsZeros() {
+        double[] scores = ReplicateStatistics.modifiedZScores(new double[]{1.0, 1.0, 1.0, 4.0}, 4);
+        assertArrayEquals(new double[4], scores);
+    }
+
+    @Test
+    void modifiedZScores_MatchDefinition() {
+        // median 3, absolute deviations {2, 1, 0, 1, 6} -> MAD 1
+        double[] scores = ReplicateStatistics.modifiedZScores(new double[]{1, 2, 3, 4, 9}, 5);
+        assertArrayEquals(new double[]{-1.349, -0.6745, 0.0, 0.6745, 4.047}, scores, 1e-12);
+    }
+}
@@ -0,0 +1,93 @@
+package com.rgbradford.backend.util;
+
+import com.rgbradford.backend.entity.CurveModelType;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StandardCurveBootstrapTest {
+
+    private static ForkJoinPool pool;
+
+    @BeforeAll
+    static void createPool() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterAll
+    static void shutdownPool() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void replicates_LinearCurve_MatchesAnalyticConfidenceInterval() {
+        double[] ratios = {0.5, 0.7, 0.9, 1.1, 1.3, 1.5, 1.7, 1.9};
+        double[] concentrations = new double[ratios.length];
+        Random random = new Random(3);
+        LinearRegressionAccumulator accumulator = new LinearRegressionAccumulator();
+        for (int i = 0; i < ratios.length; i++) {
+            concentrations[i] = 1000.0 * ratios[i] - 400.0 + random.nextGaussian() * 20.0;
+            accumulator.add(ratios[i], concentrations[i]);
+        }
+        LinearRegressionAccumulator.Result fit = accumulator.result();
+        double[] parameters = {fit.getSlope(), fit.getIntercept()};
+
+        double[] replicates = StandardCurveBootstrap.replicates(CurveModelType.LINEAR, ratios, concentrations,
+                parameters, 4000, 42, pool);
+
+        double[] buffer = new double[4000];
+        double[] middle = StandardCurveBootstrap.interval(CurveModelType.LINEAR, replicates, 1.2, 0.95, buffer);
+        double[] edge = StandardCurveBootstrap.interval(CurveModelType.LINEAR, replicates, 0.5, 0.95, buffer);
+
+        // Normal-theory interval of the mean response at the center of the standards (mean ratio 1.2)
+        double sxx = 0.0;
+        for (double ratio : ratios) {
+            sxx += (ratio - 1.2) * (ratio - 1.2);
+        }
+        double halfWidth = 1.96 * fit.getStandardError() * Math.sqrt(1.0 / ratios.length);
+        double width = middle[1] - middle[0];
+        assertEquals(fit.predict(1.2), (middle[0] + middle[1]) / 2, width * 0.1);
+        assertTrue(width > halfWidth * 2 * 0.7 && width < halfWidth * 2 * 1.3, width + " vs " + 2 * halfWidth);
+        // Wider toward the ends of the standard range
+        double edgeHalfWidth = 1.96 * fit.getStandardError() * Math.sqrt(1.0 / ratios.length + 0.49 / sxx);
+        assertEquals(2 * edgeHalfWidth, edge[1] - edge[0], 2 * edgeHalfWidth * 0.3);
+    }
+
+    @Test
+    void replicates_SameSeed_IndependentOfParallelism() {
+        double[] ratios = {0.48, 0.55, 0.71, 0.86, 1.1, 1.28, 1.41, 1.6, 1.72};
+        double[] concentrations = {0, 25, 125, 250, 500, 750, 1000, 1500, 2000};
+        double[] parameters = NonlinearCurveFitter.fit(CurveModelType.FOUR_PL, concentrations, ratios, null).getParameters();
+
+        ForkJoinPool single = new ForkJoinPool(1);
+        try {
+            double[] serial = StandardCurveBootstrap.replicates(CurveModelType.FOUR_PL, ratios, concentrations,
+                    parameters, 200, 7, single);
+            double[] parallel = StandardCurveBootstrap.replicates(CurveModelType.FOUR_PL, ratios, concentrations,
+                    parameters, 200, 7, pool);
+            assertArrayEquals(serial, parallel);
+        } finally {
+            single.shutdownNow();
+        }
+    }
+
+    @Test
+    void interval_TooFewUsableReplicates_ReturnsNull() {
+        double[] replicates = {1.0, 0.0, Double.NaN, Double.NaN, Double.NaN, Double.NaN};
+        assertNull(StandardCurveBootstrap.interval(CurveModelType.LINEAR, replicates, 1.0, 0.95, new double[3]));
+    }
+
+    @Test
+    void percentile_InterpolatesBetweenOrderStatistics() {
+        double[] sorted = {1.0, 2.0, 3.0, 4.0, 5.0};
+        assertEquals(1.0, StandardCurveBootstrap.percentile(sorted, 5, 0.0), 1e-12);
+        assertEquals(3.0, StandardCurveBootstrap.percentile(sorted, 5, 0.5), 1e-12);
+        assertEquals(4.6, StandardCurveBootstrap.percentile(sorted, 5, 0.9), 1e-12);
+        assertEquals(5.0, StandardCurveBootstrap.percentile(sorted, 5, 1.0), 1e-12);
+    }
+}
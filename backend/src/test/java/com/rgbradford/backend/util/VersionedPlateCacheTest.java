@@ -0,0 +1,103 @@
+package com.rgbradford.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VersionedPlateCacheTest {
+
+    @Test
+    void get_SameVersionAndKey_ComputesOnce() {
+        VersionedPlateCache<String> cache = new VersionedPlateCache<>(10);
+        AtomicInteger loads = new AtomicInteger();
+
+        for (int i = 0; i < 2; i++) {
+            assertEquals("a", cache.get(1L, 1L, "k", () -> {
+                loads.incrementAndGet();
+                return "a";
+            }));
+        }
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void get_NewVersion_ReplacesAllKeysOfThePlate() {
+        VersionedPlateCache<String> cache = new VersionedPlateCache<>(10);
+        cache.get(1L, 1L, "k1", () -> "v1-k1");
+        cache.get(1L, 1L, "k2", () -> "v1-k2");
+        cache.get(2L, 1L, "k1", () -> "other plate");
+
+        assertEquals("v2-k1", cache.get(1L, 2L, "k1", () -> "v2-k1"));
+        assertEquals("v2-k2", cache.get(1L, 2L, "k2", () -> "v2-k2"));
+        assertEquals("other plate", cache.get(2L, 1L, "k1", () -> "reloaded"));
+    }
+
+    @Test
+    void evict_DropsOnlyThatPlate() {
+        VersionedPlateCache<String> cache = new VersionedPlateCache<>(10);
+        cache.get(1L, null, () -> "one");
+        cache.get(2L, null, () -> "two");
+
+        cache.evict(1L);
+
+        assertEquals("one again", cache.get(1L, null, () -> "one again"));
+        assertEquals("two", cache.get(2L, null, () -> "reloaded"));
+    }
+
+    @Test
+    void get_LoaderFails_IsNotCached() {
+        VersionedPlateCache<String> cache = new VersionedPlateCache<>(10);
+
+        assertThrows(IllegalArgumentException.class, () -> cache.get(1L, 1L, () -> {
+            throw new IllegalArgumentException("no standards");
+        }));
+        assertEquals("retried", cache.get(1L, 1L, () -> "retried"));
+    }
+
+    @Test
+    void get_ConcurrentMisses_ShareOneComputation() throws Exception {
+        VersionedPlateCache<String> cache = new VersionedPlateCache<>(10);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<String> first = executor.submit(() -> cache.get(1L, 1L, () -> {
+                loads.incrementAndGet();
+                loading.countDown();
+                await(release);
+                return "shared";
+            }));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+            Future<String> second = executor.submit(() -> cache.get(1L, 1L, () -> {
+                loads.incrementAndGet();
+                return "duplicate";
+            }));
+            // Eviction does not wait for the running computation
+            cache.evict(2L);
+            release.countDown();
+
+            assertEquals("shared", first.get(5, TimeUnit.SECONDS));
+            assertEquals("shared", second.get(5, TimeUnit.SECONDS));
+            assertEquals(1, loads.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.rgbradford.backend.util;
+
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class XlsxColumnWidthsTest {
+
+    @Test
+    void width_WidestCellWins_WithPadding() {
+        XlsxColumnWidths widths = new XlsxColumnWidths(3);
+        widths.text(0, "Row");
+        widths.number(0, 12, 0);
+        widths.text(1, "Ratio");
+        widths.number(1, -123.45678, 4);
+        widths.number(1, 0.5, 4);
+
+        assertEquals((3 + 2) * 256, widths.width(0));
+        assertEquals(("-123.4568".length() + 2) * 256, widths.width(1));
+        assertEquals(0, widths.width(2));
+    }
+
+    @Test
+    void width_VeryLongText_CappedAtExcelMaximum() {
+        XlsxColumnWidths widths = new XlsxColumnWidths(1);
+        widths.text(0, "x".repeat(1000));
+        widths.text(0, null);
+
+        assertEquals(255 * 256, widths.width(0));
+    }
+
+    @Test
+    void applyTo_SetsOnlyColumnsWithContent() throws Exception {
+        XlsxColumnWidths widths = new XlsxColumnWidths(2);
+        widths.text(0, "Concentration (y)");
+
+        try (SXSSFWorkbook workbook = new SXSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet();
+            int defaultWidth = sheet.getColumnWidth(1);
+            widths.applyTo(sheet);
+
+            assertEquals(widths.width(0), sheet.getColumnWidth(0));
+            assertEquals(defaultWidth, sheet.getColumnWidth(1));
+            workbook.dispose();
+        }
+    }
+}
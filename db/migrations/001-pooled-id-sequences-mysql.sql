@@ -0,0 +1,26 @@
+-- Pooled ID sequences for wells, well_analyses and calibration_curve_points (MySQL)
+--
+-- Run once against an existing database BEFORE starting a backend version in which Well, WellAnalysis and
+-- CalibrationCurvePoint take their IDs from pooled sequences (allocationSize 50). Empty databases do not
+-- need it: hbm2ddl creates the sequence tables starting at 1.
+--
+-- MySQL has no sequences. Hibernate emulates each one with a single-row table holding the next value;
+-- hbm2ddl=update would create those tables starting at 1 and the first insert would hit an existing
+-- primary key. This script (re)creates them above the current MAX(id). The pooled optimizer hands out
+-- the block of 50 IDs that ends at the value it reads, so the start leaves one full block above MAX(id).
+--
+-- The AUTO_INCREMENT id columns can stay as they are: MySQL accepts explicit values for them.
+-- Stop all backend instances while running it. Safe to re-run. Example:
+--   mysql -u rgbradford_user -p rgbradford_db < db/migrations/001-pooled-id-sequences-mysql.sql
+
+CREATE TABLE IF NOT EXISTS `wells_seq` (`next_val` BIGINT) ENGINE = InnoDB;
+DELETE FROM `wells_seq`;
+INSERT INTO `wells_seq` (`next_val`) SELECT COALESCE(MAX(`id`), 0) + 51 FROM `wells`;
+
+CREATE TABLE IF NOT EXISTS `well_analyses_seq` (`next_val` BIGINT) ENGINE = InnoDB;
+DELETE FROM `well_analyses_seq`;
+INSERT INTO `well_analyses_seq` (`next_val`) SELECT COALESCE(MAX(`id`), 0) + 51 FROM `well_analyses`;
+
+CREATE TABLE IF NOT EXISTS `calibration_curve_points_seq` (`next_val` BIGINT) ENGINE = InnoDB;
+DELETE FROM `calibration_curve_points_seq`;
+INSERT INTO `calibration_curve_points_seq` (`next_val`) SELECT COALESCE(MAX(`id`), 0) + 51 FROM `calibration_curve_points`;
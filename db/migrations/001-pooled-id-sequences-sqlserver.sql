@@ -0,0 +1,104 @@
+-- Pooled ID sequences for wells, well_analyses and calibration_curve_points (SQL Server / Azure SQL)
+--
+-- Run once against an existing database BEFORE starting a backend version in which Well, WellAnalysis and
+-- CalibrationCurvePoint take their IDs from pooled sequences (allocationSize 50). Required for
+-- JPA_DDL_AUTO=validate, which fails at startup when the sequences are missing.
+--
+-- 1. Removes IDENTITY from the three id columns: the application now supplies the IDs, and IDENTITY
+--    columns reject explicit values (entity inserts as well as the well analysis MERGE).
+--    SQL Server cannot alter IDENTITY away, so the column is rebuilt: foreign keys pointing at the
+--    table are dropped, the values are copied into a new BIGINT column that replaces id, and the
+--    primary key and foreign keys are recreated with their original names and delete actions.
+-- 2. Creates each sequence (INCREMENT BY 50, matching allocationSize; Hibernate rejects a mismatch)
+--    above the current MAX(id). The pooled optimizer hands out the block of 50 IDs that ends at the
+--    value it reads, so the start leaves one full block above MAX(id).
+--
+-- Stop all backend instances while running it. Runs in one transaction; safe to re-run. Example:
+--   sqlcmd -S <server> -d <database> -U <user> -i db/migrations/001-pooled-id-sequences-sqlserver.sql
+
+SET XACT_ABORT ON;
+GO
+
+IF OBJECT_ID('tempdb..#drop_id_identity') IS NOT NULL DROP PROCEDURE #drop_id_identity;
+IF OBJECT_ID('tempdb..#create_id_sequence') IS NOT NULL DROP PROCEDURE #create_id_sequence;
+GO
+
+CREATE PROCEDURE #drop_id_identity @table sysname AS
+BEGIN
+    SET NOCOUNT ON;
+    IF COLUMNPROPERTY(OBJECT_ID(@table), 'id', 'IsIdentity') <> 1
+        RETURN;
+
+    DECLARE @sql nvarchar(max);
+    DECLARE @foreignKeys TABLE (name sysname, parent_table sysname, parent_column sysname, delete_action nvarchar(60));
+    INSERT INTO @foreignKeys
+    SELECT fk.name, OBJECT_NAME(fk.parent_object_id), COL_NAME(fkc.parent_object_id, fkc.parent_column_id),
+           fk.delete_referential_action_desc
+    FROM sys.foreign_keys fk
+    JOIN sys.foreign_key_columns fkc ON fkc.constraint_object_id = fk.object_id
+    WHERE fk.referenced_object_id = OBJECT_ID(@table);
+
+    SELECT @sql = STRING_AGG(CAST('ALTER TABLE ' + QUOTENAME(parent_table) + ' DROP CONSTRAINT ' + QUOTENAME(name)
+                                  AS nvarchar(max)), '; ')
+    FROM @foreignKeys;
+    IF @sql IS NOT NULL EXEC (@sql);
+
+    DECLARE @primaryKey sysname = (SELECT name FROM sys.key_constraints
+                                   WHERE parent_object_id = OBJECT_ID(@table) AND type = 'PK');
+
+    SET @sql = 'ALTER TABLE ' + QUOTENAME(@table) + ' ADD id_without_identity BIGINT NULL';
+    EXEC (@sql);
+    SET @sql = 'UPDATE ' + QUOTENAME(@table) + ' SET id_without_identity = id';
+    EXEC (@sql);
+    SET @sql = 'ALTER TABLE ' + QUOTENAME(@table) + ' DROP CONSTRAINT ' + QUOTENAME(@primaryKey);
+    EXEC (@sql);
+    SET @sql = 'ALTER TABLE ' + QUOTENAME(@table) + ' DROP COLUMN id';
+    EXEC (@sql);
+    DECLARE @column nvarchar(300) = @table + '.id_without_identity';
+    EXEC sp_rename @column, 'id', 'COLUMN';
+    SET @sql = 'ALTER TABLE ' + QUOTENAME(@table) + ' ALTER COLUMN id BIGINT NOT NULL';
+    EXEC (@sql);
+    SET @sql = 'ALTER TABLE ' + QUOTENAME(@table) + ' ADD CONSTRAINT ' + QUOTENAME(@primaryKey) + ' PRIMARY KEY (id)';
+    EXEC (@sql);
+
+    SET @sql = NULL;
+    SELECT @sql = STRING_AGG(CAST('ALTER TABLE ' + QUOTENAME(parent_table) + ' ADD CONSTRAINT ' + QUOTENAME(name)
+                                  + ' FOREIGN KEY (' + QUOTENAME(parent_column) + ') REFERENCES ' + QUOTENAME(@table) + ' (id)'
+                                  + ' ON DELETE ' + REPLACE(delete_action, '_', ' ') AS nvarchar(max)), '; ')
+    FROM @foreignKeys;
+    IF @sql IS NOT NULL EXEC (@sql);
+END;
+GO
+
+CREATE PROCEDURE #create_id_sequence @table sysname AS
+BEGIN
+    SET NOCOUNT ON;
+    DECLARE @sequence sysname = @table + '_seq';
+    DECLARE @start bigint;
+    DECLARE @sql nvarchar(max) = N'SELECT @start = COALESCE(MAX(id), 0) + 51 FROM ' + QUOTENAME(@table);
+    EXEC sp_executesql @sql, N'@start bigint OUTPUT', @start = @start OUTPUT;
+
+    IF OBJECT_ID(@sequence, 'SO') IS NOT NULL
+    BEGIN
+        SET @sql = 'DROP SEQUENCE ' + QUOTENAME(@sequence);
+        EXEC (@sql);
+    END;
+    SET @sql = 'CREATE SEQUENCE ' + QUOTENAME(@sequence) + ' AS BIGINT START WITH '
+               + CAST(@start AS nvarchar(20)) + ' INCREMENT BY 50';
+    EXEC (@sql);
+END;
+GO
+
+BEGIN TRANSACTION;
+EXEC #drop_id_identity 'wells';
+EXEC #drop_id_identity 'well_analyses';
+EXEC #drop_id_identity 'calibration_curve_points';
+EXEC #create_id_sequence 'wells';
+EXEC #create_id_sequence 'well_analyses';
+EXEC #create_id_sequence 'calibration_curve_points';
+COMMIT TRANSACTION;
+GO
+
+DROP PROCEDURE #drop_id_identity;
+DROP PROCEDURE #create_id_sequence;
+GO